@@ -0,0 +1,174 @@
+package one.digitalinnovation.beerapi.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import one.digitalinnovation.beerapi.BeerapiApplication;
+import one.digitalinnovation.beerapi.dto.BeerDTO;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop HTTP load test that runs the same workloads against the servlet, {@code virtual-threads} and
+ * {@code reactive} stacks. The {@code reactive} stack needs the {@code reactive} Maven profile next to {@code benchmark}.
+ * <p>
+ * Each of {@code --concurrency} virtual users keeps exactly one request in flight and sends the next one as soon as
+ * the previous response arrives. Arguments are {@code --key=value} pairs, see {@link #main(String[])}. Above a few
+ * thousand users, start the server separately and pass {@code --url}, so client and server sockets don't share one
+ * process's file descriptor limit.
+ */
+public final class BeerApiLoadTest {
+
+    private static final String BEER_API_URL_PATH = "/api/v1/beer";
+    private static final String UNIT_QUANTITY = "{\"quantity\":1}";
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Recorder recorder = new Recorder(TimeUnit.SECONDS.toNanos(60), 3);
+    private final LongAdder errors = new LongAdder();
+    private final List<BeerDTO> beers = new ArrayList<>();
+    private final String baseUrl;
+
+    private BeerApiLoadTest(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * Options: {@code --stack=servlet|virtual-threads|reactive}, {@code --url=http://host:port} (skips starting the
+     * application, {@code --stack} is then only a label), {@code --concurrency=512}, {@code --warmup=10s},
+     * {@code --duration=30s}, {@code --catalog=1000}.
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String stack = options.getOrDefault("stack", "servlet");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "512"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10s").replace("s", "")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30s").replace("s", "")));
+        int catalogSize = Integer.parseInt(options.getOrDefault("catalog", "1000"));
+
+        ConfigurableApplicationContext context = options.containsKey("url") ? null : startWebApplication(stack);
+        try {
+            String url = context == null
+                    ? options.get("url")
+                    : "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            BeerApiLoadTest loadTest = new BeerApiLoadTest(url + BEER_API_URL_PATH);
+            loadTest.seed(catalogSize);
+
+            System.out.printf("%-15s | %-8s | %11s | %10s | %8s | %8s | %8s | %6s%n",
+                    "stack", "workload", "concurrency", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+            for (Workload workload : Workload.values()) {
+                loadTest.run(workload, concurrency, warmup);
+                Histogram histogram = loadTest.run(workload, concurrency, duration);
+                System.out.printf("%-15s | %-8s | %11d | %10.0f | %8.2f | %8.2f | %8.2f | %6d%n",
+                        stack,
+                        workload.name().toLowerCase(),
+                        concurrency,
+                        histogram.getTotalCount() / (double) duration.getSeconds(),
+                        histogram.getValueAtPercentile(50) / 1e6,
+                        histogram.getValueAtPercentile(99) / 1e6,
+                        histogram.getMaxValue() / 1e6,
+                        loadTest.errors.sumThenReset());
+            }
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private void seed(int catalogSize) throws IOException, InterruptedException {
+        String prefix = "Load Test " + UUID.randomUUID() + " ";
+        for (int index = 0; index < catalogSize; index++) {
+            BeerDTO beerDTO = BenchmarkCatalog.beerDTO(index).toBuilder().id(null).name(prefix + index).quantity(50).build();
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(beerDTO)))
+                    .build();
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 201) {
+                throw new IllegalStateException("Seeding failed with status " + response.statusCode());
+            }
+            beers.add(objectMapper.readValue(response.body(), BeerDTO.class));
+        }
+    }
+
+    private Histogram run(Workload workload, int concurrency, Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        CountDownLatch finished = new CountDownLatch(concurrency);
+        recorder.reset();
+        errors.reset();
+        for (int users = 0; users < concurrency; users++) {
+            next(workload, 0, deadline, finished);
+        }
+        finished.await();
+        return recorder.getIntervalHistogram();
+    }
+
+    private void next(Workload workload, long iteration, long deadline, CountDownLatch finished) {
+        if (System.nanoTime() >= deadline) {
+            finished.countDown();
+            return;
+        }
+        BeerDTO beer = beers.get(ThreadLocalRandom.current().nextInt(beers.size()));
+        HttpRequest request = workload == Workload.READ
+                ? HttpRequest.newBuilder(URI.create(baseUrl + "/" + beer.getName().replace(" ", "%20"))).GET().build()
+                : HttpRequest.newBuilder(URI.create(baseUrl + "/" + beer.getId() + (iteration % 2 == 0 ? "/increment" : "/decrement")))
+                        .header("Content-Type", "application/json")
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString(UNIT_QUANTITY))
+                        .build();
+        long startedAt = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            recorder.recordValue(System.nanoTime() - startedAt);
+            if (error != null || response.statusCode() >= 400) {
+                errors.increment();
+            }
+            next(workload, iteration + 1, deadline, finished);
+        });
+    }
+
+    private static ConfigurableApplicationContext startWebApplication(String stack) {
+        // devtools decides on restarts before application properties are read
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        String database = "load-test-" + UUID.randomUUID();
+        return new SpringApplicationBuilder(BeerapiApplication.class)
+                .profiles("servlet".equals(stack) ? new String[0] : new String[]{stack})
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.r2dbc.url=r2dbc:h2:mem:///" + database + "?options=DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] option = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(option[0], option.length > 1 ? option[1] : "true");
+        }
+        return options;
+    }
+
+    private enum Workload {
+        READ,
+        STOCK
+    }
+}
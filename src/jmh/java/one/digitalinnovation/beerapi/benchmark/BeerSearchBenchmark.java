@@ -0,0 +1,71 @@
+package one.digitalinnovation.beerapi.benchmark;
+
+import one.digitalinnovation.beerapi.dto.BeerDTO;
+import one.digitalinnovation.beerapi.dto.BeerSearchHitDTO;
+import one.digitalinnovation.beerapi.enums.BeerType;
+import one.digitalinnovation.beerapi.search.BeerSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search latency over a catalog of a million beers. Names mix a handful of style and place words with a unique
+ * number, so every word matches a large share of the catalog, the worst case for a ranked type-ahead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(jvmArgsAppend = "-Xmx3g")
+public class BeerSearchBenchmark {
+
+    private static final String[] STYLES = {"Pilsner", "Lager", "Witbier", "Weizen", "Porter", "Stout", "Bock",
+            "Tripel", "Dubbel", "Saison", "Gose", "Kolsch", "Helles", "Marzen", "Rauchbier", "Altbier"};
+    private static final String[] PLACES = {"Amazonia", "Bavaria", "Bohemia", "Flanders", "Patagonia", "Minas",
+            "Cascadia", "Jutland", "Wallonia", "Franconia", "Pampa", "Serra", "Litoral", "Cerrado", "Sertao"};
+    private static final BeerType[] TYPES = BeerType.values();
+
+    @Param({"1000000"})
+    private int catalogSize;
+
+    private BeerSearchIndex beerSearchIndex;
+
+    @Setup
+    public void setUp() {
+        beerSearchIndex = new BeerSearchIndex(50, 10000);
+        for (int i = 0; i < catalogSize; i++) {
+            String style = STYLES[i % STYLES.length];
+            String place = PLACES[i / STYLES.length % PLACES.length];
+            beerSearchIndex.add(new BeerDTO((long) i + 1, place + " " + style + " " + i,
+                    "Brewery " + place + " " + i % 997, 500, i % 100, TYPES[i % TYPES.length], 0L));
+        }
+    }
+
+    @Benchmark
+    public List<BeerSearchHitDTO> commonPrefix() {
+        return beerSearchIndex.search("pil", 10);
+    }
+
+    @Benchmark
+    public List<BeerSearchHitDTO> twoTerms() {
+        return beerSearchIndex.search("bavaria saison", 10);
+    }
+
+    @Benchmark
+    public List<BeerSearchHitDTO> misspelt() {
+        return beerSearchIndex.search("patagnoia stuot", 10);
+    }
+
+    @Benchmark
+    public List<BeerSearchHitDTO> uniqueName() {
+        return beerSearchIndex.search("cascadia porter 123460", 10);
+    }
+}
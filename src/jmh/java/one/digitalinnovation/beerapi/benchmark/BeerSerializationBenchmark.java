@@ -0,0 +1,47 @@
+package one.digitalinnovation.beerapi.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import one.digitalinnovation.beerapi.config.CborMessageConverterConfig;
+import one.digitalinnovation.beerapi.dto.BeerDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BeerSerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    @Param({"json", "cbor"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private List<BeerDTO> beers;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = "cbor".equals(format)
+                ? CborMessageConverterConfig.cborObjectMapper(new Jackson2ObjectMapperBuilder())
+                : Jackson2ObjectMapperBuilder.json().build();
+        beers = BenchmarkCatalog.beerDTOs(size);
+        System.out.printf("%s payload for %d beers: %d bytes%n", format, size, objectMapper.writeValueAsBytes(beers).length);
+    }
+
+    @Benchmark
+    public byte[] serializeBeerList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(beers);
+    }
+}
@@ -0,0 +1,52 @@
+package one.digitalinnovation.beerapi.benchmark;
+
+import one.digitalinnovation.beerapi.dto.BeerDTO;
+import one.digitalinnovation.beerapi.repository.BeerRepository;
+import one.digitalinnovation.beerapi.service.BeerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BeerServiceBenchmark {
+
+    @Param({"1000", "100000"})
+    private int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private BeerService beerService;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkCatalog.startApplication();
+        context.getBean(BeerRepository.class).saveAll(BenchmarkCatalog.newBeers(catalogSize, 50, 500));
+        beerService = context.getBean(BeerService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BeerDTO> listAllBeers() {
+        return beerService.listAllBeers();
+    }
+
+    @Benchmark
+    public List<BeerDTO> listFirstPage() {
+        return beerService.listBeersAfter(null, 100);
+    }
+}
@@ -0,0 +1,78 @@
+package one.digitalinnovation.beerapi.benchmark;
+
+import one.digitalinnovation.beerapi.dto.BeerDTO;
+import one.digitalinnovation.beerapi.service.BeerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Stock updates and whole-catalog reads as the catalog is spread over more shards. Every shard is a separate
+ * in-memory H2 database in this JVM, so the numbers show the routing and scatter-gather overhead and the relief
+ * from per-database locking, not the extra hardware real shards would bring.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BeerShardingBenchmark {
+
+    @Param({"1", "2", "4"})
+    private int shards;
+
+    @Param({"1000"})
+    private int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private BeerService beerService;
+    private long[] ids;
+
+    @Setup
+    public void setUp() throws Exception {
+        String run = UUID.randomUUID().toString();
+        String shardUrls = IntStream.range(0, shards)
+                .mapToObj(shard -> "jdbc:h2:mem:sharding-" + run + "-" + shard + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+                .collect(Collectors.joining(","));
+        context = BenchmarkCatalog.startApplication("beer.sharding.enabled=true", "beer.sharding.urls=" + shardUrls);
+        beerService = context.getBean(BeerService.class);
+        List<BeerDTO> beers = BenchmarkCatalog.beerDTOs(catalogSize);
+        ids = new long[catalogSize];
+        for (int i = 0; i < catalogSize; i++) {
+            BeerDTO beer = beers.get(i);
+            beer.setId(null);
+            beer.setMax(1_000_000);
+            beer.setQuantity(500_000);
+            ids[i] = beerService.createBeer(beer).getId();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public BeerDTO increment() throws Exception {
+        return beerService.incrementBeer(ids[ThreadLocalRandom.current().nextInt(ids.length)], 1);
+    }
+
+    @Benchmark
+    public List<BeerDTO> listAllBeers() {
+        return beerService.listAllBeers();
+    }
+}
@@ -0,0 +1,94 @@
+package one.digitalinnovation.beerapi.benchmark;
+
+import one.digitalinnovation.beerapi.cache.BeerCache;
+import one.digitalinnovation.beerapi.dto.BeerSnapshotReportDTO;
+import one.digitalinnovation.beerapi.entity.Beer;
+import one.digitalinnovation.beerapi.repository.BeerRepository;
+import one.digitalinnovation.beerapi.snapshot.BeerSnapshotService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Restores a catalog into an empty table, either from a snapshot file or by saving it through JPA in
+ * chunks of 1 000 beers, the way the bulk import writes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BeerSnapshotBenchmark {
+
+    private static final int JPA_CHUNK_SIZE = 1000;
+
+    @Param({"100000", "1000000"})
+    private int catalogSize;
+
+    @Param({"snapshot", "jpa"})
+    private String restore;
+
+    private ConfigurableApplicationContext context;
+    private BeerSnapshotService beerSnapshotService;
+    private BeerRepository beerRepository;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private Path snapshot;
+
+    @Setup
+    public void setUp() throws IOException {
+        context = BenchmarkCatalog.startApplication(
+                "spring.jpa.properties.hibernate.jdbc.batch_size=" + JPA_CHUNK_SIZE,
+                "beer.snapshot.batch-size=5000");
+        beerSnapshotService = context.getBean(BeerSnapshotService.class);
+        beerRepository = context.getBean(BeerRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        saveCatalog();
+        snapshot = Files.createTempFile("beer-benchmark", ".snapshot");
+        BeerSnapshotReportDTO report = beerSnapshotService.exportSnapshot(snapshot);
+        System.out.printf("%n%d beers exported to %,d bytes in %d ms%n", report.getBeers(), report.getBytes(), report.getElapsedMillis());
+    }
+
+    @Setup(Level.Iteration)
+    public void emptyCatalog() {
+        jdbcTemplate.execute("truncate table beer");
+        context.getBean(BeerCache.class).invalidateAll();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.close();
+        Files.deleteIfExists(snapshot);
+    }
+
+    @Benchmark
+    public long restoreCatalog() throws IOException {
+        if (restore.equals("snapshot")) {
+            return beerSnapshotService.importSnapshot(snapshot, false).getBeers();
+        }
+        saveCatalog();
+        return catalogSize;
+    }
+
+    private void saveCatalog() {
+        for (int start = 0; start < catalogSize; start += JPA_CHUNK_SIZE) {
+            List<Beer> chunk = BenchmarkCatalog.newBeers(start, Math.min(JPA_CHUNK_SIZE, catalogSize - start), 50, 500);
+            transactionTemplate.executeWithoutResult(status -> beerRepository.saveAll(chunk));
+        }
+    }
+}
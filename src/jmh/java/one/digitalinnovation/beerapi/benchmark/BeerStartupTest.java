@@ -0,0 +1,200 @@
+package one.digitalinnovation.beerapi.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Starts the packaged application as a separate JVM a few times and reports how long it takes until Spring reports
+ * it started and until the first {@code GET /api/v1/beer} is answered, both measured from process launch.
+ * <p>
+ * With {@code --cds=<archive>}, a training run that serves a few requests first writes a dynamic class-data-sharing
+ * archive when the archive does not exist yet, and the measured runs then map it. CDS only covers classes loaded from
+ * plain jars, so use it with the thin jar of the {@code prod} Maven profile.
+ */
+public final class BeerStartupTest {
+
+    private static final String BEER_API_URL_PATH = "/api/v1/beer";
+    private static final Pattern STARTED = Pattern.compile("Started BeerapiApplication in ([0-9.]+) seconds \\(JVM running for ([0-9.]+)\\)");
+    private static final Duration TIMEOUT = Duration.ofSeconds(120);
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    private BeerStartupTest() {
+    }
+
+    /**
+     * Options: {@code --jar=target/beerapi-0.0.1-SNAPSHOT.jar}, {@code --runs=5}, {@code --profiles=prod} (empty for
+     * the default profile), {@code --jvm-args="-Xmx512m"} (space separated), {@code --cds=target/beerapi.jsa},
+     * {@code --label=prod}.
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        Path jar = Paths.get(options.getOrDefault("jar", "target/beerapi-0.0.1-SNAPSHOT.jar"));
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        String profiles = options.getOrDefault("profiles", "prod");
+        List<String> jvmArgs = new ArrayList<>();
+        if (!options.getOrDefault("jvm-args", "").isBlank()) {
+            jvmArgs.addAll(Arrays.asList(options.get("jvm-args").trim().split("\\s+")));
+        }
+        String label = options.getOrDefault("label", profiles.isEmpty() ? "default" : profiles);
+
+        BeerStartupTest startupTest = new BeerStartupTest();
+        if (options.containsKey("cds")) {
+            Path archive = Paths.get(options.get("cds"));
+            if (Files.notExists(archive)) {
+                List<String> trainingArgs = new ArrayList<>(jvmArgs);
+                trainingArgs.add("-XX:ArchiveClassesAtExit=" + archive);
+                startupTest.start(jar, trainingArgs, profiles, true);
+                System.out.printf("Wrote CDS archive %s (%,d bytes)%n", archive, Files.size(archive));
+            }
+            jvmArgs.add("-XX:SharedArchiveFile=" + archive);
+            label += "+cds";
+        }
+
+        System.out.printf("%-16s | %6s | %10s | %10s | %16s%n", "mode", "run", "started s", "JVM s", "first request s");
+        double[] started = new double[runs];
+        double[] jvm = new double[runs];
+        double[] firstRequest = new double[runs];
+        for (int run = 0; run < runs; run++) {
+            Startup startup = startupTest.start(jar, jvmArgs, profiles, false);
+            started[run] = startup.startedSeconds;
+            jvm[run] = startup.jvmSeconds;
+            firstRequest[run] = startup.firstRequestSeconds;
+            System.out.printf("%-16s | %6d | %10.3f | %10.3f | %16.3f%n", label, run + 1, started[run], jvm[run], firstRequest[run]);
+        }
+        System.out.printf("%-16s | median | %10.3f | %10.3f | %16.3f%n", label, median(started), median(jvm), median(firstRequest));
+    }
+
+    private Startup start(Path jar, List<String> jvmArgs, String profiles, boolean training) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-jar");
+        command.add(jar.toString());
+        command.add("--server.port=" + port);
+        command.add("--spring.profiles.active=" + profiles);
+        command.add("--spring.datasource.url=jdbc:h2:mem:startup;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+
+        long launchedAt = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        CompletableFuture<Matcher> started = new CompletableFuture<>();
+        Thread drainer = new Thread(() -> drainOutput(process, started), "startup-output");
+        drainer.setDaemon(true);
+        drainer.start();
+        try {
+            URI catalog = URI.create("http://localhost:" + port + BEER_API_URL_PATH);
+            awaitFirstResponse(catalog, launchedAt, process);
+            double firstRequestSeconds = (System.nanoTime() - launchedAt) / 1e9;
+            if (training) {
+                exercise(catalog);
+            }
+            Matcher startedLine = started.get(TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+            return new Startup(Double.parseDouble(startedLine.group(1)), Double.parseDouble(startedLine.group(2)), firstRequestSeconds);
+        } finally {
+            // SIGTERM lets the JVM run its exit hooks, which is when a dynamic CDS archive is written
+            process.destroy();
+            if (!process.waitFor(60, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private void awaitFirstResponse(URI catalog, long launchedAt, Process process) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(catalog).GET().build();
+        while (System.nanoTime() - launchedAt < TIMEOUT.toNanos()) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with status " + process.exitValue());
+            }
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    return;
+                }
+            } catch (ConnectException e) {
+                // not listening yet
+            }
+            Thread.sleep(5);
+        }
+        throw new IllegalStateException("No response from " + catalog + " within " + TIMEOUT);
+    }
+
+    private void exercise(URI catalog) throws IOException, InterruptedException {
+        String beer = "{\"name\":\"Training\",\"brand\":\"Training\",\"max\":50,\"quantity\":10,\"type\":\"LAGER\"}";
+        client.send(HttpRequest.newBuilder(catalog).header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(beer)).build(), HttpResponse.BodyHandlers.discarding());
+        client.send(HttpRequest.newBuilder(URI.create(catalog + "/Training")).GET().build(), HttpResponse.BodyHandlers.discarding());
+        client.send(HttpRequest.newBuilder(URI.create(catalog + "?limit=10")).GET().build(), HttpResponse.BodyHandlers.discarding());
+    }
+
+    private static void drainOutput(Process process, CompletableFuture<Matcher> started) {
+        try (BufferedReader output = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = output.readLine()) != null) {
+                Matcher matcher = STARTED.matcher(line);
+                if (!started.isDone() && matcher.find()) {
+                    started.complete(matcher);
+                }
+            }
+            started.completeExceptionally(new IllegalStateException("Application did not log its startup time"));
+        } catch (IOException e) {
+            started.completeExceptionally(e);
+        }
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] option = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(option[0], option.length > 1 ? option[1] : "true");
+        }
+        return options;
+    }
+
+    private static final class Startup {
+
+        private final double startedSeconds;
+        private final double jvmSeconds;
+        private final double firstRequestSeconds;
+
+        private Startup(double startedSeconds, double jvmSeconds, double firstRequestSeconds) {
+            this.startedSeconds = startedSeconds;
+            this.jvmSeconds = jvmSeconds;
+            this.firstRequestSeconds = firstRequestSeconds;
+        }
+    }
+}
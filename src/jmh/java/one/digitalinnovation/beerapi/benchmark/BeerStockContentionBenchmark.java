@@ -0,0 +1,93 @@
+package one.digitalinnovation.beerapi.benchmark;
+
+import one.digitalinnovation.beerapi.dto.BeerDTO;
+import one.digitalinnovation.beerapi.entity.Beer;
+import one.digitalinnovation.beerapi.repository.BeerRepository;
+import one.digitalinnovation.beerapi.service.BeerService;
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.sql.SQLException;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BeerStockContentionBenchmark {
+
+    @Param({"1", "64"})
+    private int hotBeers;
+
+    @Param({"false", "true"})
+    private boolean coalescing;
+
+    /**
+     * {@code mem} runs H2 in-process, {@code tcp} puts a loopback round trip in front of every statement.
+     */
+    @Param({"mem", "tcp"})
+    private String database;
+
+    private Server databaseServer;
+
+    private ConfigurableApplicationContext context;
+    private BeerService beerService;
+    private long[] ids;
+
+    @Setup
+    public void setUp() throws SQLException {
+        String coalescingProperty = "beer.stock.coalescing.enabled=" + coalescing;
+        if ("tcp".equals(database)) {
+            databaseServer = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+            context = BenchmarkCatalog.startApplication(coalescingProperty,
+                    "spring.datasource.url=jdbc:h2:tcp://localhost:" + databaseServer.getPort() + "/mem:contention-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                    "spring.jpa.hibernate.ddl-auto=create-drop");
+        } else {
+            context = BenchmarkCatalog.startApplication(coalescingProperty);
+        }
+        ids = context.getBean(BeerRepository.class)
+                .saveAll(BenchmarkCatalog.newBeers(hotBeers, 500_000, 1_000_000))
+                .stream()
+                .mapToLong(Beer::getId)
+                .toArray();
+        beerService = context.getBean(BeerService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        if (databaseServer != null) {
+            databaseServer.stop();
+        }
+    }
+
+    @Benchmark
+    @Group("stock")
+    @GroupThreads(4)
+    public BeerDTO increment() throws Exception {
+        return beerService.incrementBeer(pickBeer(), 1);
+    }
+
+    @Benchmark
+    @Group("stock")
+    @GroupThreads(4)
+    public BeerDTO decrement() throws Exception {
+        return beerService.decrementBeer(pickBeer(), 1);
+    }
+
+    private long pickBeer() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+}
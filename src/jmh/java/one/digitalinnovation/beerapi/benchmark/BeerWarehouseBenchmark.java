@@ -0,0 +1,91 @@
+package one.digitalinnovation.beerapi.benchmark;
+
+import one.digitalinnovation.beerapi.dto.BeerDTO;
+import one.digitalinnovation.beerapi.entity.Beer;
+import one.digitalinnovation.beerapi.repository.BeerRepository;
+import one.digitalinnovation.beerapi.service.BeerService;
+import one.digitalinnovation.beerapi.warehouse.WarehouseStockService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Catalog reads and warehouse adjustments with and without hundreds of named warehouses per beer. The reads only
+ * touch the precomputed totals on {@code beer}, so they should not move with {@code warehouses}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BeerWarehouseBenchmark {
+
+    private static final String INSERT_SQL =
+            "insert into warehouse_stock (id, beer_id, warehouse, quantity, max) values (next value for warehouse_stock_sequence, ?, ?, 0, 10)";
+    private static final String TOTALS_SQL = "update beer set max = max + ?, warehouse_max = ?";
+
+    @Param({"1000"})
+    private int catalogSize;
+
+    @Param({"0", "500"})
+    private int warehouses;
+
+    private ConfigurableApplicationContext context;
+    private BeerRepository beerRepository;
+    private BeerService beerService;
+    private WarehouseStockService warehouseStockService;
+    private List<Beer> beers;
+    private String warehouse;
+    private int adjustment;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = BenchmarkCatalog.startApplication();
+        beerRepository = context.getBean(BeerRepository.class);
+        beers = beerRepository.saveAll(BenchmarkCatalog.newBeers(catalogSize, 50, 500));
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        for (Beer beer : beers) {
+            List<Object[]> rows = new ArrayList<>(warehouses);
+            for (int i = 0; i < warehouses; i++) {
+                rows.add(new Object[]{beer.getId(), "warehouse-" + i});
+            }
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        }
+        jdbcTemplate.update(TOTALS_SQL, warehouses * 10, warehouses * 10);
+        beerService = context.getBean(BeerService.class);
+        warehouseStockService = context.getBean(WarehouseStockService.class);
+        warehouse = warehouses == 0 ? "main" : "warehouse-" + (warehouses - 1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BeerDTO> listAllBeers() {
+        return beerService.listAllBeers();
+    }
+
+    @Benchmark
+    public Optional<Beer> findBeerByName() {
+        return beerRepository.findBeerByName(beers.get(adjustment++ % beers.size()).getName());
+    }
+
+    @Benchmark
+    public BeerDTO adjustWarehouseStock() throws Exception {
+        int next = adjustment++;
+        return warehouseStockService.adjustStock(beers.get(next / 2 % beers.size()).getId(), warehouse, next % 2 == 0 ? 1 : -1);
+    }
+}
@@ -0,0 +1,58 @@
+package one.digitalinnovation.beerapi.benchmark;
+
+import one.digitalinnovation.beerapi.BeerapiApplication;
+import one.digitalinnovation.beerapi.dto.BeerDTO;
+import one.digitalinnovation.beerapi.entity.Beer;
+import one.digitalinnovation.beerapi.enums.BeerType;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+final class BenchmarkCatalog {
+
+    private static final BeerType[] TYPES = BeerType.values();
+
+    private BenchmarkCatalog() {
+    }
+
+    static BeerDTO beerDTO(int index) {
+        return new BeerDTO((long) index + 1,
+                "Benchmark Beer " + index,
+                "Benchmark Brewery " + index % 50,
+                500,
+                index % 100,
+                TYPES[index % TYPES.length],
+                0L);
+    }
+
+    static List<BeerDTO> beerDTOs(int size) {
+        return IntStream.range(0, size).mapToObj(BenchmarkCatalog::beerDTO).collect(Collectors.toList());
+    }
+
+    static List<Beer> newBeers(int size, int quantity, int max) {
+        return newBeers(0, size, quantity, max);
+    }
+
+    static List<Beer> newBeers(int first, int size, int quantity, int max) {
+        return IntStream.range(first, first + size)
+                .mapToObj(index -> new Beer(null, "Benchmark Beer " + index, "Benchmark Brewery " + index % 50, max, quantity, TYPES[index % TYPES.length], 0L, 0, 0))
+                .collect(Collectors.toList());
+    }
+
+    static ConfigurableApplicationContext startApplication(String... properties) {
+        return new SpringApplicationBuilder(BeerapiApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.devtools.restart.enabled=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .properties(properties)
+                .run();
+    }
+}
@@ -0,0 +1,46 @@
+package one.digitalinnovation.beerapi.benchmark;
+
+import one.digitalinnovation.beerapi.throttling.TokenBuckets;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of taking a token on the mutation path, with every thread on one hot key or spread over many. The rate is high
+ * enough that no token is ever refused, so this is the bookkeeping alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TokenBucketsBenchmark {
+
+    @Param({"1", "10000"})
+    private int keys;
+
+    private TokenBuckets buckets;
+    private String[] keyNames;
+
+    @Setup
+    public void setUp() {
+        buckets = new TokenBuckets(1_000_000_000, 1_000_000, 100_000);
+        keyNames = new String[keys];
+        for (int i = 0; i < keys; i++) {
+            keyNames[i] = "client-" + i;
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long tryAcquire() {
+        return buckets.tryAcquire(keyNames[ThreadLocalRandom.current().nextInt(keys)]);
+    }
+}
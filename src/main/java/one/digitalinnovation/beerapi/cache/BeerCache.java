@@ -0,0 +1,88 @@
+package one.digitalinnovation.beerapi.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import one.digitalinnovation.beerapi.dto.BeerDTO;
+import one.digitalinnovation.beerapi.exception.BeerNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+@Component
+public class BeerCache {
+
+    public static final String CACHE_NAME = "beersByName";
+
+    private final Cache<String, Optional<BeerDTO>> beersByName;
+
+    public BeerCache(@Value("${beer.cache.maximum-size:10000}") long maximumSize,
+                     @Value("${beer.cache.expire-after-write:60s}") Duration expireAfterWrite,
+                     @Value("${beer.cache.negative-expire-after-write:5s}") Duration negativeExpireAfterWrite,
+                     MeterRegistry meterRegistry) {
+        this.beersByName = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new PresenceAwareExpiry(expireAfterWrite, negativeExpireAfterWrite))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, beersByName, CACHE_NAME);
+    }
+
+    public BeerDTO findByName(String name, Function<String, Optional<BeerDTO>> loader) throws BeerNotFoundException {
+        return beersByName.get(name, loader).orElseThrow(() -> new BeerNotFoundException(name));
+    }
+
+    public void put(BeerDTO beerDTO) {
+        beersByName.put(beerDTO.getName(), Optional.of(beerDTO));
+    }
+
+    public void invalidateAll() {
+        beersByName.invalidateAll();
+    }
+
+    public void evict(String name) {
+        beersByName.invalidate(name);
+        // evict again once the change is visible, so a concurrent read can't re-cache the old row
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    beersByName.invalidate(name);
+                }
+            });
+        }
+    }
+
+    private static class PresenceAwareExpiry implements Expiry<String, Optional<BeerDTO>> {
+
+        private final long presentNanos;
+        private final long absentNanos;
+
+        PresenceAwareExpiry(Duration present, Duration absent) {
+            this.presentNanos = present.toNanos();
+            this.absentNanos = absent.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String name, Optional<BeerDTO> beer, long currentTime) {
+            return beer.isPresent() ? presentNanos : absentNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String name, Optional<BeerDTO> beer, long currentTime, long currentDuration) {
+            return expireAfterCreate(name, beer, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String name, Optional<BeerDTO> beer, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package one.digitalinnovation.beerapi.cache;
+
+import one.digitalinnovation.beerapi.event.BeerChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Catalog-wide version stamp, bumped after every committed create, delete or stock change.
+ * <p>
+ * The stamp lives in memory and is prefixed with the startup time, so it never repeats across restarts
+ * but is only meaningful for the instance that issued it.
+ */
+@Component
+public class BeerCatalogVersion {
+
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong changes = new AtomicLong();
+
+    public String current() {
+        return epoch + "-" + changes.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBeerChanged(BeerChangedEvent event) {
+        advance();
+    }
+
+    public void advance() {
+        changes.incrementAndGet();
+    }
+}
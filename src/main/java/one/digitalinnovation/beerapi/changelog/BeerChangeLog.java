@@ -0,0 +1,223 @@
+package one.digitalinnovation.beerapi.changelog;
+
+import lombok.extern.slf4j.Slf4j;
+import one.digitalinnovation.beerapi.dto.BeerChangeDTO;
+import one.digitalinnovation.beerapi.dto.BeerDTO;
+import one.digitalinnovation.beerapi.entity.BeerChange;
+import one.digitalinnovation.beerapi.event.BeerChangedEvent;
+import one.digitalinnovation.beerapi.repository.BeerChangeRepository;
+import one.digitalinnovation.beerapi.sharding.BeerShards;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Append-only log of beer changes backing the {@code /api/v1/beer/changes} sync feed.
+ * <p>
+ * Every {@link BeerChangedEvent} is written in the transaction that caused it, so a change is in the feed
+ * exactly when it is committed. Sequence numbers are handed out before commit, so readers only see entries
+ * below the oldest sequence still in flight; a client that keeps the last sequence it saw never skips a row.
+ * With the stock ledger enabled, stock changes only reach the database on its flush, and so does their entry: one per
+ * beer and flush, carrying the net change.
+ * Entries older than {@code beer.changes.retention} are compacted down to the latest one per beer.
+ * The feed needs one sequence for the whole catalog, so nothing is recorded while the catalog is sharded.
+ */
+@Slf4j
+@Component
+@Profile("!reactive")
+public class BeerChangeLog implements SmartLifecycle {
+
+    private static final String INSERT_SQL = "insert into beer_change "
+            + "(id, beer_id, type, name, brand, max, quantity, beer_type, changed_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final BeerChangeRepository beerChangeRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final BeerShards beerShards;
+    private final Duration retention;
+    private final Duration compactionInterval;
+    private final NavigableSet<Long> inFlight = new ConcurrentSkipListSet<>();
+    private final Object appendLock = new Object();
+
+    private ScheduledExecutorService compactor;
+
+    public BeerChangeLog(BeerChangeRepository beerChangeRepository,
+                         JdbcTemplate jdbcTemplate,
+                         EntityManager entityManager,
+                         BeerShards beerShards,
+                         @Value("${beer.changes.retention:7d}") Duration retention,
+                         @Value("${beer.changes.compaction-interval:1h}") Duration compactionInterval) {
+        this.beerChangeRepository = beerChangeRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.beerShards = beerShards;
+        this.retention = retention;
+        this.compactionInterval = compactionInterval;
+    }
+
+    @EventListener
+    public void onBeerChanged(BeerChangedEvent event) {
+        // write-behind stock changes are recorded by the stock ledger's flush, together with their quantities
+        if (beerShards.isEnabled() || event.isWriteBehind()) {
+            return;
+        }
+        BeerChange change = toModel(event);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            beerChangeRepository.save(change);
+            return;
+        }
+        // the id and the in-flight marker are taken together, so no reader can compute a horizon between them
+        synchronized (appendLock) {
+            beerChangeRepository.save(change);
+            inFlight.add(change.getId());
+        }
+        Long sequence = change.getId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                inFlight.remove(sequence);
+            }
+        });
+    }
+
+    /**
+     * Records {@code changes} in the current transaction, for writers that bypass
+     * {@link one.digitalinnovation.beerapi.service.BeerService}: snapshot restores and stock ledger flushes.
+     * The entries are inserted in one JDBC batch instead of through the persistence context.
+     */
+    public void recordAll(List<BeerChangedEvent> changes) {
+        if (beerShards.isEnabled() || changes.isEmpty()) {
+            return;
+        }
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        IdentifierGenerator sequence = session.getFactory().getIdentifierGenerator(BeerChange.class.getName());
+        long[] ids = new long[changes.size()];
+        // only the first id has to be in flight, every later one the sequence hands out is above it
+        synchronized (appendLock) {
+            ids[0] = (Long) sequence.generate(session, null);
+            inFlight.add(ids[0]);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                inFlight.remove(ids[0]);
+            }
+        });
+        for (int i = 1; i < ids.length; i++) {
+            ids[i] = (Long) sequence.generate(session, null);
+        }
+        Timestamp changedAt = Timestamp.from(Instant.now());
+        int[] index = {0};
+        jdbcTemplate.batchUpdate(INSERT_SQL, changes, changes.size(), (statement, change) -> {
+            BeerDTO beer = change.getBeer();
+            statement.setLong(1, ids[index[0]++]);
+            statement.setLong(2, beer.getId());
+            statement.setString(3, change.getType().name());
+            statement.setString(4, beer.getName());
+            statement.setString(5, beer.getBrand());
+            statement.setInt(6, beer.getMax());
+            statement.setInt(7, beer.getQuantity());
+            statement.setString(8, beer.getType().name());
+            statement.setTimestamp(9, changedAt);
+        });
+    }
+
+    // read-write so it is served by the primary: a lagging replica could miss entries below the horizon for good
+    @Transactional
+    public List<BeerChangeDTO> changesSince(long since, int limit) {
+        beerShards.verifySingleDatabase("The change feed");
+        long horizon;
+        synchronized (appendLock) {
+            horizon = inFlight.isEmpty() ? Long.MAX_VALUE : inFlight.first();
+        }
+        return beerChangeRepository.findByIdGreaterThanAndIdLessThanOrderByIdAsc(since, horizon, PageRequest.of(0, limit))
+                .stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Deletes entries changed before {@code cutoff} that a later entry for the same beer supersedes.
+     * The latest entry per beer, deletions included, is always kept so a full resync still sees it.
+     */
+    public int compact(Instant cutoff) {
+        return beerChangeRepository.deleteSupersededBefore(cutoff);
+    }
+
+    @Override
+    public void start() {
+        compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "beer-change-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        compactor.scheduleWithFixedDelay(this::compactQuietly, compactionInterval.toMillis(), compactionInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (compactor != null) {
+            compactor.shutdownNow();
+            compactor = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return compactor != null;
+    }
+
+    private void compactQuietly() {
+        try {
+            int compacted = compact(Instant.now().minus(retention));
+            if (compacted > 0) {
+                log.info("Compacted {} beer changes older than {}", compacted, retention);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Beer change compaction failed, will retry", e);
+        }
+    }
+
+    private BeerChange toModel(BeerChangedEvent event) {
+        BeerDTO beer = event.getBeer();
+        return new BeerChange(null, beer.getId(), event.getType(), beer.getName(), beer.getBrand(),
+                beer.getMax(), beer.getQuantity(), beer.getType(), Instant.now());
+    }
+
+    private BeerChangeDTO toDTO(BeerChange change) {
+        return BeerChangeDTO.builder()
+                .sequence(change.getId())
+                .type(change.getType())
+                .changedAt(change.getChangedAt())
+                .beer(BeerDTO.builder()
+                        .id(change.getBeerId())
+                        .name(change.getName())
+                        .brand(change.getBrand())
+                        .max(change.getMax())
+                        .quantity(change.getQuantity())
+                        .type(change.getBeerType())
+                        .build())
+                .build();
+    }
+}
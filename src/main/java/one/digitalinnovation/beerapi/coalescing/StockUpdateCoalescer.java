@@ -0,0 +1,222 @@
+package one.digitalinnovation.beerapi.coalescing;
+
+import one.digitalinnovation.beerapi.dto.BeerDTO;
+import one.digitalinnovation.beerapi.exception.BeerExceededStockException;
+import one.digitalinnovation.beerapi.exception.BeerInsufficientStockException;
+import one.digitalinnovation.beerapi.exception.BeerNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micro-batches concurrent stock adjustments of the same beer, used when {@code beer.stock.coalescing.enabled=true}.
+ * The first caller for a beer becomes the batch leader: it waits up to {@code beer.stock.coalescing.window} (or until
+ * {@code max-batch-size} adjustments arrived) and hands the batch to a {@link BatchWriter}, which opens the one
+ * transaction of the batch. Callers are expected to arrive outside a transaction, so the others wait without holding a
+ * connection, and each gets its own outcome once the batch has committed.
+ */
+@Component
+public class StockUpdateCoalescer {
+
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final Map<Long, Batch> openBatches = new ConcurrentHashMap<>();
+
+    public StockUpdateCoalescer(@Value("${beer.stock.coalescing.enabled:false}") boolean enabled,
+                                @Value("${beer.stock.coalescing.window:2ms}") Duration window,
+                                @Value("${beer.stock.coalescing.max-batch-size:256}") int maxBatchSize) {
+        this.enabled = enabled;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public BeerDTO increment(Long id, int increment, BatchWriter writer) throws BeerNotFoundException, BeerExceededStockException {
+        try {
+            return submit(id, increment, writer);
+        } catch (BeerInsufficientStockException e) {
+            throw new IllegalStateException("An increment was rejected as a decrement", e);
+        }
+    }
+
+    public BeerDTO decrement(Long id, int decrement, BatchWriter writer) throws BeerNotFoundException, BeerInsufficientStockException {
+        try {
+            return submit(id, -decrement, writer);
+        } catch (BeerExceededStockException e) {
+            throw new IllegalStateException("A decrement was rejected as an increment", e);
+        }
+    }
+
+    private BeerDTO submit(Long id, int delta, BatchWriter writer)
+            throws BeerNotFoundException, BeerExceededStockException, BeerInsufficientStockException {
+        PendingAdjustment adjustment = new PendingAdjustment(delta);
+        while (true) {
+            Batch batch = openBatches.computeIfAbsent(id, key -> new Batch());
+            if (batch.add(adjustment, maxBatchSize)) {
+                if (batch.leader == adjustment) {
+                    lead(id, batch, writer);
+                    // followers only learn their outcome after commit, the leader's was recorded by the writer
+                    return adjustment.recorded();
+                }
+                return adjustment.await();
+            }
+            openBatches.remove(id, batch);
+        }
+    }
+
+    private void lead(Long id, Batch batch, BatchWriter writer) {
+        try {
+            batch.full.await(windowNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<PendingAdjustment> adjustments = batch.close();
+        openBatches.remove(id, batch);
+        try {
+            writer.write(id, adjustments);
+        } catch (BeerNotFoundException e) {
+            adjustments.forEach(adjustment -> adjustment.reject(e));
+        } catch (RuntimeException | Error e) {
+            adjustments.forEach(adjustment -> adjustment.fail(e));
+            throw e;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        adjustments.forEach(PendingAdjustment::publish);
+                    } else {
+                        IllegalStateException rolledBack = new IllegalStateException("Coalesced stock update of beer " + id + " was rolled back");
+                        adjustments.forEach(adjustment -> adjustment.fail(rolledBack));
+                    }
+                }
+            });
+        } else {
+            adjustments.forEach(PendingAdjustment::publish);
+        }
+    }
+
+    @FunctionalInterface
+    public interface BatchWriter {
+
+        /**
+         * Applies {@code adjustments} of beer {@code id} in list order, in one transaction, calling
+         * {@link PendingAdjustment#accept} or {@link PendingAdjustment#reject} on each.
+         */
+        void write(Long id, List<PendingAdjustment> adjustments) throws BeerNotFoundException;
+    }
+
+    public static class PendingAdjustment {
+
+        private final int delta;
+        private final CompletableFuture<BeerDTO> outcome = new CompletableFuture<>();
+        private BeerDTO result;
+        private Exception rejection;
+
+        PendingAdjustment(int delta) {
+            this.delta = delta;
+        }
+
+        public int getDelta() {
+            return delta;
+        }
+
+        public void accept(BeerDTO beerDTO) {
+            this.result = beerDTO;
+        }
+
+        public void reject(Exception rejection) {
+            this.rejection = rejection;
+        }
+
+        private void publish() {
+            if (rejection != null) {
+                outcome.completeExceptionally(rejection);
+            } else {
+                outcome.complete(result);
+            }
+        }
+
+        private void fail(Throwable failure) {
+            outcome.completeExceptionally(failure);
+        }
+
+        private BeerDTO recorded() throws BeerNotFoundException, BeerExceededStockException, BeerInsufficientStockException {
+            if (rejection != null) {
+                throw rethrow(rejection);
+            }
+            return result;
+        }
+
+        private BeerDTO await() throws BeerNotFoundException, BeerExceededStockException, BeerInsufficientStockException {
+            try {
+                return outcome.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a coalesced stock update", e);
+            } catch (ExecutionException e) {
+                throw rethrow(e.getCause());
+            }
+        }
+
+        private static RuntimeException rethrow(Throwable cause)
+                throws BeerNotFoundException, BeerExceededStockException, BeerInsufficientStockException {
+            if (cause instanceof BeerNotFoundException) {
+                throw (BeerNotFoundException) cause;
+            }
+            if (cause instanceof BeerExceededStockException) {
+                throw (BeerExceededStockException) cause;
+            }
+            if (cause instanceof BeerInsufficientStockException) {
+                throw (BeerInsufficientStockException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                return (RuntimeException) cause;
+            }
+            throw (Error) cause;
+        }
+    }
+
+    private static class Batch {
+
+        private final List<PendingAdjustment> adjustments = new ArrayList<>();
+        private final CountDownLatch full = new CountDownLatch(1);
+        private PendingAdjustment leader;
+        private boolean closed;
+
+        synchronized boolean add(PendingAdjustment adjustment, int maxBatchSize) {
+            if (closed || adjustments.size() >= maxBatchSize) {
+                return false;
+            }
+            if (leader == null) {
+                leader = adjustment;
+            }
+            adjustments.add(adjustment);
+            if (adjustments.size() >= maxBatchSize) {
+                full.countDown();
+            }
+            return true;
+        }
+
+        synchronized List<PendingAdjustment> close() {
+            closed = true;
+            return new ArrayList<>(adjustments);
+        }
+    }
+}
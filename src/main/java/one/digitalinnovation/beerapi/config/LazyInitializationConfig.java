@@ -0,0 +1,20 @@
+package one.digitalinnovation.beerapi.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Keeps the controllers, and with them everything a beer request needs, eager when
+ * {@code spring.main.lazy-initialization} is on, so the first request doesn't pay for building them.
+ */
+@Configuration(proxyBeanMethods = false)
+public class LazyInitializationConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerRestControllers() {
+        return (beanName, beanDefinition, beanType) -> AnnotatedElementUtils.hasAnnotation(beanType, RestController.class);
+    }
+}
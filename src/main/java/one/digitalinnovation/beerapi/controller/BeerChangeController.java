@@ -0,0 +1,50 @@
+package one.digitalinnovation.beerapi.controller;
+
+import lombok.AllArgsConstructor;
+import one.digitalinnovation.beerapi.changelog.BeerChangeLog;
+import one.digitalinnovation.beerapi.dto.BeerChangeDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+
+/**
+ * Change feed. Beers can't be named {@code changes}, so the literal path never shadows {@code GET /{name}}.
+ */
+@RestController
+@RequestMapping("/api/v1/beer/changes")
+@Profile("!reactive")
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class BeerChangeController {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final BeerChangeLog beerChangeLog;
+
+    @GetMapping
+    public ResponseEntity<List<BeerChangeDTO>> listChanges(@RequestParam(defaultValue = "0") long since,
+                                                           @RequestParam(defaultValue = "500") int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<BeerChangeDTO> changes = beerChangeLog.changesSince(since, pageSize);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (changes.size() == pageSize) {
+            Long nextCursor = changes.get(changes.size() - 1).getSequence();
+            String nextPage = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("limit", pageSize)
+                    .replaceQueryParam("since", nextCursor)
+                    .toUriString();
+            response.header(HttpHeaders.LINK, "<" + nextPage + ">; rel=\"next\"")
+                    .header(NEXT_CURSOR_HEADER, nextCursor.toString());
+        }
+        return response.body(changes);
+    }
+}
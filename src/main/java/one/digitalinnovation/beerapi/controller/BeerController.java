@@ -1,26 +1,62 @@
 package one.digitalinnovation.beerapi.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.AllArgsConstructor;
+import one.digitalinnovation.beerapi.cache.BeerCatalogVersion;
 import one.digitalinnovation.beerapi.dto.BeerDTO;
+import one.digitalinnovation.beerapi.dto.BeerImportReportDTO;
 import one.digitalinnovation.beerapi.dto.QuantityDTO;
+import one.digitalinnovation.beerapi.dto.StockBatchDTO;
+import one.digitalinnovation.beerapi.dto.StockBatchResultDTO;
+import one.digitalinnovation.beerapi.dto.WarehouseStockDTO;
+import one.digitalinnovation.beerapi.enums.BeerType;
 import one.digitalinnovation.beerapi.exception.BeerAlreadyRegisteredException;
 import one.digitalinnovation.beerapi.exception.BeerInsufficientStockException;
 import one.digitalinnovation.beerapi.exception.BeerNotFoundException;
 import one.digitalinnovation.beerapi.exception.BeerExceededStockException;
+import one.digitalinnovation.beerapi.exception.IdempotencyKeyReusedException;
+import one.digitalinnovation.beerapi.exception.WarehouseCapacityException;
+import one.digitalinnovation.beerapi.idempotency.IdempotencyStore;
+import one.digitalinnovation.beerapi.idempotency.StockMutation;
+import one.digitalinnovation.beerapi.service.BeerImportService;
 import one.digitalinnovation.beerapi.service.BeerService;
+import one.digitalinnovation.beerapi.warehouse.WarehouseStockService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/beer")
+@Profile("!reactive")
 @AllArgsConstructor(onConstructor = @__(@Autowired))
 public class BeerController {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final BeerService beerService;
+    private final BeerImportService beerImportService;
+    private final BeerCatalogVersion beerCatalogVersion;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyStore idempotencyStore;
+    private final WarehouseStockService warehouseStockService;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -28,14 +64,68 @@ public class BeerController {
         return beerService.createBeer(beerDTO);
     }
 
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public BeerImportReportDTO importBeers(InputStream inputStream) throws IOException {
+        return beerImportService.importBeers(inputStream);
+    }
+
     @GetMapping("/{name}")
-    public BeerDTO findBeerByName(@PathVariable String name) throws BeerNotFoundException {
-        return beerService.findBeerByName(name);
+    public BeerDTO findBeerByName(@PathVariable String name, WebRequest request) throws BeerNotFoundException {
+        BeerDTO beerDTO = beerService.findBeerByName(name);
+        if (request.checkNotModified(BeerETags.beer(beerDTO))) {
+            return null;
+        }
+        return beerDTO;
     }
 
     @GetMapping
-    public List<BeerDTO> listAllBeers(){
-        return beerService.listAllBeers();
+    public List<BeerDTO> listAllBeers(@RequestParam(required = false) String brand,
+                                      @RequestParam(required = false) BeerType type,
+                                      @RequestParam(required = false) Integer lowStock,
+                                      WebRequest request) {
+        if (request.checkNotModified(BeerETags.catalog(beerCatalogVersion))) {
+            return null;
+        }
+        if (brand == null && type == null && lowStock == null) {
+            return beerService.listAllBeers();
+        }
+        return beerService.searchBeers(brand, type, lowStock);
+    }
+
+    @GetMapping(params = {"limit", "!stream"})
+    public ResponseEntity<List<BeerDTO>> listBeersPage(@RequestParam int limit,
+                                                       @RequestParam(required = false) Long after,
+                                                       @RequestParam(required = false) String brand,
+                                                       @RequestParam(required = false) BeerType type,
+                                                       @RequestParam(required = false) Integer lowStock) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<BeerDTO> page = beerService.listBeersAfter(after, pageSize, brand, type, lowStock);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.size() == pageSize) {
+            Long nextCursor = page.get(page.size() - 1).getId();
+            String nextPage = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("limit", pageSize)
+                    .replaceQueryParam("after", nextCursor)
+                    .toUriString();
+            response.header(HttpHeaders.LINK, "<" + nextPage + ">; rel=\"next\"")
+                    .header(NEXT_CURSOR_HEADER, nextCursor.toString());
+        }
+        return response.body(page);
+    }
+
+    @GetMapping(params = "stream")
+    public ResponseEntity<StreamingResponseBody> streamAllBeers() {
+        StreamingResponseBody body = outputStream -> {
+            // flushing after every beer would send one chunk (and one gzip sync flush) per row
+            ObjectWriter beerWriter = objectMapper.writerFor(BeerDTO.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                beerService.streamAllBeers(beerDTO -> writeBeer(beerWriter, generator, beerDTO));
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     @DeleteMapping("/{id}")
@@ -45,12 +135,68 @@ public class BeerController {
     }
 
     @PatchMapping("/{id}/increment")
-    public BeerDTO incrementStock(@PathVariable Long id, @RequestBody @Valid QuantityDTO quantityDTO) throws BeerNotFoundException, BeerExceededStockException {
-        return beerService.incrementBeer(id, quantityDTO.getQuantity());
+    public BeerDTO incrementStock(@PathVariable Long id,
+                                  @RequestBody @Valid QuantityDTO quantityDTO,
+                                  @RequestParam(required = false) String warehouse,
+                                  @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                  WebRequest request)
+            throws BeerNotFoundException, BeerExceededStockException, BeerInsufficientStockException, IdempotencyKeyReusedException {
+        if (warehouse != null) {
+            return applyOnce(request, idempotencyKey, "increment:" + id + ":" + warehouse + ":" + quantityDTO.getQuantity(),
+                    () -> warehouseStockService.adjustStock(id, warehouse, quantityDTO.getQuantity()));
+        }
+        return applyOnce(request, idempotencyKey, "increment:" + id + ":" + quantityDTO.getQuantity(),
+                () -> beerService.incrementBeer(id, quantityDTO.getQuantity()));
     }
 
     @PatchMapping("/{id}/decrement")
-    public BeerDTO decrementStock(@PathVariable Long id, @RequestBody @Valid QuantityDTO quantityDTO) throws BeerNotFoundException, BeerInsufficientStockException {
-        return beerService.decrementBeer(id, quantityDTO.getQuantity());
+    public BeerDTO decrementStock(@PathVariable Long id,
+                                  @RequestBody @Valid QuantityDTO quantityDTO,
+                                  @RequestParam(required = false) String warehouse,
+                                  @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                  WebRequest request)
+            throws BeerNotFoundException, BeerExceededStockException, BeerInsufficientStockException, IdempotencyKeyReusedException {
+        if (warehouse != null) {
+            return applyOnce(request, idempotencyKey, "decrement:" + id + ":" + warehouse + ":" + quantityDTO.getQuantity(),
+                    () -> warehouseStockService.adjustStock(id, warehouse, -quantityDTO.getQuantity()));
+        }
+        return applyOnce(request, idempotencyKey, "decrement:" + id + ":" + quantityDTO.getQuantity(),
+                () -> beerService.decrementBeer(id, quantityDTO.getQuantity()));
+    }
+
+    @GetMapping("/{id}/warehouses")
+    public List<WarehouseStockDTO> listWarehouses(@PathVariable Long id) throws BeerNotFoundException {
+        return warehouseStockService.listWarehouses(id);
+    }
+
+    @PutMapping("/{id}/warehouses/{warehouse}")
+    public WarehouseStockDTO updateWarehouseCapacity(@PathVariable Long id,
+                                                     @PathVariable String warehouse,
+                                                     @RequestBody @Valid WarehouseStockDTO warehouseStockDTO)
+            throws BeerNotFoundException, WarehouseCapacityException {
+        return warehouseStockService.updateCapacity(id, warehouse, warehouseStockDTO.getMax());
+    }
+
+    @PatchMapping("/stock")
+    public ResponseEntity<StockBatchResultDTO> adjustStock(@RequestBody @Valid StockBatchDTO stockBatchDTO) {
+        StockBatchResultDTO stockBatchResultDTO = beerService.adjustStock(stockBatchDTO);
+        return ResponseEntity.status(stockBatchResultDTO.isCommitted() ? HttpStatus.OK : HttpStatus.BAD_REQUEST)
+                .body(stockBatchResultDTO);
+    }
+
+    private BeerDTO applyOnce(WebRequest request, String idempotencyKey, String fingerprint, StockMutation mutation)
+            throws BeerNotFoundException, BeerExceededStockException, BeerInsufficientStockException, IdempotencyKeyReusedException {
+        if (idempotencyKey == null) {
+            return mutation.apply();
+        }
+        return idempotencyStore.execute(idempotencyStore.clientOf(request), idempotencyKey, fingerprint, mutation);
+    }
+
+    private void writeBeer(ObjectWriter beerWriter, JsonGenerator generator, BeerDTO beerDTO) {
+        try {
+            beerWriter.writeValue(generator, beerDTO);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
@@ -0,0 +1,26 @@
+package one.digitalinnovation.beerapi.controller;
+
+import one.digitalinnovation.beerapi.cache.BeerCatalogVersion;
+import one.digitalinnovation.beerapi.dto.BeerDTO;
+
+/**
+ * Weak validators: the same beer is served as JSON, CBOR or gzip-compressed, and Tomcat won't compress a response
+ * that carries a strong ETag.
+ */
+final class BeerETags {
+
+    private BeerETags() {
+    }
+
+    static String beer(BeerDTO beerDTO) {
+        return weak(beerDTO.getId() + "-" + beerDTO.getVersion() + "-" + beerDTO.getQuantity());
+    }
+
+    static String catalog(BeerCatalogVersion beerCatalogVersion) {
+        return weak("catalog-" + beerCatalogVersion.current());
+    }
+
+    private static String weak(String tag) {
+        return "W/\"" + tag + "\"";
+    }
+}
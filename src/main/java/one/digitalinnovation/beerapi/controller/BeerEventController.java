@@ -0,0 +1,31 @@
+package one.digitalinnovation.beerapi.controller;
+
+import lombok.AllArgsConstructor;
+import one.digitalinnovation.beerapi.enums.BeerType;
+import one.digitalinnovation.beerapi.event.BeerEventBroadcaster;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Stock event stream. Beers can't be named {@code events}, so the literal path never shadows {@code GET /{name}}.
+ */
+@RestController
+@RequestMapping("/api/v1/beer/events")
+@Profile("!reactive")
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class BeerEventController {
+
+    private final BeerEventBroadcaster beerEventBroadcaster;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStockEvents(@RequestParam(required = false) BeerType type,
+                                        @RequestParam(required = false) Integer threshold) {
+        return beerEventBroadcaster.subscribe(type, threshold);
+    }
+}
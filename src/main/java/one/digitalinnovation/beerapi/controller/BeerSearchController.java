@@ -0,0 +1,32 @@
+package one.digitalinnovation.beerapi.controller;
+
+import lombok.AllArgsConstructor;
+import one.digitalinnovation.beerapi.dto.BeerSearchHitDTO;
+import one.digitalinnovation.beerapi.search.BeerSearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Full-text search. Beers can't be named {@code search}, so the literal path never shadows {@code GET /{name}}.
+ */
+@RestController
+@RequestMapping("/api/v1/beer/search")
+@Profile("!reactive")
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class BeerSearchController {
+
+    private static final int MAX_SEARCH_RESULTS = 100;
+
+    private final BeerSearchIndex beerSearchIndex;
+
+    @GetMapping
+    public List<BeerSearchHitDTO> searchBeers(@RequestParam String q, @RequestParam(defaultValue = "10") int limit) {
+        return beerSearchIndex.search(q, Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS)));
+    }
+}
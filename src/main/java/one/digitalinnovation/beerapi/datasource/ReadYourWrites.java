@@ -0,0 +1,52 @@
+package one.digitalinnovation.beerapi.datasource;
+
+/**
+ * Tracks whether the current request has written to the primary. Replicas may lag behind it, so once a request has
+ * opened a read-write transaction its later read-only transactions are routed to the primary as well.
+ * Only threads inside {@link ReadYourWritesFilter} are tracked; background work keeps reading from the replicas unless
+ * it runs {@link #onPrimary(Runnable)}.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<boolean[]> WRITTEN = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    public static void begin() {
+        WRITTEN.set(new boolean[1]);
+    }
+
+    public static void end() {
+        WRITTEN.remove();
+    }
+
+    /**
+     * Runs {@code work} with all of its reads on the primary, for background work that must not start out behind it.
+     */
+    public static void onPrimary(Runnable work) {
+        boolean[] previous = WRITTEN.get();
+        WRITTEN.set(new boolean[]{true});
+        try {
+            work.run();
+        } finally {
+            if (previous == null) {
+                WRITTEN.remove();
+            } else {
+                WRITTEN.set(previous);
+            }
+        }
+    }
+
+    static void markWritten() {
+        boolean[] written = WRITTEN.get();
+        if (written != null) {
+            written[0] = true;
+        }
+    }
+
+    static boolean isWritten() {
+        boolean[] written = WRITTEN.get();
+        return written != null && written[0];
+    }
+}
@@ -0,0 +1,65 @@
+package one.digitalinnovation.beerapi.datasource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Replaces the auto-configured {@link DataSource} with primary/replica routing when
+ * {@code beer.datasource.replicas.enabled=true}. The replicas share the primary's credentials and driver settings.
+ */
+@Configuration
+@Profile("!reactive")
+@ConditionalOnProperty(name = "beer.datasource.replicas.enabled", havingValue = "true")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                             @Value("${beer.datasource.replicas.urls}") List<String> replicaUrls,
+                                                             @Value("${beer.datasource.replicas.retry-interval:30s}") Duration retryInterval) {
+        DataSource primary = dataSourceProperties.initializeDataSourceBuilder().build();
+        List<DataSource> replicas = replicaUrls.stream()
+                .map(url -> DataSourceBuilder.create(dataSourceProperties.getClassLoader())
+                        .type(dataSourceProperties.getType())
+                        .url(url)
+                        .username(dataSourceProperties.determineUsername())
+                        .password(dataSourceProperties.determinePassword())
+                        .build())
+                .collect(Collectors.toList());
+        return new ReplicaRoutingDataSource(primary, replicas, retryInterval);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    // with open-in-view the session would otherwise keep its first connection, replica or primary, for the whole request
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionsAfterTransaction() {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter() {
+        return new ReadYourWritesFilter();
+    }
+}
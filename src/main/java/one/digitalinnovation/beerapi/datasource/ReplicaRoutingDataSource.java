@@ -0,0 +1,116 @@
+package one.digitalinnovation.beerapi.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Hands out replica connections to read-only transactions and primary connections to everything else.
+ * <p>
+ * The decision is taken when the connection is requested, so this has to sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the transaction manager only marks the
+ * transaction read-only after it has asked for a connection. Replicas are used round-robin. A replica that fails to
+ * hand out a connection is skipped for {@code retryInterval}, and the read goes to the next replica or the primary.
+ * Once a request has opened a read-write transaction, its later reads stay on the primary, see {@link ReadYourWrites}.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long retryIntervalNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration retryInterval) {
+        this(primary, replicas, retryInterval, System::nanoTime);
+    }
+
+    ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration retryInterval, LongSupplier nanoClock) {
+        this.primary = primary;
+        this.replicas = IntStream.range(0, replicas.size())
+                .mapToObj(index -> new Replica(index, replicas.get(index)))
+                .collect(Collectors.toList());
+        this.retryIntervalNanos = retryInterval.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!routesToReplica()) {
+            return primary.getConnection();
+        }
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+            if (replica.isAvailable(nanoClock.getAsLong())) {
+                try {
+                    return replica.dataSource.getConnection();
+                } catch (SQLException e) {
+                    log.warn("Replica {} is unavailable, reading from the next one or the primary", replica.index, e);
+                    replica.failedAt(nanoClock.getAsLong() + retryIntervalNanos);
+                }
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Replica routing uses the credentials of the configured data sources");
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable) {
+                ((AutoCloseable) replica.dataSource).close();
+            }
+        }
+        if (primary instanceof AutoCloseable) {
+            ((AutoCloseable) primary).close();
+        }
+    }
+
+    private boolean routesToReplica() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return false;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            ReadYourWrites.markWritten();
+            return false;
+        }
+        return !replicas.isEmpty() && !ReadYourWrites.isWritten();
+    }
+
+    private static class Replica {
+
+        private final int index;
+        private final DataSource dataSource;
+        private volatile boolean failed;
+        private volatile long retryAt;
+
+        Replica(int index, DataSource dataSource) {
+            this.index = index;
+            this.dataSource = dataSource;
+        }
+
+        boolean isAvailable(long now) {
+            return !failed || now - retryAt >= 0;
+        }
+
+        void failedAt(long retryAt) {
+            this.retryAt = retryAt;
+            this.failed = true;
+        }
+    }
+}
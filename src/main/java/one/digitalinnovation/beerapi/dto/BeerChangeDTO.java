@@ -0,0 +1,24 @@
+package one.digitalinnovation.beerapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import one.digitalinnovation.beerapi.enums.BeerEventType;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BeerChangeDTO {
+
+    private Long sequence;
+
+    private BeerEventType type;
+
+    private Instant changedAt;
+
+    private BeerDTO beer;
+}
@@ -1,8 +1,10 @@
 package one.digitalinnovation.beerapi.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import one.digitalinnovation.beerapi.enums.BeerType;
 
@@ -10,18 +12,21 @@ import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
 import javax.validation.constraints.Size;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @AllArgsConstructor
 @NoArgsConstructor
 public class BeerDTO {
 
     private Long id;
 
+    // GET /api/v1/beer/events and the other literal paths take precedence over GET /api/v1/beer/{name}
     @NotNull
     @Size(min = 1, max = 200)
+    @Pattern(regexp = "(?s)(?!(events|changes|search|stream|import)$).*", message = "is reserved by the beer API")
     private String name;
 
     @NotNull
@@ -39,4 +44,8 @@ public class BeerDTO {
     @Enumerated(EnumType.STRING)
     @NotNull
     private BeerType type;
+
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private Long version;
 }
@@ -0,0 +1,19 @@
+package one.digitalinnovation.beerapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BeerImportRejectDTO {
+
+    private long row;
+
+    private String name;
+
+    private String reason;
+}
@@ -0,0 +1,27 @@
+package one.digitalinnovation.beerapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BeerImportReportDTO {
+
+    private long received;
+
+    private long imported;
+
+    private long rejected;
+
+    private long elapsedMillis;
+
+    private double rowsPerSecond;
+
+    private List<BeerImportRejectDTO> rejects;
+}
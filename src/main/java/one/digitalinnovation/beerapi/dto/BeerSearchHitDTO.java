@@ -0,0 +1,24 @@
+package one.digitalinnovation.beerapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import one.digitalinnovation.beerapi.enums.BeerType;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BeerSearchHitDTO {
+
+    private Long id;
+
+    private String name;
+
+    private String brand;
+
+    private BeerType type;
+
+    private int score;
+}
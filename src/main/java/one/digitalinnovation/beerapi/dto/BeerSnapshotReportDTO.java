@@ -0,0 +1,25 @@
+package one.digitalinnovation.beerapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BeerSnapshotReportDTO {
+
+    private String file;
+
+    private long beers;
+
+    private long bytes;
+
+    private long elapsedMillis;
+
+    private double rowsPerSecond;
+
+    private boolean cacheWarmed;
+}
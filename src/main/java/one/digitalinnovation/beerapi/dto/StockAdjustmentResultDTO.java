@@ -0,0 +1,24 @@
+package one.digitalinnovation.beerapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import one.digitalinnovation.beerapi.enums.StockAdjustmentStatus;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class StockAdjustmentResultDTO {
+
+    private Long id;
+
+    private int delta;
+
+    private StockAdjustmentStatus status;
+
+    private Integer quantity;
+
+    private String message;
+}
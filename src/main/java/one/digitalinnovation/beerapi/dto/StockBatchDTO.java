@@ -0,0 +1,28 @@
+package one.digitalinnovation.beerapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import one.digitalinnovation.beerapi.enums.StockBatchMode;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class StockBatchDTO {
+
+    @NotNull
+    @Builder.Default
+    private StockBatchMode mode = StockBatchMode.ALL_OR_NOTHING;
+
+    @NotEmpty
+    @Size(max = 1000)
+    private List<@Valid @NotNull StockAdjustmentDTO> items;
+}
@@ -0,0 +1,22 @@
+package one.digitalinnovation.beerapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import one.digitalinnovation.beerapi.enums.StockBatchMode;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class StockBatchResultDTO {
+
+    private StockBatchMode mode;
+
+    private boolean committed;
+
+    private List<StockAdjustmentResultDTO> items;
+}
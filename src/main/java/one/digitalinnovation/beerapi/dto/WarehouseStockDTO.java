@@ -0,0 +1,26 @@
+package one.digitalinnovation.beerapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.PositiveOrZero;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class WarehouseStockDTO {
+
+    private String warehouse;
+
+    private int quantity;
+
+    @NotNull
+    @PositiveOrZero
+    @Max(500)
+    private Integer max;
+}
@@ -8,13 +8,19 @@ import one.digitalinnovation.beerapi.enums.BeerType;
 import javax.persistence.*;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_beer_brand_type", columnList = "brand, type"),
+        @Index(name = "idx_beer_type_quantity", columnList = "type, quantity"),
+        @Index(name = "idx_beer_quantity", columnList = "quantity")
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class Beer {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "beer_sequence")
+    @SequenceGenerator(name = "beer_sequence", sequenceName = "beer_sequence", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -32,4 +38,14 @@ public class Beer {
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private BeerType type;
+
+    @Version
+    private long version;
+
+    // sums over the named warehouses in warehouse_stock; what is left of quantity and max sits in the default warehouse
+    @Column(nullable = false)
+    private int warehouseQuantity;
+
+    @Column(nullable = false)
+    private int warehouseMax;
 }
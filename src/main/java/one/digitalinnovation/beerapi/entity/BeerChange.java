@@ -0,0 +1,52 @@
+package one.digitalinnovation.beerapi.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import one.digitalinnovation.beerapi.enums.BeerEventType;
+import one.digitalinnovation.beerapi.enums.BeerType;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+@Entity
+@Table(name = "beer_change", indexes = {
+        @Index(name = "idx_beer_change_beer_id", columnList = "beer_id, id"),
+        @Index(name = "idx_beer_change_changed_at", columnList = "changed_at")
+})
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BeerChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "beer_change_sequence")
+    @SequenceGenerator(name = "beer_change_sequence", sequenceName = "beer_change_sequence", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "beer_id", nullable = false)
+    private Long beerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private BeerEventType type;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false)
+    private String brand;
+
+    @Column(nullable = false)
+    private int max;
+
+    @Column(nullable = false)
+    private int quantity;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "beer_type", nullable = false)
+    private BeerType beerType;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+}
@@ -0,0 +1,38 @@
+package one.digitalinnovation.beerapi.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import javax.persistence.*;
+
+@Entity
+@Table(name = "warehouse_stock", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_warehouse_stock_beer_warehouse", columnNames = {"beer_id", "warehouse"})
+})
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class WarehouseStock {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "warehouse_stock_sequence")
+    @SequenceGenerator(name = "warehouse_stock_sequence", sequenceName = "warehouse_stock_sequence", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "beer_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Beer beer;
+
+    @Column(nullable = false)
+    private String warehouse;
+
+    @Column(nullable = false)
+    private int quantity;
+
+    @Column(nullable = false)
+    private int max;
+}
@@ -0,0 +1,17 @@
+package one.digitalinnovation.beerapi.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum BeerEventType {
+
+    CREATED("Created"),
+    INCREMENTED("Incremented"),
+    DECREMENTED("Decremented"),
+    DELETED("Deleted"),
+    RESIZED("Resized");
+
+    private final String description;
+}
@@ -7,6 +7,7 @@ import lombok.Getter;
 @AllArgsConstructor
 public enum BeerType {
 
+    // CBOR clients receive the ordinal, so only ever append new types
     LAGER("Lager"),
     MALZBIER("Malzbier"),
     WITBIER("Witbier"),
@@ -0,0 +1,17 @@
+package one.digitalinnovation.beerapi.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum StockAdjustmentStatus {
+
+    APPLIED("Applied"),
+    ROLLED_BACK("Rolled back"),
+    NOT_FOUND("Not found"),
+    EXCEEDED_STOCK("Exceeded stock"),
+    INSUFFICIENT_STOCK("Insufficient stock");
+
+    private final String description;
+}
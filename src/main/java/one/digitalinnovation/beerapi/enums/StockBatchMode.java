@@ -0,0 +1,14 @@
+package one.digitalinnovation.beerapi.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum StockBatchMode {
+
+    ALL_OR_NOTHING("All or nothing"),
+    PARTIAL("Partial");
+
+    private final String description;
+}
@@ -0,0 +1,24 @@
+package one.digitalinnovation.beerapi.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import one.digitalinnovation.beerapi.dto.BeerDTO;
+import one.digitalinnovation.beerapi.enums.BeerEventType;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class BeerChangedEvent {
+
+    private final BeerEventType type;
+    private final BeerDTO beer;
+    /**
+     * Whether the change is only held by the stock ledger so far; its next flush writes it to the database.
+     */
+    private final boolean writeBehind;
+
+    public BeerChangedEvent(BeerEventType type, BeerDTO beer) {
+        this(type, beer, false);
+    }
+}
@@ -0,0 +1,191 @@
+package one.digitalinnovation.beerapi.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import one.digitalinnovation.beerapi.dto.BeerDTO;
+import one.digitalinnovation.beerapi.enums.BeerEventType;
+import one.digitalinnovation.beerapi.enums.BeerType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static one.digitalinnovation.beerapi.metrics.BeerMetricsConfig.EVENTS_DROPPED;
+import static one.digitalinnovation.beerapi.metrics.BeerMetricsConfig.EVENT_SUBSCRIBERS;
+
+/**
+ * Fans committed stock changes out to Server-Sent Events subscribers.
+ * <p>
+ * Every subscriber has its own bounded buffer drained by a small dispatcher pool, so publishing never
+ * blocks on a slow client: when a buffer is full its oldest event is dropped instead.
+ */
+@Slf4j
+@Component
+public class BeerEventBroadcaster {
+
+    private final Set<Subscription> subscriptions = new CopyOnWriteArraySet<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ExecutorService dispatcher;
+    private final int bufferSize;
+    private final Duration emitterTimeout;
+    private final Counter droppedEvents;
+
+    public BeerEventBroadcaster(@Value("${beer.events.buffer-size:256}") int bufferSize,
+                                @Value("${beer.events.emitter-timeout:30m}") Duration emitterTimeout,
+                                @Value("${beer.events.dispatcher-threads:2}") int dispatcherThreads,
+                                MeterRegistry meterRegistry) {
+        this.bufferSize = bufferSize;
+        this.emitterTimeout = emitterTimeout;
+        this.dispatcher = Executors.newFixedThreadPool(dispatcherThreads, runnable -> {
+            Thread thread = new Thread(runnable, "beer-events-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.droppedEvents = Counter.builder(EVENTS_DROPPED)
+                .description("Stock events dropped because a subscriber buffer was full")
+                .register(meterRegistry);
+        Gauge.builder(EVENT_SUBSCRIBERS, subscriptions, Set::size)
+                .description("Connected stock event subscribers")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(BeerType type, Integer threshold) {
+        SseEmitter emitter = new SseEmitter(emitterTimeout.toMillis());
+        Subscription subscription = new Subscription(emitter, type, threshold, bufferSize);
+        emitter.onCompletion(() -> subscriptions.remove(subscription));
+        emitter.onTimeout(() -> subscriptions.remove(subscription));
+        emitter.onError(error -> subscriptions.remove(subscription));
+        try {
+            emitter.send(SseEmitter.event().comment("subscribed"));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+            return emitter;
+        }
+        subscriptions.add(subscription);
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBeerChanged(BeerChangedEvent event) {
+        SequencedEvent sequencedEvent = new SequencedEvent(sequence.incrementAndGet(), event);
+        for (Subscription subscription : subscriptions) {
+            if (subscription.accepts(event)) {
+                if (!subscription.offer(sequencedEvent)) {
+                    droppedEvents.increment();
+                }
+                scheduleDrain(subscription);
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        subscriptions.forEach(subscription -> subscription.emitter.complete());
+        subscriptions.clear();
+    }
+
+    private void scheduleDrain(Subscription subscription) {
+        if (subscription.draining.compareAndSet(false, true)) {
+            try {
+                dispatcher.execute(() -> drain(subscription));
+            } catch (RejectedExecutionException e) {
+                subscription.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscription subscription) {
+        try {
+            SequencedEvent sequencedEvent;
+            while ((sequencedEvent = subscription.buffer.poll()) != null) {
+                BeerChangedEvent event = sequencedEvent.event;
+                subscription.emitter.send(SseEmitter.event()
+                        .id(Long.toString(sequencedEvent.id))
+                        .name(event.getType().name())
+                        .data(event.getBeer(), MediaType.APPLICATION_JSON));
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping stock event subscriber: {}", e.getMessage());
+            subscriptions.remove(subscription);
+            subscription.buffer.clear();
+            subscription.emitter.completeWithError(e);
+        } finally {
+            subscription.draining.set(false);
+        }
+        if (!subscription.buffer.isEmpty() && subscriptions.contains(subscription)) {
+            scheduleDrain(subscription);
+        }
+    }
+
+    static class SequencedEvent {
+
+        private final long id;
+        private final BeerChangedEvent event;
+
+        SequencedEvent(long id, BeerChangedEvent event) {
+            this.id = id;
+            this.event = event;
+        }
+    }
+
+    static class Subscription {
+
+        private final SseEmitter emitter;
+        private final BeerType type;
+        private final Integer threshold;
+        private final BlockingQueue<SequencedEvent> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscription(SseEmitter emitter, BeerType type, Integer threshold, int bufferSize) {
+            this.emitter = emitter;
+            this.type = type;
+            this.threshold = threshold;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        boolean accepts(BeerChangedEvent event) {
+            BeerDTO beer = event.getBeer();
+            if (type != null && type != beer.getType()) {
+                return false;
+            }
+            return threshold == null
+                    || event.getType() == BeerEventType.DELETED
+                    || beer.getQuantity() <= threshold
+                    || beer.getMax() - beer.getQuantity() <= threshold;
+        }
+
+        boolean offer(SequencedEvent sequencedEvent) {
+            if (buffer.offer(sequencedEvent)) {
+                return true;
+            }
+            buffer.poll();
+            buffer.offer(sequencedEvent);
+            return false;
+        }
+
+        int buffered() {
+            return buffer.size();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package one.digitalinnovation.beerapi.exception;
 
 import one.digitalinnovation.beerapi.entity.Beer;
+import one.digitalinnovation.beerapi.entity.WarehouseStock;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
@@ -10,4 +11,12 @@ public class BeerExceededStockException extends Exception {
     public BeerExceededStockException(Beer beer, int increment) {
         super(String.format("Beer %s can't be incremented by %s due to its stock capacity (%s)", beer.getName(), increment, beer.getMax()));
     }
+
+    public BeerExceededStockException(Beer beer, WarehouseStock stock, int increment) {
+        this(beer, stock.getWarehouse(), stock.getMax(), increment);
+    }
+
+    public BeerExceededStockException(Beer beer, String warehouse, int capacity, int increment) {
+        super(String.format("Beer %s can't be incremented by %s in warehouse %s due to its stock capacity (%s)", beer.getName(), increment, warehouse, capacity));
+    }
 }
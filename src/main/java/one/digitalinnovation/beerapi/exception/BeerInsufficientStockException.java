@@ -1,6 +1,7 @@
 package one.digitalinnovation.beerapi.exception;
 
 import one.digitalinnovation.beerapi.entity.Beer;
+import one.digitalinnovation.beerapi.entity.WarehouseStock;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
@@ -10,4 +11,8 @@ public class BeerInsufficientStockException extends Exception{
     public BeerInsufficientStockException(Beer beer, int decrement) {
         super(String.format("Beer %s can't be decremented by %s due to its stock capacity (%s)", beer.getName(), decrement, beer.getQuantity()));
     }
+
+    public BeerInsufficientStockException(Beer beer, WarehouseStock stock, int decrement) {
+        super(String.format("Beer %s can't be decremented by %s in warehouse %s due to its stock capacity (%s)", beer.getName(), decrement, stock.getWarehouse(), stock.getQuantity()));
+    }
 }
@@ -13,4 +13,8 @@ public class BeerNotFoundException extends Exception {
     public BeerNotFoundException(Long id) {
         super(String.format("Beer of id %d does not exist", id));
     }
+
+    public BeerNotFoundException(Long id, String warehouse) {
+        super(String.format("Beer of id %d is not stocked in warehouse %s", id, warehouse));
+    }
 }
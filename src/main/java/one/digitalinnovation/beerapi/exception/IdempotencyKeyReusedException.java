@@ -0,0 +1,12 @@
+package one.digitalinnovation.beerapi.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+public class IdempotencyKeyReusedException extends Exception {
+
+    public IdempotencyKeyReusedException(String key) {
+        super(String.format("Idempotency key %s was already used for a different request", key));
+    }
+}
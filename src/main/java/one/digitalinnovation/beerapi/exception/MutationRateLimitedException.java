@@ -0,0 +1,12 @@
+package one.digitalinnovation.beerapi.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class MutationRateLimitedException extends RuntimeException {
+
+    public MutationRateLimitedException(String limit, String key) {
+        super(String.format("Too many changes for %s %s, retry later", limit, key));
+    }
+}
@@ -0,0 +1,12 @@
+package one.digitalinnovation.beerapi.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ServiceOverloadedException extends RuntimeException {
+
+    public ServiceOverloadedException() {
+        super("Too many changes in progress, retry later");
+    }
+}
@@ -0,0 +1,12 @@
+package one.digitalinnovation.beerapi.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_IMPLEMENTED)
+public class ShardingUnsupportedException extends RuntimeException {
+
+    public ShardingUnsupportedException(String feature) {
+        super(String.format("%s is not supported while beer.sharding.enabled=true", feature));
+    }
+}
@@ -0,0 +1,12 @@
+package one.digitalinnovation.beerapi.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class WarehouseCapacityException extends Exception {
+
+    public WarehouseCapacityException(String warehouse, int quantity, int max) {
+        super(String.format("Warehouse %s holds %s units, more than the requested capacity (%s)", warehouse, quantity, max));
+    }
+}
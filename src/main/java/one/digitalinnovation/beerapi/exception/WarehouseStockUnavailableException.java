@@ -0,0 +1,12 @@
+package one.digitalinnovation.beerapi.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class WarehouseStockUnavailableException extends RuntimeException {
+
+    public WarehouseStockUnavailableException() {
+        super("Per-warehouse stock is unavailable while the in-memory stock ledger is enabled");
+    }
+}
@@ -0,0 +1,127 @@
+package one.digitalinnovation.beerapi.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import one.digitalinnovation.beerapi.dto.BeerDTO;
+import one.digitalinnovation.beerapi.exception.BeerExceededStockException;
+import one.digitalinnovation.beerapi.exception.BeerInsufficientStockException;
+import one.digitalinnovation.beerapi.exception.BeerNotFoundException;
+import one.digitalinnovation.beerapi.exception.IdempotencyKeyReusedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Remembers the outcome of stock mutations by {@code Idempotency-Key}, so a retried request gets the recorded
+ * {@link BeerDTO} or domain error back instead of being applied twice. Concurrent requests with the same key wait
+ * for the first one. Unexpected failures are not recorded, so those can be retried.
+ * <p>
+ * Keys are scoped by the client named in {@code beer.idempotency.client-header} when the request carries it. Without
+ * it they are global, so clients must send unique keys such as UUIDs.
+ */
+@Component
+public class IdempotencyStore {
+
+    public static final String CACHE_NAME = "idempotencyKeys";
+
+    private final Cache<String, Outcome> outcomes;
+    private final String clientHeader;
+
+    public IdempotencyStore(@Value("${beer.idempotency.maximum-size:100000}") long maximumSize,
+                            @Value("${beer.idempotency.expire-after-write:24h}") Duration expireAfterWrite,
+                            @Value("${beer.idempotency.client-header:}") String clientHeader,
+                            MeterRegistry meterRegistry) {
+        this.clientHeader = clientHeader;
+        this.outcomes = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, outcomes, CACHE_NAME);
+    }
+
+    /**
+     * The client a request's keys belong to, or {@code null} when no client header is configured or sent.
+     */
+    public String clientOf(WebRequest request) {
+        String client = StringUtils.hasText(clientHeader) ? request.getHeader(clientHeader) : null;
+        return StringUtils.hasText(client) ? client : null;
+    }
+
+    public BeerDTO execute(String key, String fingerprint, StockMutation mutation) throws BeerNotFoundException,
+            BeerExceededStockException, BeerInsufficientStockException, IdempotencyKeyReusedException {
+        return execute(null, key, fingerprint, mutation);
+    }
+
+    /**
+     * Runs {@code mutation} once per {@code key} of {@code client}. {@code fingerprint} identifies the request the key
+     * was first used for, so reusing a key for another beer, operation or quantity fails instead of replaying an
+     * unrelated result.
+     */
+    public BeerDTO execute(String client, String key, String fingerprint, StockMutation mutation) throws BeerNotFoundException,
+            BeerExceededStockException, BeerInsufficientStockException, IdempotencyKeyReusedException {
+        // header values can't contain a line break, so the scoped key is unambiguous
+        String scopedKey = client == null ? key : client + "\n" + key;
+        Outcome outcome = new Outcome(fingerprint);
+        Outcome recorded = outcomes.asMap().putIfAbsent(scopedKey, outcome);
+        if (recorded != null) {
+            if (!recorded.fingerprint.equals(fingerprint)) {
+                throw new IdempotencyKeyReusedException(key);
+            }
+            return recorded.await();
+        }
+        try {
+            BeerDTO beerDTO = mutation.apply();
+            outcome.result.complete(beerDTO);
+            return beerDTO;
+        } catch (BeerNotFoundException | BeerExceededStockException | BeerInsufficientStockException e) {
+            outcome.result.completeExceptionally(e);
+            throw e;
+        } catch (RuntimeException | Error e) {
+            outcomes.asMap().remove(scopedKey, outcome);
+            outcome.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static class Outcome {
+
+        private final String fingerprint;
+        private final CompletableFuture<BeerDTO> result = new CompletableFuture<>();
+
+        Outcome(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        BeerDTO await() throws BeerNotFoundException, BeerExceededStockException, BeerInsufficientStockException {
+            try {
+                return result.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a duplicate request", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof BeerNotFoundException) {
+                    throw (BeerNotFoundException) cause;
+                }
+                if (cause instanceof BeerExceededStockException) {
+                    throw (BeerExceededStockException) cause;
+                }
+                if (cause instanceof BeerInsufficientStockException) {
+                    throw (BeerInsufficientStockException) cause;
+                }
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw (Error) cause;
+            }
+        }
+    }
+}
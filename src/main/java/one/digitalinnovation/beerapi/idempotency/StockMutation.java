@@ -0,0 +1,12 @@
+package one.digitalinnovation.beerapi.idempotency;
+
+import one.digitalinnovation.beerapi.dto.BeerDTO;
+import one.digitalinnovation.beerapi.exception.BeerExceededStockException;
+import one.digitalinnovation.beerapi.exception.BeerInsufficientStockException;
+import one.digitalinnovation.beerapi.exception.BeerNotFoundException;
+
+@FunctionalInterface
+public interface StockMutation {
+
+    BeerDTO apply() throws BeerNotFoundException, BeerExceededStockException, BeerInsufficientStockException;
+}
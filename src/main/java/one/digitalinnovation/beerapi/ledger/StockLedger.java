@@ -0,0 +1,257 @@
+package one.digitalinnovation.beerapi.ledger;
+
+import lombok.extern.slf4j.Slf4j;
+import one.digitalinnovation.beerapi.changelog.BeerChangeLog;
+import one.digitalinnovation.beerapi.dto.BeerDTO;
+import one.digitalinnovation.beerapi.dto.StockAdjustmentDTO;
+import one.digitalinnovation.beerapi.enums.BeerEventType;
+import one.digitalinnovation.beerapi.event.BeerChangedEvent;
+import one.digitalinnovation.beerapi.mapper.BeerMapper;
+import one.digitalinnovation.beerapi.repository.BeerRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Authoritative in-memory stock quantities, used when {@code beer.stock.ledger.enabled=true}.
+ * Adjustments are applied with a CAS loop per beer and the accumulated deltas are written
+ * behind to the {@code beer} table every {@code beer.stock.ledger.flush-interval}, together with one change feed entry
+ * per flushed beer.
+ */
+@Slf4j
+@Component
+public class StockLedger implements SmartLifecycle {
+
+    private final BeerRepository beerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectProvider<BeerChangeLog> beerChangeLog;
+    private final BeerMapper beerMapper = BeerMapper.INSTANCE;
+    private final boolean enabled;
+    private final Duration flushInterval;
+    private final Map<Long, StockEntry> entries = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService flusher;
+
+    public StockLedger(BeerRepository beerRepository,
+                       TransactionTemplate transactionTemplate,
+                       ObjectProvider<BeerChangeLog> beerChangeLog,
+                       @Value("${beer.stock.ledger.enabled:false}") boolean enabled,
+                       @Value("${beer.stock.ledger.flush-interval:1s}") Duration flushInterval) {
+        this.beerRepository = beerRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.beerChangeLog = beerChangeLog;
+        this.enabled = enabled;
+        this.flushInterval = flushInterval;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts tracking {@code beerDTO}. Inside a transaction this waits for the commit, so a rolled back
+     * create never leaves an entry behind that the flusher would keep writing deltas for.
+     */
+    public void register(BeerDTO beerDTO) {
+        if (enabled) {
+            afterCommit(() -> entries.put(beerDTO.getId(), new StockEntry(beerDTO)));
+        }
+    }
+
+    public void remove(Long id) {
+        afterCommit(() -> entries.remove(id));
+    }
+
+    public Optional<BeerDTO> find(Long id) {
+        StockEntry entry = entries.get(id);
+        return entry == null ? Optional.empty() : Optional.of(entry.beer.toBuilder().quantity(entry.quantity.get()).build());
+    }
+
+    public BeerDTO withCurrentQuantity(BeerDTO beerDTO) {
+        StockEntry entry = entries.get(beerDTO.getId());
+        if (entry == null || entry.quantity.get() == beerDTO.getQuantity()) {
+            return beerDTO;
+        }
+        return beerDTO.toBuilder().quantity(entry.quantity.get()).build();
+    }
+
+    /**
+     * Applies {@code delta} if the result stays within the same bounds the database path enforces:
+     * at most {@code max} for increments and not below zero for decrements.
+     *
+     * @return the beer with its new quantity, or empty when the beer is unknown or the bound would be crossed
+     */
+    public Optional<BeerDTO> adjust(Long id, int delta) {
+        StockEntry entry = entries.get(id);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        while (true) {
+            int current = entry.quantity.get();
+            int updated = current + delta;
+            if (delta > 0 && updated > entry.max || delta < 0 && updated < 0) {
+                return Optional.empty();
+            }
+            if (entry.quantity.compareAndSet(current, updated)) {
+                entry.pendingDelta.addAndGet(delta);
+                return Optional.of(entry.beer.toBuilder().quantity(updated).build());
+            }
+        }
+    }
+
+    /**
+     * Reverts a previous successful {@link #adjust} without bound checks.
+     */
+    public void revert(Long id, int delta) {
+        StockEntry entry = entries.get(id);
+        if (entry != null) {
+            entry.quantity.addAndGet(-delta);
+            entry.pendingDelta.addAndGet(-delta);
+        }
+    }
+
+    /**
+     * Reverts an applied {@link #adjust} if the surrounding transaction rolls back, so a request that fails after
+     * adjusting, and may be retried, never leaves its delta behind.
+     */
+    public void revertOnRollback(Long id, int delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    revert(id, delta);
+                }
+            }
+        });
+    }
+
+    public void reload() {
+        entries.clear();
+        // read-write so it is served by the primary when read replicas are configured
+        transactionTemplate.executeWithoutResult(status -> beerRepository.findAll().forEach(beer -> {
+            BeerDTO beerDTO = beerMapper.toDTO(beer);
+            entries.put(beerDTO.getId(), new StockEntry(beerDTO));
+        }));
+        log.info("Stock ledger loaded {} beers", entries.size());
+    }
+
+    public int flush() {
+        List<StockAdjustmentDTO> deltas = new ArrayList<>();
+        List<BeerChangedEvent> changes = new ArrayList<>();
+        entries.forEach((id, entry) -> {
+            int pendingDelta = entry.pendingDelta.getAndSet(0);
+            if (pendingDelta != 0) {
+                deltas.add(StockAdjustmentDTO.builder().id(id).delta(pendingDelta).build());
+                changes.add(new BeerChangedEvent(pendingDelta < 0 ? BeerEventType.DECREMENTED : BeerEventType.INCREMENTED,
+                        entry.beer.toBuilder().quantity(entry.quantity.get()).build()));
+            }
+        });
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                beerRepository.applyQuantityDeltas(deltas);
+                beerChangeLog.ifAvailable(changeLog -> changeLog.recordAll(changes));
+            });
+        } catch (RuntimeException e) {
+            deltas.forEach(delta -> {
+                StockEntry entry = entries.get(delta.getId());
+                if (entry != null) {
+                    entry.pendingDelta.addAndGet(delta.getDelta());
+                }
+            });
+            throw e;
+        }
+        return deltas.size();
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        reload();
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> new Thread(runnable, "stock-ledger-flusher"));
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (flusher == null) {
+            return;
+        }
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(flushInterval.toMillis() + 5000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flusher = null;
+        log.info("Stock ledger flushed {} beers on shutdown", flush());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return flusher != null;
+    }
+
+    @Override
+    public int getPhase() {
+        // start before and stop after the web server, so no request sees an unloaded ledger
+        return 0;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Stock ledger flush failed, deltas will be retried", e);
+        }
+    }
+
+    private static final class StockEntry {
+
+        private final BeerDTO beer;
+        private final int max;
+        private final AtomicInteger quantity;
+        private final AtomicInteger pendingDelta = new AtomicInteger();
+
+        private StockEntry(BeerDTO beer) {
+            this.beer = beer;
+            this.max = beer.getMax();
+            this.quantity = new AtomicInteger(beer.getQuantity());
+        }
+    }
+}
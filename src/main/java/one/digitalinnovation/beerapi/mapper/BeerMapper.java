@@ -3,6 +3,7 @@ package one.digitalinnovation.beerapi.mapper;
 import one.digitalinnovation.beerapi.dto.BeerDTO;
 import one.digitalinnovation.beerapi.entity.Beer;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
 @Mapper
@@ -10,6 +11,8 @@ public interface BeerMapper {
 
     BeerMapper INSTANCE = Mappers.getMapper(BeerMapper.class);
 
+    @Mapping(target = "warehouseQuantity", ignore = true)
+    @Mapping(target = "warehouseMax", ignore = true)
     Beer toModel(BeerDTO beerDTO);
 
     BeerDTO toDTO(Beer beer);
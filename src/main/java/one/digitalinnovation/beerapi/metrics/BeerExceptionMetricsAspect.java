@@ -0,0 +1,28 @@
+package one.digitalinnovation.beerapi.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.AfterThrowing;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Aspect
+@Component
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class BeerExceptionMetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    @AfterThrowing(pointcut = "within(one.digitalinnovation.beerapi.service.BeerService)", throwing = "exception")
+    public void countException(JoinPoint joinPoint, Exception exception) {
+        Counter.builder(BeerMetricsConfig.SERVICE_EXCEPTIONS)
+                .description("Exceptions thrown by BeerService operations")
+                .tag("exception", exception.getClass().getSimpleName())
+                .tag("method", joinPoint.getSignature().getName())
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,50 @@
+package one.digitalinnovation.beerapi.metrics;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import one.digitalinnovation.beerapi.enums.BeerType;
+import one.digitalinnovation.beerapi.repository.BeerRepository;
+import one.digitalinnovation.beerapi.sharding.BeerShards;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Collections;
+import java.util.Comparator;
+
+@Configuration
+public class BeerMetricsConfig {
+
+    public static final String SERVICE_TIMER = "beer.service";
+    public static final String SERVICE_EXCEPTIONS = "beer.service.exceptions";
+    public static final String STOCK_UNITS = "beer.stock.units";
+    public static final String EVENT_SUBSCRIBERS = "beer.events.subscribers";
+    public static final String EVENTS_DROPPED = "beer.events.dropped";
+    public static final String RATE_LIMIT_REQUESTS = "beer.ratelimit.requests";
+    public static final String RATE_LIMIT_BUCKETS = "beer.ratelimit.buckets";
+    public static final String LOAD_SHEDDING_REQUESTS = "beer.loadshedding.requests";
+    public static final String LOAD_SHEDDING_LIMIT = "beer.loadshedding.limit";
+    public static final String LOAD_SHEDDING_IN_FLIGHT = "beer.loadshedding.inflight";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public MeterBinder beerStockUnits(BeerRepository beerRepository, BeerShards beerShards) {
+        return meterRegistry -> {
+            for (BeerType type : BeerType.values()) {
+                Gauge.builder(STOCK_UNITS, beerRepository, repository -> beerShards
+                                .gather(() -> Collections.singletonList(repository.sumQuantityByType(type)), Comparator.<Long>naturalOrder())
+                                .stream()
+                                .mapToLong(Long::longValue)
+                                .sum())
+                        .description("Units in stock per beer type")
+                        .tag("type", type.name())
+                        .register(meterRegistry);
+            }
+        };
+    }
+}
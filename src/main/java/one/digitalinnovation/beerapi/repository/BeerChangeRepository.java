@@ -0,0 +1,23 @@
+package one.digitalinnovation.beerapi.repository;
+
+import one.digitalinnovation.beerapi.entity.BeerChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface BeerChangeRepository extends JpaRepository<BeerChange, Long> {
+
+    List<BeerChange> findByIdGreaterThanAndIdLessThanOrderByIdAsc(Long since, Long horizon, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("delete from BeerChange c where c.changedAt < :cutoff and exists "
+            + "(select n.id from BeerChange n where n.beerId = c.beerId and n.id > c.id)")
+    int deleteSupersededBefore(@Param("cutoff") Instant cutoff);
+}
@@ -1,12 +1,77 @@
 package one.digitalinnovation.beerapi.repository;
 
 import one.digitalinnovation.beerapi.entity.Beer;
+import one.digitalinnovation.beerapi.enums.BeerType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface BeerRepository extends JpaRepository<Beer, Long> {
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
+public interface BeerRepository extends JpaRepository<Beer, Long>, BeerStockRepository {
 
     Optional<Beer> findBeerByName(String name);
 
+    List<Beer> findByBrand(String brand);
+
+    List<Beer> findByBrandAndType(String brand, BeerType type);
+
+    List<Beer> findByType(BeerType type);
+
+    List<Beer> findByTypeAndQuantityLessThanEqual(BeerType type, int quantity);
+
+    List<Beer> findByQuantityLessThanEqual(int quantity);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Beer b where b.id = :id")
+    Optional<Beer> findByIdForUpdate(@Param("id") Long id);
+
+    @Query("select coalesce(sum(b.quantity), 0) from Beer b where b.type = :type")
+    long sumQuantityByType(@Param("type") BeerType type);
+
+    @Query("select b.name from Beer b")
+    List<String> findAllNames();
+
+    List<Beer> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Query("select b from Beer b where b.id > :id and (:brand is null or b.brand = :brand) and (:type is null or b.type = :type) "
+            + "and (:lowStock is null or b.quantity <= :lowStock) order by b.id")
+    List<Beer> findFilteredPageAfter(@Param("id") Long id,
+                                     @Param("brand") String brand,
+                                     @Param("type") BeerType type,
+                                     @Param("lowStock") Integer lowStock,
+                                     Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select b from Beer b order by b.id")
+    Stream<Beer> streamAllOrderedById();
+
+    // FINAL TABLE returns the row as the guarded UPDATE left it, so the new quantity costs no second round trip.
+    // Empty when the beer does not exist or the stock check failed.
+    @Transactional
+    @Query(value = "select * from final table (update beer set quantity = quantity + :increment, version = version + 1 "
+            + "where id = :id and quantity + :increment <= max - warehouse_max + warehouse_quantity)", nativeQuery = true)
+    Optional<Beer> incrementQuantity(@Param("id") Long id, @Param("increment") int increment);
+
+    @Transactional
+    @Query(value = "select * from final table (update beer set quantity = quantity - :decrement, version = version + 1 "
+            + "where id = :id and quantity - :decrement >= warehouse_quantity)", nativeQuery = true)
+    Optional<Beer> decrementQuantity(@Param("id") Long id, @Param("decrement") int decrement);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Beer b set b.quantity = b.quantity + :delta, b.warehouseQuantity = b.warehouseQuantity + :delta, "
+            + "b.version = b.version + 1 where b.id = :id")
+    int adjustWarehouseQuantity(@Param("id") Long id, @Param("delta") int delta);
 }
@@ -0,0 +1,12 @@
+package one.digitalinnovation.beerapi.repository;
+
+import one.digitalinnovation.beerapi.dto.StockAdjustmentDTO;
+
+import java.util.List;
+
+public interface BeerStockRepository {
+
+    int[] adjustQuantities(List<StockAdjustmentDTO> adjustments);
+
+    int[] applyQuantityDeltas(List<StockAdjustmentDTO> deltas);
+}
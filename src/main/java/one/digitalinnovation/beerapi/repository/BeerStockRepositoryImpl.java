@@ -0,0 +1,40 @@
+package one.digitalinnovation.beerapi.repository;
+
+import lombok.AllArgsConstructor;
+import one.digitalinnovation.beerapi.dto.StockAdjustmentDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class BeerStockRepositoryImpl implements BeerStockRepository {
+
+    private static final String ADJUST_QUANTITY_SQL =
+            "update beer set quantity = quantity + ?, version = version + 1 "
+                    + "where id = ? and quantity + ? between warehouse_quantity and max - warehouse_max + warehouse_quantity";
+
+    private static final String APPLY_QUANTITY_DELTA_SQL =
+            "update beer set quantity = quantity + ?, version = version + 1 where id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int[] adjustQuantities(List<StockAdjustmentDTO> adjustments) {
+        int[][] updateCounts = jdbcTemplate.batchUpdate(ADJUST_QUANTITY_SQL, adjustments, adjustments.size(), (statement, adjustment) -> {
+            statement.setInt(1, adjustment.getDelta());
+            statement.setLong(2, adjustment.getId());
+            statement.setInt(3, adjustment.getDelta());
+        });
+        return updateCounts.length == 0 ? new int[0] : updateCounts[0];
+    }
+
+    @Override
+    public int[] applyQuantityDeltas(List<StockAdjustmentDTO> deltas) {
+        int[][] updateCounts = jdbcTemplate.batchUpdate(APPLY_QUANTITY_DELTA_SQL, deltas, deltas.size(), (statement, delta) -> {
+            statement.setInt(1, delta.getDelta());
+            statement.setLong(2, delta.getId());
+        });
+        return updateCounts.length == 0 ? new int[0] : updateCounts[0];
+    }
+}
@@ -0,0 +1,30 @@
+package one.digitalinnovation.beerapi.repository;
+
+import one.digitalinnovation.beerapi.entity.WarehouseStock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.LockModeType;
+import java.util.List;
+import java.util.Optional;
+
+public interface WarehouseStockRepository extends JpaRepository<WarehouseStock, Long> {
+
+    List<WarehouseStock> findByBeerIdOrderByWarehouseAsc(Long beerId);
+
+    Optional<WarehouseStock> findByBeerIdAndWarehouse(Long beerId, String warehouse);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from WarehouseStock s where s.beer.id = :beerId and s.warehouse = :warehouse")
+    Optional<WarehouseStock> findByBeerIdAndWarehouseForUpdate(@Param("beerId") Long beerId, @Param("warehouse") String warehouse);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update WarehouseStock s set s.quantity = s.quantity + :delta "
+            + "where s.beer.id = :beerId and s.warehouse = :warehouse and s.quantity + :delta between 0 and s.max")
+    int adjustQuantity(@Param("beerId") Long beerId, @Param("warehouse") String warehouse, @Param("delta") int delta);
+}
@@ -0,0 +1,434 @@
+package one.digitalinnovation.beerapi.search;
+
+import one.digitalinnovation.beerapi.dto.BeerDTO;
+import one.digitalinnovation.beerapi.dto.BeerSearchHitDTO;
+import one.digitalinnovation.beerapi.enums.BeerType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index over beer names and brands, backing {@code GET /api/v1/beer/search}.
+ * <p>
+ * Terms are lower-cased and stripped of accents. Every query term must match a term of the beer, exactly, as a prefix,
+ * or within one edit for terms of {@value #MIN_FUZZY_LENGTH} characters or more. Name matches count twice as much as
+ * brand matches, and ties go to the shorter name. Each term keeps the beers it names and the beers it brands in that
+ * name order, so a query walks the beers matching all of its terms best name first and stops once no later beer could
+ * score higher than those it holds. Misspelt terms are found through an index of the terms with one character deleted,
+ * without walking the dictionary. Writes are serialised; searches never lock.
+ */
+@Component
+@Profile("!reactive")
+public class BeerSearchIndex {
+
+    static final int MIN_FUZZY_LENGTH = 4;
+
+    private static final int EXACT = 3;
+    private static final int PREFIX = 2;
+    private static final int FUZZY = 1;
+    private static final int NAME_WEIGHT = 2;
+    private static final int BRAND_WEIGHT = 1;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern DIGITS = Pattern.compile(".*\\p{N}.*");
+    private static final Comparator<IndexedBeer> BY_NAME = Comparator.<IndexedBeer>comparingInt(beer -> beer.key.length())
+            .thenComparing(beer -> beer.key)
+            .thenComparing(beer -> beer.id);
+    private static final Comparator<Hit> BEST_FIRST = Comparator.<Hit>comparingInt(hit -> -hit.score)
+            .thenComparing(hit -> hit.beer, BY_NAME);
+
+    private final int maxExpansions;
+    private final int maxCandidates;
+    private final Map<Long, IndexedBeer> beers = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<String, Postings> terms = new ConcurrentSkipListMap<>();
+    // one-character deletion -> terms it came from, for terms without digits and at least MIN_FUZZY_LENGTH long
+    private final Map<String, Set<String>> deletions = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+
+    public BeerSearchIndex(@Value("${beer.search.max-expansions:50}") int maxExpansions,
+                           @Value("${beer.search.max-candidates:10000}") int maxCandidates) {
+        this.maxExpansions = maxExpansions;
+        this.maxCandidates = maxCandidates;
+    }
+
+    public void add(BeerDTO beerDTO) {
+        IndexedBeer beer = new IndexedBeer(beerDTO);
+        synchronized (writeLock) {
+            IndexedBeer previous = beers.put(beer.id, beer);
+            if (previous != null) {
+                unindex(previous);
+            }
+            for (String term : beer.nameTerms) {
+                terms.computeIfAbsent(term, this::newPostings).names.add(beer);
+            }
+            for (String term : beer.brandTerms) {
+                terms.computeIfAbsent(term, this::newPostings).brands.add(beer);
+            }
+        }
+    }
+
+    public void remove(Long id) {
+        synchronized (writeLock) {
+            IndexedBeer beer = beers.remove(id);
+            if (beer != null) {
+                unindex(beer);
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (writeLock) {
+            beers.clear();
+            terms.clear();
+            deletions.clear();
+        }
+    }
+
+    public int size() {
+        return beers.size();
+    }
+
+    /**
+     * @return at most {@code limit} beers matching every term of {@code query}, best first
+     */
+    public List<BeerSearchHitDTO> search(String query, int limit) {
+        List<String> queryTerms = tokenize(query);
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        List<Expansion> expansions = queryTerms.stream()
+                .map(this::expand)
+                .sorted(Comparator.comparingLong(expansion -> expansion.size))
+                .collect(Collectors.toList());
+        if (expansions.get(0).postings.isEmpty()) {
+            return Collections.emptyList();
+        }
+        int bestScore = expansions.stream().mapToInt(expansion -> expansion.bound).sum();
+        PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, BEST_FIRST.reversed());
+        // every posting is in name order, so the beers matching all the terms are met in that order too, leaping
+        // over the runs of beers that only some of the terms match
+        IndexedBeer candidate = expansions.get(0).ceiling(null);
+        int steps = 0;
+        while (candidate != null && steps++ < maxCandidates) {
+            IndexedBeer next = candidate;
+            for (Expansion expansion : expansions) {
+                next = expansion.ceiling(candidate);
+                if (next != candidate) {
+                    break;
+                }
+            }
+            if (next != candidate) {
+                candidate = next;
+                continue;
+            }
+            int score = score(candidate, queryTerms);
+            if (score > 0) {
+                best.add(new Hit(candidate, score));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+            // the beers still to come rank after the worst hit, so only a higher score would let them in
+            if (best.size() == limit && best.peek().score >= bestScore) {
+                break;
+            }
+            candidate = expansions.get(0).higher(candidate);
+        }
+        return best.stream()
+                .sorted(BEST_FIRST)
+                .map(Hit::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return Collections.emptyList();
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+        return Stream.of(SEPARATORS.split(folded))
+                .filter(term -> !term.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Optimal string alignment distance of at most one: a single insertion, deletion, substitution or swap of two
+     * neighbouring characters.
+     */
+    static boolean withinOneEdit(String a, String b) {
+        if (Math.abs(a.length() - b.length()) > 1) {
+            return false;
+        }
+        int prefix = 0;
+        int shorter = Math.min(a.length(), b.length());
+        while (prefix < shorter && a.charAt(prefix) == b.charAt(prefix)) {
+            prefix++;
+        }
+        if (a.length() != b.length()) {
+            String longer = a.length() > b.length() ? a : b;
+            String other = longer == a ? b : a;
+            return longer.regionMatches(prefix + 1, other, prefix, other.length() - prefix);
+        }
+        if (prefix == a.length()) {
+            return true;
+        }
+        return a.regionMatches(prefix + 1, b, prefix + 1, a.length() - prefix - 1)
+                || prefix + 1 < a.length()
+                && a.charAt(prefix) == b.charAt(prefix + 1) && a.charAt(prefix + 1) == b.charAt(prefix)
+                && a.regionMatches(prefix + 2, b, prefix + 2, a.length() - prefix - 2);
+    }
+
+    /**
+     * @return the postings of the terms {@code queryTerm} matches
+     */
+    private Expansion expand(String queryTerm) {
+        Expansion expansion = new Expansion();
+        Postings exact = terms.get(queryTerm);
+        if (exact != null) {
+            expansion.add(exact, EXACT);
+        }
+        int prefixes = 0;
+        for (Postings postings : terms.subMap(queryTerm, false, queryTerm + Character.MAX_VALUE, false).values()) {
+            if (prefixes++ == maxExpansions) {
+                break;
+            }
+            expansion.add(postings, PREFIX);
+        }
+        if (queryTerm.length() >= MIN_FUZZY_LENGTH) {
+            for (String term : fuzzyTerms(queryTerm)) {
+                Postings postings = terms.get(term);
+                if (postings != null && !term.startsWith(queryTerm)) {
+                    expansion.add(postings, FUZZY);
+                }
+            }
+        }
+        return expansion;
+    }
+
+    private Set<String> fuzzyTerms(String queryTerm) {
+        Set<String> candidates = new LinkedHashSet<>(deletions.getOrDefault(queryTerm, Collections.emptySet()));
+        for (int i = 0; i < queryTerm.length(); i++) {
+            String deletion = deleteAt(queryTerm, i);
+            if (terms.containsKey(deletion)) {
+                candidates.add(deletion);
+            }
+            candidates.addAll(deletions.getOrDefault(deletion, Collections.emptySet()));
+        }
+        candidates.removeIf(term -> term.equals(queryTerm) || !withinOneEdit(queryTerm, term));
+        return candidates;
+    }
+
+    private int score(IndexedBeer beer, List<String> queryTerms) {
+        int score = 0;
+        for (String queryTerm : queryTerms) {
+            int termScore = Math.max(bestMatch(queryTerm, beer.nameTerms) * NAME_WEIGHT, bestMatch(queryTerm, beer.brandTerms) * BRAND_WEIGHT);
+            if (termScore == 0) {
+                return 0;
+            }
+            score += termScore;
+        }
+        return score;
+    }
+
+    private int bestMatch(String queryTerm, String[] beerTerms) {
+        int best = 0;
+        for (String term : beerTerms) {
+            if (term.equals(queryTerm)) {
+                return EXACT;
+            }
+            if (term.startsWith(queryTerm)) {
+                best = PREFIX;
+            } else if (best == 0 && queryTerm.length() >= MIN_FUZZY_LENGTH && withinOneEdit(queryTerm, term)) {
+                best = FUZZY;
+            }
+        }
+        return best;
+    }
+
+    private Postings newPostings(String term) {
+        if (isFuzzyIndexed(term)) {
+            for (int i = 0; i < term.length(); i++) {
+                deletions.computeIfAbsent(deleteAt(term, i), ignored -> ConcurrentHashMap.newKeySet()).add(term);
+            }
+        }
+        return new Postings();
+    }
+
+    private void unindex(IndexedBeer beer) {
+        for (String term : beer.terms()) {
+            Postings postings = terms.get(term);
+            if (postings != null && postings.remove(beer) && postings.isEmpty()) {
+                terms.remove(term);
+                if (isFuzzyIndexed(term)) {
+                    for (int i = 0; i < term.length(); i++) {
+                        deletions.computeIfPresent(deleteAt(term, i), (deletion, sources) -> {
+                            sources.remove(term);
+                            return sources.isEmpty() ? null : sources;
+                        });
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean isFuzzyIndexed(String term) {
+        return term.length() >= MIN_FUZZY_LENGTH && !DIGITS.matcher(term).matches();
+    }
+
+    private static String deleteAt(String term, int index) {
+        return term.substring(0, index) + term.substring(index + 1);
+    }
+
+    private static final class Posting {
+
+        private final NavigableSet<IndexedBeer> beers = new ConcurrentSkipListSet<>(BY_NAME);
+        // ConcurrentSkipListSet.size() walks the whole set
+        private final AtomicInteger size = new AtomicInteger();
+
+        void add(IndexedBeer beer) {
+            if (beers.add(beer)) {
+                size.incrementAndGet();
+            }
+        }
+
+        boolean remove(IndexedBeer beer) {
+            if (beers.remove(beer)) {
+                size.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        IndexedBeer first() {
+            Iterator<IndexedBeer> iterator = beers.iterator();
+            return iterator.hasNext() ? iterator.next() : null;
+        }
+    }
+
+    private static final class Postings {
+
+        private final Posting names = new Posting();
+        private final Posting brands = new Posting();
+
+        boolean remove(IndexedBeer beer) {
+            return names.remove(beer) | brands.remove(beer);
+        }
+
+        boolean isEmpty() {
+            return names.size.get() == 0 && brands.size.get() == 0;
+        }
+    }
+
+    /**
+     * The postings a query term matches, with the score each of them gives the term.
+     */
+    private static final class Expansion {
+
+        private final List<Posting> postings = new ArrayList<>();
+        private int bound;
+        private long size;
+
+        void add(Postings postings, int match) {
+            add(postings.names, match * NAME_WEIGHT);
+            add(postings.brands, match * BRAND_WEIGHT);
+        }
+
+        private void add(Posting posting, int score) {
+            int postingSize = posting.size.get();
+            if (postingSize > 0) {
+                postings.add(posting);
+                bound = Math.max(bound, score);
+                size += postingSize;
+            }
+        }
+
+        /**
+         * @return the first beer from {@code from} on, or the very first one when {@code from} is null
+         */
+        IndexedBeer ceiling(IndexedBeer from) {
+            IndexedBeer first = null;
+            for (Posting posting : postings) {
+                IndexedBeer beer = from == null ? posting.first() : posting.beers.ceiling(from);
+                if (beer != null && (first == null || BY_NAME.compare(beer, first) < 0)) {
+                    first = beer;
+                }
+            }
+            return first;
+        }
+
+        IndexedBeer higher(IndexedBeer after) {
+            IndexedBeer first = null;
+            for (Posting posting : postings) {
+                IndexedBeer beer = posting.beers.higher(after);
+                if (beer != null && (first == null || BY_NAME.compare(beer, first) < 0)) {
+                    first = beer;
+                }
+            }
+            return first;
+        }
+    }
+
+    private static final class IndexedBeer {
+
+        private final Long id;
+        private final String name;
+        private final String brand;
+        private final BeerType type;
+        private final String key;
+        private final String[] nameTerms;
+        private final String[] brandTerms;
+
+        IndexedBeer(BeerDTO beerDTO) {
+            this.id = beerDTO.getId();
+            this.name = beerDTO.getName();
+            this.brand = beerDTO.getBrand();
+            this.type = beerDTO.getType();
+            List<String> names = tokenize(name);
+            this.key = String.join(" ", names);
+            this.nameTerms = names.toArray(new String[0]);
+            this.brandTerms = tokenize(brand).toArray(new String[0]);
+        }
+
+        Set<String> terms() {
+            Set<String> terms = new LinkedHashSet<>();
+            Collections.addAll(terms, nameTerms);
+            Collections.addAll(terms, brandTerms);
+            return terms;
+        }
+    }
+
+    private static final class Hit {
+
+        private final IndexedBeer beer;
+        private final int score;
+
+        Hit(IndexedBeer beer, int score) {
+            this.beer = beer;
+            this.score = score;
+        }
+
+        BeerSearchHitDTO toDTO() {
+            return new BeerSearchHitDTO(beer.id, beer.name, beer.brand, beer.type, score);
+        }
+    }
+}
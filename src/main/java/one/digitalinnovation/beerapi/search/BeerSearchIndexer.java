@@ -0,0 +1,53 @@
+package one.digitalinnovation.beerapi.search;
+
+import lombok.extern.slf4j.Slf4j;
+import one.digitalinnovation.beerapi.datasource.ReadYourWrites;
+import one.digitalinnovation.beerapi.event.BeerChangedEvent;
+import one.digitalinnovation.beerapi.service.BeerService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps the {@link BeerSearchIndex} in step with the catalog: it is loaded once the application is ready, and then
+ * follows the creations and deletions as they are committed. Stock changes don't touch names or brands, so they are
+ * ignored. The catalog is read from the primary, since a lagging replica would leave out beers whose creation was
+ * committed before the index listened for it. Searches made while the catalog is still loading see part of it.
+ */
+@Slf4j
+@Component
+@Profile("!reactive")
+public class BeerSearchIndexer {
+
+    private final BeerSearchIndex beerSearchIndex;
+    private final BeerService beerService;
+
+    public BeerSearchIndexer(BeerSearchIndex beerSearchIndex, BeerService beerService) {
+        this.beerSearchIndex = beerSearchIndex;
+        this.beerService = beerService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long startedAt = System.nanoTime();
+        beerSearchIndex.clear();
+        ReadYourWrites.onPrimary(() -> beerService.streamAllBeers(beerSearchIndex::add));
+        log.info("Indexed {} beers for search in {} ms", beerSearchIndex.size(), (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBeerChanged(BeerChangedEvent event) {
+        switch (event.getType()) {
+            case CREATED:
+                beerSearchIndex.add(event.getBeer());
+                break;
+            case DELETED:
+                beerSearchIndex.remove(event.getBeer().getId());
+                break;
+            default:
+                break;
+        }
+    }
+}
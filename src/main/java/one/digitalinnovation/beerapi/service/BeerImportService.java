@@ -0,0 +1,205 @@
+package one.digitalinnovation.beerapi.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import one.digitalinnovation.beerapi.cache.BeerCache;
+import one.digitalinnovation.beerapi.dto.BeerDTO;
+import one.digitalinnovation.beerapi.dto.BeerImportRejectDTO;
+import one.digitalinnovation.beerapi.dto.BeerImportReportDTO;
+import one.digitalinnovation.beerapi.entity.Beer;
+import one.digitalinnovation.beerapi.enums.BeerEventType;
+import one.digitalinnovation.beerapi.event.BeerChangedEvent;
+import one.digitalinnovation.beerapi.exception.BeerAlreadyRegisteredException;
+import one.digitalinnovation.beerapi.ledger.StockLedger;
+import one.digitalinnovation.beerapi.mapper.BeerMapper;
+import one.digitalinnovation.beerapi.repository.BeerRepository;
+import one.digitalinnovation.beerapi.sharding.BeerShards;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class BeerImportService {
+
+    private final BeerRepository beerRepository;
+    private final BeerCache beerCache;
+    private final StockLedger stockLedger;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final BeerShards beerShards;
+    private final BeerMapper beerMapper = BeerMapper.INSTANCE;
+    private final int chunkSize;
+    private final int maxReportedRejects;
+
+    public BeerImportService(BeerRepository beerRepository,
+                             BeerCache beerCache,
+                             StockLedger stockLedger,
+                             ApplicationEventPublisher eventPublisher,
+                             ObjectMapper objectMapper,
+                             Validator validator,
+                             TransactionTemplate transactionTemplate,
+                             BeerShards beerShards,
+                             @Value("${beer.import.chunk-size:1000}") int chunkSize,
+                             @Value("${beer.import.max-reported-rejects:1000}") int maxReportedRejects) {
+        this.beerRepository = beerRepository;
+        this.beerCache = beerCache;
+        this.stockLedger = stockLedger;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.beerShards = beerShards;
+        this.chunkSize = chunkSize;
+        this.maxReportedRejects = maxReportedRejects;
+    }
+
+    public BeerImportReportDTO importBeers(InputStream inputStream) throws IOException {
+        beerShards.verifySingleDatabase("Bulk import");
+        long startedAt = System.nanoTime();
+        ImportProgress progress = new ImportProgress();
+        // read-write so it is served by the primary when read replicas are configured
+        Set<String> registeredNames = new HashSet<>(transactionTemplate.execute(status -> beerRepository.findAllNames()));
+        Map<Long, Beer> chunk = new LinkedHashMap<>();
+
+        try (MappingIterator<BeerDTO> rows = objectMapper.readerFor(BeerDTO.class).readValues(inputStream)) {
+            long row = 0;
+            while (true) {
+                BeerDTO beerDTO;
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    row++;
+                    beerDTO = rows.nextValue();
+                } catch (JsonParseException e) {
+                    progress.reject(row, null, "Malformed JSON: " + e.getOriginalMessage());
+                    break;
+                } catch (JsonMappingException e) {
+                    progress.reject(row, null, e.getOriginalMessage());
+                    continue;
+                }
+
+                String rejectReason = validate(beerDTO, registeredNames);
+                if (rejectReason != null) {
+                    progress.reject(row, beerDTO.getName(), rejectReason);
+                    continue;
+                }
+                registeredNames.add(beerDTO.getName());
+                Beer beerToBeSaved = beerMapper.toModel(beerDTO);
+                beerToBeSaved.setId(null);
+                chunk.put(row, beerToBeSaved);
+                if (chunk.size() >= chunkSize) {
+                    persist(chunk, progress);
+                }
+            }
+            persist(chunk, progress);
+            progress.received = row;
+        }
+
+        long elapsedNanos = System.nanoTime() - startedAt;
+        double rowsPerSecond = progress.imported / Math.max(elapsedNanos / 1e9, 1e-9);
+        log.info("Imported {} of {} beers in {} ms ({} rows/s), {} rejected",
+                progress.imported, progress.received, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), Math.round(rowsPerSecond), progress.rejected);
+        return BeerImportReportDTO.builder()
+                .received(progress.received)
+                .imported(progress.imported)
+                .rejected(progress.rejected)
+                .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                .rowsPerSecond(rowsPerSecond)
+                .rejects(progress.rejects)
+                .build();
+    }
+
+    private String validate(BeerDTO beerDTO, Set<String> registeredNames) {
+        Set<ConstraintViolation<BeerDTO>> violations = validator.validate(beerDTO);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        if (registeredNames.contains(beerDTO.getName())) {
+            return new BeerAlreadyRegisteredException(beerDTO.getName()).getMessage();
+        }
+        return null;
+    }
+
+    private void persist(Map<Long, Beer> chunk, ImportProgress progress) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        persistOrSplit(chunk, progress);
+        chunk.clear();
+    }
+
+    /**
+     * Saves {@code rows} in one transaction. When the database refuses it, the rows are split in half and retried,
+     * so only the offending rows are rejected and a single bad row costs about log2(chunk size) extra transactions.
+     */
+    private void persistOrSplit(Map<Long, Beer> rows, ImportProgress progress) {
+        try {
+            List<BeerDTO> importedBeers = transactionTemplate.execute(status -> {
+                beerRepository.saveAll(rows.values());
+                List<BeerDTO> savedBeers = rows.values().stream().map(beerMapper::toDTO).collect(Collectors.toList());
+                // logged in the same transaction, so the change feed never misses an imported beer
+                savedBeers.forEach(importedBeer -> eventPublisher.publishEvent(new BeerChangedEvent(BeerEventType.CREATED, importedBeer)));
+                return savedBeers;
+            });
+            progress.imported += rows.size();
+            importedBeers.forEach(importedBeer -> {
+                beerCache.evict(importedBeer.getName());
+                stockLedger.register(importedBeer);
+            });
+        } catch (DataIntegrityViolationException e) {
+            if (rows.size() == 1) {
+                rows.forEach((row, beer) -> progress.reject(row, beer.getName(), "Rejected by database: " + e.getMostSpecificCause().getMessage()));
+                return;
+            }
+            Map<Long, Beer> firstHalf = new LinkedHashMap<>();
+            Map<Long, Beer> secondHalf = new LinkedHashMap<>();
+            rows.forEach((row, beer) -> {
+                // the rolled back insert already assigned an id
+                beer.setId(null);
+                (firstHalf.size() < rows.size() / 2 ? firstHalf : secondHalf).put(row, beer);
+            });
+            persistOrSplit(firstHalf, progress);
+            persistOrSplit(secondHalf, progress);
+        }
+    }
+
+    private class ImportProgress {
+
+        private long received;
+        private long imported;
+        private long rejected;
+        private final List<BeerImportRejectDTO> rejects = new ArrayList<>();
+
+        private void reject(long row, String name, String reason) {
+            rejected++;
+            if (rejects.size() < maxReportedRejects) {
+                rejects.add(BeerImportRejectDTO.builder().row(row).name(name).reason(reason).build());
+            }
+        }
+    }
+}
@@ -1,84 +1,417 @@
 package one.digitalinnovation.beerapi.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
+import one.digitalinnovation.beerapi.cache.BeerCache;
+import one.digitalinnovation.beerapi.coalescing.StockUpdateCoalescer;
+import one.digitalinnovation.beerapi.coalescing.StockUpdateCoalescer.PendingAdjustment;
 import one.digitalinnovation.beerapi.dto.BeerDTO;
+import one.digitalinnovation.beerapi.dto.StockAdjustmentDTO;
+import one.digitalinnovation.beerapi.dto.StockAdjustmentResultDTO;
+import one.digitalinnovation.beerapi.dto.StockBatchDTO;
+import one.digitalinnovation.beerapi.dto.StockBatchResultDTO;
 import one.digitalinnovation.beerapi.entity.Beer;
+import one.digitalinnovation.beerapi.enums.BeerEventType;
+import one.digitalinnovation.beerapi.enums.BeerType;
+import one.digitalinnovation.beerapi.enums.StockAdjustmentStatus;
+import one.digitalinnovation.beerapi.enums.StockBatchMode;
+import one.digitalinnovation.beerapi.event.BeerChangedEvent;
 import one.digitalinnovation.beerapi.exception.BeerAlreadyRegisteredException;
 import one.digitalinnovation.beerapi.exception.BeerInsufficientStockException;
 import one.digitalinnovation.beerapi.exception.BeerNotFoundException;
 import one.digitalinnovation.beerapi.exception.BeerExceededStockException;
+import one.digitalinnovation.beerapi.exception.ShardingUnsupportedException;
+import one.digitalinnovation.beerapi.ledger.StockLedger;
 import one.digitalinnovation.beerapi.mapper.BeerMapper;
 import one.digitalinnovation.beerapi.repository.BeerRepository;
+import one.digitalinnovation.beerapi.sharding.BeerShards;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static one.digitalinnovation.beerapi.metrics.BeerMetricsConfig.SERVICE_TIMER;
 
 @Service
 @AllArgsConstructor(onConstructor = @__(@Autowired))
 public class BeerService {
 
+    private static final Comparator<BeerDTO> BY_ID = Comparator.comparing(BeerDTO::getId);
+    private static final int SHARDED_STREAM_PAGE_SIZE = 1000;
+
     private final BeerRepository beerRepository;
+    private final EntityManager entityManager;
+    private final BeerCache beerCache;
+    private final StockLedger stockLedger;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockUpdateCoalescer stockUpdateCoalescer;
+    private final BeerShards beerShards;
+    private final TransactionTemplate transactionTemplate;
     private final BeerMapper beerMapper = BeerMapper.INSTANCE;
 
+    @Timed(value = SERVICE_TIMER, extraTags = {"operation", "create"}, histogram = true)
+    @Transactional
     public BeerDTO createBeer(BeerDTO beerDTO) throws BeerAlreadyRegisteredException {
         verifyIfBeerIsAlreadyRegistered(beerDTO.getName());
         Beer beerToBeSaved = beerMapper.toModel(beerDTO);
-        Beer savedBeer = beerRepository.save(beerToBeSaved);
-        return beerMapper.toDTO(savedBeer);
+        Beer savedBeer = beerShards.isEnabled() ? beerShards.insert(beerToBeSaved) : beerRepository.save(beerToBeSaved);
+        beerCache.evict(savedBeer.getName());
+        BeerDTO savedBeerDTO = beerMapper.toDTO(savedBeer);
+        stockLedger.register(savedBeerDTO);
+        return publishChange(BeerEventType.CREATED, savedBeerDTO);
     }
 
+    @Timed(value = SERVICE_TIMER, extraTags = {"operation", "findByName"}, histogram = true)
+    @Transactional(readOnly = true)
     public BeerDTO findBeerByName(String name) throws BeerNotFoundException{
-        Beer foundBeer = beerRepository.findBeerByName(name).orElseThrow(() -> new BeerNotFoundException(name));
-        return beerMapper.toDTO(foundBeer);
+        return stockLedger.withCurrentQuantity(beerCache.findByName(name, this::loadBeerByName));
     }
 
+    @Timed(value = SERVICE_TIMER, extraTags = {"operation", "listAll"}, histogram = true)
+    @Transactional(readOnly = true)
     public List<BeerDTO> listAllBeers() {
-        List<Beer> foundBeers = beerRepository.findAll();
-        return foundBeers.stream().map(beerMapper::toDTO).collect(Collectors.toList());
+        return beerShards.gather(() -> toCurrentDTOs(beerRepository.findAll()), BY_ID);
+    }
+
+    @Timed(value = SERVICE_TIMER, extraTags = {"operation", "search"}, histogram = true)
+    @Transactional(readOnly = true)
+    public List<BeerDTO> searchBeers(String brand, BeerType type, Integer lowStock) {
+        return beerShards.gather(() -> toCurrentDTOs(findBeers(brand, type, lowStock)), BY_ID).stream()
+                .filter(beerDTO -> lowStock == null || beerDTO.getQuantity() <= lowStock)
+                .collect(Collectors.toList());
+    }
+
+    private List<Beer> findBeers(String brand, BeerType type, Integer lowStock) {
+        if (brand != null) {
+            return type == null ? beerRepository.findByBrand(brand) : beerRepository.findByBrandAndType(brand, type);
+        } else if (type != null) {
+            return lowStock == null ? beerRepository.findByType(type) : beerRepository.findByTypeAndQuantityLessThanEqual(type, lowStock);
+        } else if (lowStock != null) {
+            return beerRepository.findByQuantityLessThanEqual(lowStock);
+        }
+        return beerRepository.findAll();
+    }
+
+    @Transactional(readOnly = true)
+    public List<BeerDTO> listBeersAfter(Long after, int limit) {
+        return listBeersAfter(after, limit, null, null, null);
+    }
+
+    @Transactional(readOnly = true)
+    public List<BeerDTO> listBeersAfter(Long after, int limit, String brand, BeerType type, Integer lowStock) {
+        long cursor = after == null ? 0L : after;
+        PageRequest page = PageRequest.of(0, limit);
+        List<BeerDTO> foundBeers = beerShards.gather(() -> toCurrentDTOs(brand == null && type == null && lowStock == null
+                ? beerRepository.findByIdGreaterThanOrderByIdAsc(cursor, page)
+                : beerRepository.findFilteredPageAfter(cursor, brand, type, lowStock, page)), BY_ID);
+        return foundBeers.size() > limit ? foundBeers.subList(0, limit) : foundBeers;
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAllBeers(Consumer<BeerDTO> consumer) {
+        if (beerShards.isEnabled()) {
+            // a keyset walk over the merged shard pages keeps the stream in id order without holding every shard open
+            List<BeerDTO> page = listBeersAfter(null, SHARDED_STREAM_PAGE_SIZE);
+            while (!page.isEmpty()) {
+                page.forEach(consumer);
+                page = page.size() < SHARDED_STREAM_PAGE_SIZE ? Collections.emptyList()
+                        : listBeersAfter(page.get(page.size() - 1).getId(), SHARDED_STREAM_PAGE_SIZE);
+            }
+            return;
+        }
+        try (Stream<Beer> foundBeers = beerRepository.streamAllOrderedById()) {
+            foundBeers.forEach(beer -> {
+                consumer.accept(toCurrentDTO(beer));
+                entityManager.detach(beer);
+            });
+        }
     }
 
+    @Timed(value = SERVICE_TIMER, extraTags = {"operation", "delete"}, histogram = true)
+    @Transactional
     public void deleteBeerById(Long id) throws BeerNotFoundException{
-        returnBeerIfExist(id);
+        beerShards.pinTransactionFor(id);
+        Beer beerToBeDeleted = returnBeerIfExist(id);
         beerRepository.deleteById(id);
+        beerShards.unindex(beerToBeDeleted.getName());
+        beerCache.evict(beerToBeDeleted.getName());
+        stockLedger.remove(id);
+        publishChange(BeerEventType.DELETED, beerMapper.toDTO(beerToBeDeleted));
     }
 
+    @Timed(value = SERVICE_TIMER, extraTags = {"operation", "increment"}, histogram = true)
     public BeerDTO incrementBeer(Long id, int increment) throws BeerNotFoundException, BeerExceededStockException {
+        if (stockUpdateCoalescer.isEnabled() && !stockLedger.isEnabled()) {
+            return stockUpdateCoalescer.increment(id, increment, this::writeCoalescedAdjustments);
+        }
+        return inTransaction(() -> {
+            beerShards.pinTransactionFor(id);
+            if (stockLedger.isEnabled()) {
+                Optional<BeerDTO> incrementedBeer = stockLedger.adjust(id, increment);
+                if (!incrementedBeer.isPresent()) {
+                    throw new BeerExceededStockException(returnLedgerBeerIfExist(id), increment);
+                }
+                stockLedger.revertOnRollback(id, increment);
+                return publishLedgerChange(BeerEventType.INCREMENTED, incrementedBeer.get());
+            }
+            Beer incrementedBeer = beerRepository.incrementQuantity(id, increment).orElse(null);
+            if (incrementedBeer == null) {
+                throw new BeerExceededStockException(returnBeerIfExist(id), increment);
+            }
+            return publishChange(BeerEventType.INCREMENTED, beerMapper.toDTO(evictCached(incrementedBeer)));
+        });
+    }
+
+    @Transactional
+    public StockBatchResultDTO adjustStock(StockBatchDTO stockBatchDTO) {
+        if (stockLedger.isEnabled()) {
+            return adjustLedgerStock(stockBatchDTO);
+        }
+        List<StockAdjustmentDTO> adjustments = stockBatchDTO.getItems();
+        if (beerShards.isEnabled()) {
+            Set<Integer> shards = adjustments.stream().map(adjustment -> beerShards.shardOf(adjustment.getId())).collect(Collectors.toSet());
+            if (shards.size() > 1) {
+                throw new ShardingUnsupportedException("A stock batch spanning several shards");
+            }
+            shards.forEach(beerShards::pinTransaction);
+        }
+        int[] updateCounts = beerRepository.adjustQuantities(adjustments);
+        boolean committed = stockBatchDTO.getMode() == StockBatchMode.PARTIAL
+                || Arrays.stream(updateCounts).allMatch(updateCount -> updateCount > 0);
+
+        Set<Long> adjustedIds = adjustments.stream().map(StockAdjustmentDTO::getId).collect(Collectors.toSet());
+        Map<Long, Beer> adjustedBeers = beerRepository.findAllById(adjustedIds).stream()
+                .map(this::evictCached)
+                .collect(Collectors.toMap(Beer::getId, Function.identity()));
+
+        List<StockAdjustmentResultDTO> results = new ArrayList<>(adjustments.size());
+        for (int i = 0; i < adjustments.size(); i++) {
+            Beer adjustedBeer = adjustedBeers.get(adjustments.get(i).getId());
+            results.add(toAdjustmentResult(adjustments.get(i), adjustedBeer, updateCounts[i] > 0, committed));
+            if (committed && updateCounts[i] > 0) {
+                publishAdjustment(adjustments.get(i), beerMapper.toDTO(adjustedBeer));
+            }
+        }
+        if (!committed) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+        }
+        return StockBatchResultDTO.builder()
+                .mode(stockBatchDTO.getMode())
+                .committed(committed)
+                .items(results)
+                .build();
+    }
+
+    private StockBatchResultDTO adjustLedgerStock(StockBatchDTO stockBatchDTO) {
+        List<StockAdjustmentDTO> adjustments = stockBatchDTO.getItems();
+        List<Optional<BeerDTO>> adjustedBeers = new ArrayList<>(adjustments.size());
+        for (StockAdjustmentDTO adjustment : adjustments) {
+            adjustedBeers.add(stockLedger.adjust(adjustment.getId(), adjustment.getDelta()));
+        }
+        boolean committed = stockBatchDTO.getMode() == StockBatchMode.PARTIAL
+                || adjustedBeers.stream().allMatch(Optional::isPresent);
 
-        Beer beerToBeIncremented = returnBeerIfExist(id);
-        int quantityAfterIncrement = beerToBeIncremented.getQuantity() + increment;
+        if (!committed) {
+            for (int i = adjustments.size() - 1; i >= 0; i--) {
+                if (adjustedBeers.get(i).isPresent()) {
+                    stockLedger.revert(adjustments.get(i).getId(), adjustments.get(i).getDelta());
+                }
+            }
+        }
 
-        if(quantityAfterIncrement <= beerToBeIncremented.getMax()){
-            beerToBeIncremented.setQuantity(quantityAfterIncrement);
-            return beerMapper.toDTO(beerRepository.save(beerToBeIncremented));
+        List<StockAdjustmentResultDTO> results = new ArrayList<>(adjustments.size());
+        for (int i = 0; i < adjustments.size(); i++) {
+            StockAdjustmentDTO adjustment = adjustments.get(i);
+            boolean applied = adjustedBeers.get(i).isPresent();
+            Optional<BeerDTO> beer = applied ? adjustedBeers.get(i) : stockLedger.find(adjustment.getId());
+            results.add(toAdjustmentResult(adjustment, beer.map(beerMapper::toModel).orElse(null), applied, committed));
+            if (committed && applied) {
+                stockLedger.revertOnRollback(adjustment.getId(), adjustment.getDelta());
+                publishLedgerChange(adjustment.getDelta() < 0 ? BeerEventType.DECREMENTED : BeerEventType.INCREMENTED, beer.get());
+            }
         }
+        return StockBatchResultDTO.builder()
+                .mode(stockBatchDTO.getMode())
+                .committed(committed)
+                .items(results)
+                .build();
+    }
 
-        throw new BeerExceededStockException(beerToBeIncremented, increment);
+    /**
+     * Only the batch leader calls this, so the callers waiting on the batch hold no transaction and no connection.
+     */
+    private void writeCoalescedAdjustments(Long id, List<PendingAdjustment> adjustments) throws BeerNotFoundException {
+        this.<RuntimeException>inTransaction(() -> {
+            applyCoalescedAdjustments(id, adjustments);
+            return null;
+        });
+    }
+
+    private void applyCoalescedAdjustments(Long id, List<PendingAdjustment> adjustments) throws BeerNotFoundException {
+        Beer beer = beerRepository.findByIdForUpdate(id).orElseThrow(() -> new BeerNotFoundException(id));
+        List<PendingAdjustment> applied = new ArrayList<>(adjustments.size());
+        List<Integer> quantities = new ArrayList<>(adjustments.size());
+        for (PendingAdjustment adjustment : adjustments) {
+            int quantity = beer.getQuantity() + adjustment.getDelta();
+            if (quantity > beer.getMax() - beer.getWarehouseMax() + beer.getWarehouseQuantity()) {
+                adjustment.reject(new BeerExceededStockException(beer, adjustment.getDelta()));
+            } else if (quantity < beer.getWarehouseQuantity()) {
+                adjustment.reject(new BeerInsufficientStockException(beer, -adjustment.getDelta()));
+            } else {
+                beer.setQuantity(quantity);
+                applied.add(adjustment);
+                quantities.add(quantity);
+            }
+        }
+        entityManager.flush();
+        BeerDTO adjustedBeer = beerMapper.toDTO(evictCached(beer));
+        for (int i = 0; i < applied.size(); i++) {
+            PendingAdjustment adjustment = applied.get(i);
+            BeerDTO beerDTO = adjustedBeer.toBuilder().quantity(quantities.get(i)).build();
+            adjustment.accept(publishChange(adjustment.getDelta() < 0 ? BeerEventType.DECREMENTED : BeerEventType.INCREMENTED, beerDTO));
+        }
+    }
+
+    /**
+     * Runs {@code change} in a transaction that, like {@code @Transactional}, still commits when it throws a checked
+     * exception.
+     */
+    @SuppressWarnings("unchecked")
+    private <E extends Exception> BeerDTO inTransaction(StockChange<E> change) throws BeerNotFoundException, E {
+        Exception[] rejection = new Exception[1];
+        BeerDTO changedBeer = transactionTemplate.execute(status -> {
+            try {
+                return change.apply();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                rejection[0] = e;
+                return null;
+            }
+        });
+        if (rejection[0] instanceof BeerNotFoundException) {
+            throw (BeerNotFoundException) rejection[0];
+        }
+        if (rejection[0] != null) {
+            throw (E) rejection[0];
+        }
+        return changedBeer;
+    }
+
+    @FunctionalInterface
+    private interface StockChange<E extends Exception> {
+
+        BeerDTO apply() throws BeerNotFoundException, E;
+    }
+
+    private StockAdjustmentResultDTO toAdjustmentResult(StockAdjustmentDTO adjustment, Beer beer, boolean applied, boolean committed) {
+        StockAdjustmentResultDTO.StockAdjustmentResultDTOBuilder result = StockAdjustmentResultDTO.builder()
+                .id(adjustment.getId())
+                .delta(adjustment.getDelta());
+        if (beer == null) {
+            return result.status(StockAdjustmentStatus.NOT_FOUND)
+                    .message(new BeerNotFoundException(adjustment.getId()).getMessage())
+                    .build();
+        }
+        if (applied) {
+            return committed
+                    ? result.status(StockAdjustmentStatus.APPLIED).quantity(beer.getQuantity()).build()
+                    : result.status(StockAdjustmentStatus.ROLLED_BACK).build();
+        }
+        if (adjustment.getDelta() > 0) {
+            return result.status(StockAdjustmentStatus.EXCEEDED_STOCK)
+                    .message(new BeerExceededStockException(beer, adjustment.getDelta()).getMessage())
+                    .build();
+        }
+        return result.status(StockAdjustmentStatus.INSUFFICIENT_STOCK)
+                .message(new BeerInsufficientStockException(beer, -adjustment.getDelta()).getMessage())
+                .build();
     }
 
     private void verifyIfBeerIsAlreadyRegistered(String beerName) throws BeerAlreadyRegisteredException {
-        Optional<Beer> savedBeer = beerRepository.findBeerByName(beerName);
+        Optional<BeerDTO> savedBeer = loadBeerByName(beerName);
         if(savedBeer.isPresent()){
             throw new BeerAlreadyRegisteredException(beerName);
         }
     }
 
+    private Optional<BeerDTO> loadBeerByName(String name) {
+        return beerShards.findByName(name, () -> beerRepository.findBeerByName(name).map(beerMapper::toDTO));
+    }
+
     private Beer returnBeerIfExist(Long id) throws BeerNotFoundException {
         return beerRepository.findById(id).orElseThrow(() -> new BeerNotFoundException(id));
     }
 
+    private Beer returnLedgerBeerIfExist(Long id) throws BeerNotFoundException {
+        return stockLedger.find(id).map(beerMapper::toModel).orElseThrow(() -> new BeerNotFoundException(id));
+    }
 
-    public BeerDTO decrementBeer(Long id, int decrement) throws BeerNotFoundException, BeerInsufficientStockException {
-        Beer beerToBeDecremented = returnBeerIfExist(id);
-        int quantityAfterIncrement = beerToBeDecremented.getQuantity() - decrement;
+    private BeerDTO toCurrentDTO(Beer beer) {
+        return stockLedger.withCurrentQuantity(beerMapper.toDTO(beer));
+    }
 
-        if(quantityAfterIncrement >= 0){
-            beerToBeDecremented.setQuantity(quantityAfterIncrement);
-            return beerMapper.toDTO(beerRepository.save(beerToBeDecremented));
-        }
+    private List<BeerDTO> toCurrentDTOs(List<Beer> beers) {
+        return beers.stream().map(this::toCurrentDTO).collect(Collectors.toList());
+    }
+
+    private void publishAdjustment(StockAdjustmentDTO adjustment, BeerDTO adjustedBeer) {
+        publishChange(adjustment.getDelta() < 0 ? BeerEventType.DECREMENTED : BeerEventType.INCREMENTED, adjustedBeer);
+    }
+
+    private BeerDTO publishChange(BeerEventType type, BeerDTO changedBeer) {
+        eventPublisher.publishEvent(new BeerChangedEvent(type, changedBeer));
+        return changedBeer;
+    }
 
-        throw new BeerInsufficientStockException(beerToBeDecremented, decrement);
+    private BeerDTO publishLedgerChange(BeerEventType type, BeerDTO changedBeer) {
+        eventPublisher.publishEvent(new BeerChangedEvent(type, changedBeer, true));
+        return changedBeer;
+    }
+
+    private Beer evictCached(Beer changedBeer) {
+        beerCache.evict(changedBeer.getName());
+        return changedBeer;
+    }
+
+
+    @Timed(value = SERVICE_TIMER, extraTags = {"operation", "decrement"}, histogram = true)
+    public BeerDTO decrementBeer(Long id, int decrement) throws BeerNotFoundException, BeerInsufficientStockException {
+        if (stockUpdateCoalescer.isEnabled() && !stockLedger.isEnabled()) {
+            return stockUpdateCoalescer.decrement(id, decrement, this::writeCoalescedAdjustments);
+        }
+        return inTransaction(() -> {
+            beerShards.pinTransactionFor(id);
+            if (stockLedger.isEnabled()) {
+                Optional<BeerDTO> decrementedBeer = stockLedger.adjust(id, -decrement);
+                if (!decrementedBeer.isPresent()) {
+                    throw new BeerInsufficientStockException(returnLedgerBeerIfExist(id), decrement);
+                }
+                stockLedger.revertOnRollback(id, -decrement);
+                return publishLedgerChange(BeerEventType.DECREMENTED, decrementedBeer.get());
+            }
+            Beer decrementedBeer = beerRepository.decrementQuantity(id, decrement).orElse(null);
+            if (decrementedBeer == null) {
+                throw new BeerInsufficientStockException(returnBeerIfExist(id), decrement);
+            }
+            return publishChange(BeerEventType.DECREMENTED, beerMapper.toDTO(evictCached(decrementedBeer)));
+        });
     }
 }
@@ -0,0 +1,214 @@
+package one.digitalinnovation.beerapi.sharding;
+
+import one.digitalinnovation.beerapi.dto.BeerDTO;
+import one.digitalinnovation.beerapi.entity.Beer;
+import one.digitalinnovation.beerapi.exception.ShardingUnsupportedException;
+import org.hibernate.ReplicationMode;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Hash partitioning of the catalog across the databases in {@code beer.sharding.urls}, used when
+ * {@code beer.sharding.enabled=true}. A beer lives on the shard its id hashes to, ids are allocated from shard 0's
+ * {@code beer_sequence} so they stay unique across shards, and whole-catalog reads are run on every shard in parallel
+ * and merged by id. When sharding is off every method runs its action directly against the single database.
+ */
+@Component
+public class BeerShards {
+
+    private static final Object SHARD_RESOURCE_KEY = BeerShards.class.getName() + ".shard";
+
+    private final DataSource dataSource;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate newTransaction;
+    private final boolean enabled;
+    private final int shardCount;
+    private final ExecutorService scatterExecutor;
+    // name -> shard hints for findBeerByName; a miss or a stale entry falls back to asking every shard
+    private final Map<String, Integer> nameIndex = new ConcurrentHashMap<>();
+
+    public BeerShards(DataSource dataSource,
+                      EntityManager entityManager,
+                      PlatformTransactionManager transactionManager,
+                      @Value("${beer.sharding.enabled:false}") boolean enabled,
+                      @Value("${beer.sharding.urls:}") List<String> shardUrls) {
+        this.dataSource = dataSource;
+        this.entityManager = entityManager;
+        // a shard query must never join the caller's transaction, which may belong to another shard
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.shardCount = enabled ? shardUrls.size() : 1;
+        this.scatterExecutor = enabled ? Executors.newFixedThreadPool(shardCount, runnable -> {
+            Thread thread = new Thread(runnable, "beer-shard-scatter");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public int shardOf(Long id) {
+        // murmur3 finalizer, so neighbouring ids from one allocation block still spread over all shards
+        long hash = id;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return (int) Math.floorMod(hash, (long) shardCount);
+    }
+
+    /**
+     * Binds the current transaction to {@code shard}. Connections are only chosen when first used, and with JPA that
+     * can be the flush at commit, so the connection is acquired right here while the shard is known.
+     */
+    public void pinTransaction(int shard) {
+        if (!enabled) {
+            return;
+        }
+        Integer pinned = (Integer) TransactionSynchronizationManager.getResource(SHARD_RESOURCE_KEY);
+        if (pinned != null) {
+            if (pinned != shard) {
+                throw new IllegalStateException(String.format("Transaction is bound to shard %d, not %d", pinned, shard));
+            }
+            return;
+        }
+        ShardContext.callOn(shard, () -> {
+            Connection connection = DataSourceUtils.getConnection(dataSource);
+            try {
+                ((ConnectionProxy) connection).getTargetConnection();
+            } finally {
+                DataSourceUtils.releaseConnection(connection, dataSource);
+            }
+            return null;
+        });
+        TransactionSynchronizationManager.bindResource(SHARD_RESOURCE_KEY, shard);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(SHARD_RESOURCE_KEY);
+            }
+        });
+    }
+
+    public void pinTransactionFor(Long id) {
+        pinTransaction(shardOf(id));
+    }
+
+    /**
+     * Inserts a new beer on the shard of a freshly allocated id, inside the current transaction.
+     */
+    public Beer insert(Beer beer) {
+        beer.setId(allocateId());
+        pinTransactionFor(beer.getId());
+        entityManager.unwrap(Session.class).replicate(beer, ReplicationMode.EXCEPTION);
+        nameIndex.put(beer.getName(), shardOf(beer.getId()));
+        return beer;
+    }
+
+    public void unindex(String name) {
+        nameIndex.remove(name);
+    }
+
+    /**
+     * Looks a beer up by name on the shard the index points to, then on every shard if that misses.
+     */
+    public Optional<BeerDTO> findByName(String name, Supplier<Optional<BeerDTO>> lookup) {
+        if (!enabled) {
+            return lookup.get();
+        }
+        Integer hint = nameIndex.get(name);
+        if (hint != null) {
+            Optional<BeerDTO> beer = onShard(hint, lookup);
+            if (beer.isPresent()) {
+                return beer;
+            }
+            nameIndex.remove(name, hint);
+        }
+        Optional<BeerDTO> beer = gather(() -> lookup.get().map(Collections::singletonList).orElse(Collections.emptyList()),
+                Comparator.comparing(BeerDTO::getId)).stream().findFirst();
+        beer.ifPresent(found -> nameIndex.put(name, shardOf(found.getId())));
+        return beer;
+    }
+
+    /**
+     * Runs {@code query} in a read-only transaction on every shard in parallel and merges the results in
+     * {@code order}. Without sharding the query runs once, on the calling thread and in its transaction.
+     */
+    public <T> List<T> gather(Supplier<List<T>> query, Comparator<? super T> order) {
+        if (!enabled) {
+            return query.get();
+        }
+        List<CompletableFuture<List<T>>> results = IntStream.range(0, shardCount)
+                .mapToObj(shard -> CompletableFuture.supplyAsync(() -> onShard(shard, query), scatterExecutor))
+                .collect(Collectors.toList());
+        List<T> merged = new ArrayList<>();
+        for (CompletableFuture<List<T>> result : results) {
+            merged.addAll(result.join());
+        }
+        merged.sort(order);
+        return merged;
+    }
+
+    public void verifySingleDatabase(String feature) {
+        if (enabled) {
+            throw new ShardingUnsupportedException(feature);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scatterExecutor != null) {
+            scatterExecutor.shutdownNow();
+        }
+    }
+
+    private <T> T onShard(int shard, Supplier<T> query) {
+        return ShardContext.callOn(shard, () -> readOnlyTransaction.execute(status -> query.get()));
+    }
+
+    private Long allocateId() {
+        return ShardContext.callOn(0, () -> newTransaction.execute(status -> {
+            SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+            return (Long) session.getFactory().getIdentifierGenerator(Beer.class.getName()).generate(session, null);
+        }));
+    }
+}
@@ -0,0 +1,45 @@
+package one.digitalinnovation.beerapi.sharding;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.tool.hbm2ddl.SchemaExport;
+import org.hibernate.tool.hbm2ddl.SchemaUpdate;
+import org.hibernate.tool.schema.TargetType;
+
+import java.util.EnumSet;
+
+/**
+ * Hibernate only manages the schema of the database it connects to at startup, shard 0. This applies the same
+ * {@code ddl-auto} action to the other shards.
+ */
+class ShardSchemaIntegrator implements Integrator {
+
+    private final int shardCount;
+
+    ShardSchemaIntegrator(int shardCount) {
+        this.shardCount = shardCount;
+    }
+
+    @Override
+    public void integrate(Metadata metadata, SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        Object action = serviceRegistry.getService(ConfigurationService.class).getSettings().get(AvailableSettings.HBM2DDL_AUTO);
+        for (int shard = 1; shard < shardCount; shard++) {
+            ShardContext.callOn(shard, () -> {
+                if ("create".equals(action) || "create-drop".equals(action)) {
+                    new SchemaExport().create(EnumSet.of(TargetType.DATABASE), metadata);
+                } else if ("update".equals(action)) {
+                    new SchemaUpdate().execute(EnumSet.of(TargetType.DATABASE), metadata);
+                }
+                return null;
+            });
+        }
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+}
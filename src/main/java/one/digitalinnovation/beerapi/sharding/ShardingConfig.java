@@ -0,0 +1,76 @@
+package one.digitalinnovation.beerapi.sharding;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Replaces the auto-configured {@link DataSource} with one routing across the databases in {@code beer.sharding.urls}
+ * when {@code beer.sharding.enabled=true}. The shards share the credentials of {@code spring.datasource.*}.
+ */
+@Configuration
+@Profile("!reactive")
+@ConditionalOnProperty(name = "beer.sharding.enabled", havingValue = "true")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ShardingConfig {
+
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                         @Value("${beer.sharding.urls}") List<String> shardUrls,
+                                                         @Value("${beer.datasource.replicas.enabled:false}") boolean replicasEnabled,
+                                                         @Value("${beer.stock.ledger.enabled:false}") boolean ledgerEnabled,
+                                                         @Value("${beer.stock.coalescing.enabled:false}") boolean coalescingEnabled) {
+        // each of these keeps state or batches writes for the whole catalog in one place
+        verifyNotCombined(replicasEnabled, "beer.datasource.replicas.enabled");
+        verifyNotCombined(ledgerEnabled, "beer.stock.ledger.enabled");
+        verifyNotCombined(coalescingEnabled, "beer.stock.coalescing.enabled");
+        List<DataSource> shards = shardUrls.stream()
+                .map(url -> DataSourceBuilder.create(dataSourceProperties.getClassLoader())
+                        .type(dataSourceProperties.getType())
+                        .url(url)
+                        .username(dataSourceProperties.determineUsername())
+                        .password(dataSourceProperties.determinePassword())
+                        .build())
+                .collect(Collectors.toList());
+        return new ShardRoutingDataSource(shards);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer shardHibernateProperties(ShardRoutingDataSource shardRoutingDataSource) {
+        return hibernateProperties -> {
+            // every transaction picks its shard, so the session must not keep a connection across transactions
+            hibernateProperties.put(AvailableSettings.CONNECTION_HANDLING,
+                    PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+            hibernateProperties.put("hibernate.integrator_provider", (IntegratorProvider) () ->
+                    Collections.singletonList(new ShardSchemaIntegrator(shardRoutingDataSource.getShardCount())));
+        };
+    }
+
+    private static void verifyNotCombined(boolean enabled, String property) {
+        if (enabled) {
+            throw new IllegalStateException("beer.sharding.enabled and " + property + " can't be used together");
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package one.digitalinnovation.beerapi.snapshot;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+
+/**
+ * {@code POST /actuator/beersnapshot/export} and {@code POST /actuator/beersnapshot/import} with a JSON body of
+ * {@code {"file": "<name>", "warmCache": true}}. Files are plain names resolved inside {@code beer.snapshot.directory}.
+ */
+@Component
+@Endpoint(id = "beersnapshot")
+public class BeerSnapshotEndpoint {
+
+    private final BeerSnapshotService beerSnapshotService;
+    private final Path directory;
+
+    public BeerSnapshotEndpoint(BeerSnapshotService beerSnapshotService,
+                                @Value("${beer.snapshot.directory:snapshots}") Path directory) {
+        this.beerSnapshotService = beerSnapshotService;
+        this.directory = directory.toAbsolutePath().normalize();
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Object> snapshot(@Selector String action, String file, @Nullable Boolean warmCache) throws IOException {
+        if (!isPlainFileName(file)) {
+            return error(WebEndpointResponse.STATUS_BAD_REQUEST, "Snapshot file must be a plain file name");
+        }
+        Path snapshotFile = directory.resolve(file);
+        try {
+            switch (action) {
+                case "export":
+                    Files.createDirectories(directory);
+                    return new WebEndpointResponse<>(beerSnapshotService.exportSnapshot(snapshotFile));
+                case "import":
+                    return new WebEndpointResponse<>(beerSnapshotService.importSnapshot(snapshotFile, Boolean.TRUE.equals(warmCache)));
+                default:
+                    return error(WebEndpointResponse.STATUS_NOT_FOUND, "Unknown snapshot action " + action);
+            }
+        } catch (NoSuchFileException e) {
+            return error(WebEndpointResponse.STATUS_NOT_FOUND, "Snapshot " + file + " does not exist");
+        } catch (IllegalArgumentException e) {
+            return error(WebEndpointResponse.STATUS_BAD_REQUEST, e.getMessage());
+        } catch (IllegalStateException e) {
+            return error(409, e.getMessage());
+        }
+    }
+
+    private static boolean isPlainFileName(String file) {
+        if (file == null || file.isEmpty() || file.equals(".") || file.equals("..")) {
+            return false;
+        }
+        Path path = Paths.get(file);
+        return path.getNameCount() == 1 && !path.isAbsolute();
+    }
+
+    private static WebEndpointResponse<Object> error(int status, String message) {
+        return new WebEndpointResponse<>(Collections.singletonMap("message", message), status);
+    }
+}
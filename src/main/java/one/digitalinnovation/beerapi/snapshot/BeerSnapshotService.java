@@ -0,0 +1,414 @@
+package one.digitalinnovation.beerapi.snapshot;
+
+import lombok.extern.slf4j.Slf4j;
+import one.digitalinnovation.beerapi.cache.BeerCache;
+import one.digitalinnovation.beerapi.cache.BeerCatalogVersion;
+import one.digitalinnovation.beerapi.changelog.BeerChangeLog;
+import one.digitalinnovation.beerapi.dto.BeerDTO;
+import one.digitalinnovation.beerapi.dto.BeerSnapshotReportDTO;
+import one.digitalinnovation.beerapi.entity.Beer;
+import one.digitalinnovation.beerapi.enums.BeerEventType;
+import one.digitalinnovation.beerapi.enums.BeerType;
+import one.digitalinnovation.beerapi.event.BeerChangedEvent;
+import one.digitalinnovation.beerapi.ledger.StockLedger;
+import one.digitalinnovation.beerapi.repository.BeerRepository;
+import one.digitalinnovation.beerapi.search.BeerSearchIndexer;
+import one.digitalinnovation.beerapi.service.BeerService;
+import one.digitalinnovation.beerapi.sharding.BeerShards;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Dumps the catalog to a fixed-layout binary snapshot and restores it through a memory-mapped read.
+ * <p>
+ * A snapshot is a 32-byte header, one 40-byte record per beer in id order, and a heap holding the UTF-8
+ * names and brands the records point into. Every brand is stored once. All numbers are little-endian.
+ * <pre>
+ * header: magic int, format int, count int, reserved int, heap offset long, heap length long
+ * record: id long, version long, max int, quantity int, name offset int, brand offset int,
+ *         name length short, brand length short, type ordinal byte, 3 bytes padding
+ * </pre>
+ */
+@Slf4j
+@Service
+public class BeerSnapshotService {
+
+    static final int MAGIC = 0x42454552;
+    static final int FORMAT = 1;
+    static final int HEADER_SIZE = 32;
+    static final int RECORD_SIZE = 40;
+
+    // matches the allocationSize of Beer's beer_sequence generator
+    private static final int SEQUENCE_ALLOCATION_SIZE = 50;
+    private static final int WRITE_BUFFER_RECORDS = 4096;
+    private static final BeerType[] TYPES = BeerType.values();
+    private static final String INSERT_SQL =
+            "insert into beer (id, name, brand, max, quantity, type, version, warehouse_quantity, warehouse_max) "
+                    + "values (?, ?, ?, ?, ?, ?, ?, 0, 0)";
+
+    private final BeerService beerService;
+    private final BeerRepository beerRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final BeerCache beerCache;
+    private final BeerCatalogVersion beerCatalogVersion;
+    private final StockLedger stockLedger;
+    private final BeerShards beerShards;
+    private final ObjectProvider<BeerSearchIndexer> beerSearchIndexer;
+    private final ObjectProvider<BeerChangeLog> beerChangeLog;
+    private final int batchSize;
+
+    public BeerSnapshotService(BeerService beerService,
+                               BeerRepository beerRepository,
+                               JdbcTemplate jdbcTemplate,
+                               TransactionTemplate transactionTemplate,
+                               EntityManager entityManager,
+                               BeerCache beerCache,
+                               BeerCatalogVersion beerCatalogVersion,
+                               StockLedger stockLedger,
+                               BeerShards beerShards,
+                               ObjectProvider<BeerSearchIndexer> beerSearchIndexer,
+                               ObjectProvider<BeerChangeLog> beerChangeLog,
+                               @Value("${beer.snapshot.batch-size:5000}") int batchSize) {
+        this.beerService = beerService;
+        this.beerRepository = beerRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.beerCache = beerCache;
+        this.beerCatalogVersion = beerCatalogVersion;
+        this.stockLedger = stockLedger;
+        this.beerShards = beerShards;
+        this.beerSearchIndexer = beerSearchIndexer;
+        this.beerChangeLog = beerChangeLog;
+        this.batchSize = batchSize;
+    }
+
+    public BeerSnapshotReportDTO exportSnapshot(Path file) throws IOException {
+        long startedAt = System.nanoTime();
+        Path heapFile = Files.createTempFile(file.toAbsolutePath().getParent(), "beer-snapshot", ".heap");
+        Path recordsFile = Files.createTempFile(file.toAbsolutePath().getParent(), "beer-snapshot", ".tmp");
+        try (FileChannel records = FileChannel.open(recordsFile, StandardOpenOption.WRITE);
+             FileChannel heap = FileChannel.open(heapFile, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            SnapshotWriter writer = new SnapshotWriter(records, heap);
+            beerService.streamAllBeers(writer::write);
+            writer.finish();
+            heap.transferTo(0, heap.size(), records);
+            records.write(header(writer.count, writer.heapOffset(), writer.heapLength), 0);
+            records.force(false);
+            Files.move(recordsFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            long bytes = Files.size(file);
+            log.info("Exported {} beers to snapshot {} ({} bytes)", writer.count, file, bytes);
+            return report(file, writer.count, bytes, startedAt, false);
+        } finally {
+            Files.deleteIfExists(heapFile);
+            Files.deleteIfExists(recordsFile);
+        }
+    }
+
+    /**
+     * Restores a snapshot into an empty catalog, keeping the exported ids and versions.
+     * The rows are inserted in JDBC batches straight from the mapped file, in a single transaction that also records a
+     * {@code CREATED} change for each of them, so change feed clients see the restored beers.
+     *
+     * @throws IllegalStateException when the catalog is not empty
+     * @throws IllegalArgumentException when the file is not a readable snapshot
+     */
+    public BeerSnapshotReportDTO importSnapshot(Path file, boolean warmCache) throws IOException {
+        beerShards.verifySingleDatabase("Snapshot import");
+        long startedAt = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Snapshot " + file + " is larger than 2 GB");
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            SnapshotReader reader = new SnapshotReader(mapped.order(ByteOrder.LITTLE_ENDIAN), file);
+            long maxId = transactionTemplate.execute(status -> restore(reader));
+
+            advanceSequencePast(maxId);
+            skipAllocatedIdsUpTo(maxId);
+            beerCache.invalidateAll();
+            beerCatalogVersion.advance();
+            beerSearchIndexer.ifAvailable(BeerSearchIndexer::rebuild);
+            if (stockLedger.isEnabled() || warmCache) {
+                for (int i = 0; i < reader.count; i++) {
+                    BeerDTO beerDTO = reader.beer(i);
+                    stockLedger.register(beerDTO);
+                    if (warmCache) {
+                        beerCache.put(beerDTO);
+                    }
+                }
+            }
+            log.info("Imported {} beers from snapshot {}", reader.count, file);
+            return report(file, reader.count, channel.size(), startedAt, warmCache);
+        }
+    }
+
+    private long restore(SnapshotReader reader) {
+        if (beerRepository.count() > 0) {
+            throw new IllegalStateException("A snapshot can only be imported into an empty catalog");
+        }
+        long maxId = 0;
+        for (int start = 0; start < reader.count; start += batchSize) {
+            int first = start;
+            int size = Math.min(batchSize, reader.count - start);
+            jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement statement, int i) throws SQLException {
+                    reader.bind(first + i, statement);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return size;
+                }
+            });
+            beerChangeLog.ifAvailable(changeLog -> changeLog.recordAll(reader.beers(first, size).stream()
+                    .map(beer -> new BeerChangedEvent(BeerEventType.CREATED, beer))
+                    .collect(Collectors.toList())));
+            maxId = Math.max(maxId, reader.id(first + size - 1));
+        }
+        return maxId;
+    }
+
+    private void advanceSequencePast(long maxId) {
+        // Hibernate's pooled optimizer hands out the block below each value it fetches
+        long nextValue = jdbcTemplate.queryForObject("select next value for beer_sequence", Long.class);
+        if (nextValue < maxId + SEQUENCE_ALLOCATION_SIZE) {
+            jdbcTemplate.execute("alter sequence beer_sequence restart with " + (maxId + SEQUENCE_ALLOCATION_SIZE));
+        }
+    }
+
+    private void skipAllocatedIdsUpTo(long maxId) {
+        // ids this instance already fetched from the sequence can fall among the restored ones; the first block
+        // fetched after advanceSequencePast is above them all
+        transactionTemplate.executeWithoutResult(status -> {
+            SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+            IdentifierGenerator sequence = session.getFactory().getIdentifierGenerator(Beer.class.getName());
+            long id;
+            do {
+                id = (Long) sequence.generate(session, null);
+            } while (id <= maxId);
+        });
+    }
+
+    private static ByteBuffer header(int count, long heapOffset, long heapLength) {
+        return ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN)
+                .putInt(MAGIC)
+                .putInt(FORMAT)
+                .putInt(count)
+                .putInt(0)
+                .putLong(heapOffset)
+                .putLong(heapLength)
+                .flip();
+    }
+
+    private static BeerSnapshotReportDTO report(Path file, long beers, long bytes, long startedAt, boolean cacheWarmed) {
+        long elapsedNanos = System.nanoTime() - startedAt;
+        return BeerSnapshotReportDTO.builder()
+                .file(file.getFileName().toString())
+                .beers(beers)
+                .bytes(bytes)
+                .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                .rowsPerSecond(elapsedNanos == 0 ? 0 : beers * 1e9 / elapsedNanos)
+                .cacheWarmed(cacheWarmed)
+                .build();
+    }
+
+    private static final class SnapshotWriter {
+
+        private final FileChannel records;
+        private final FileChannel heap;
+        private final ByteBuffer recordBuffer = ByteBuffer.allocateDirect(WRITE_BUFFER_RECORDS * RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        private final ByteBuffer heapBuffer = ByteBuffer.allocateDirect(1 << 16);
+        private final Map<String, Integer> brandOffsets = new HashMap<>();
+        private int count;
+        private long heapLength;
+
+        private SnapshotWriter(FileChannel records, FileChannel heap) throws IOException {
+            this.records = records;
+            this.heap = heap;
+            records.position(HEADER_SIZE);
+        }
+
+        private void write(BeerDTO beerDTO) {
+            try {
+                byte[] name = beerDTO.getName().getBytes(StandardCharsets.UTF_8);
+                byte[] brand = beerDTO.getBrand().getBytes(StandardCharsets.UTF_8);
+                int nameOffset = append(name);
+                Integer brandOffset = brandOffsets.get(beerDTO.getBrand());
+                if (brandOffset == null) {
+                    brandOffset = append(brand);
+                    brandOffsets.put(beerDTO.getBrand(), brandOffset);
+                }
+                if (recordBuffer.remaining() < RECORD_SIZE) {
+                    drain(recordBuffer, records);
+                }
+                recordBuffer.putLong(beerDTO.getId())
+                        .putLong(beerDTO.getVersion() == null ? 0 : beerDTO.getVersion())
+                        .putInt(beerDTO.getMax())
+                        .putInt(beerDTO.getQuantity())
+                        .putInt(nameOffset)
+                        .putInt(brandOffset)
+                        .putShort((short) name.length)
+                        .putShort((short) brand.length)
+                        .put((byte) beerDTO.getType().ordinal())
+                        .put(new byte[3]);
+                count++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private int append(byte[] bytes) throws IOException {
+            if (bytes.length > 0xFFFF || heapLength + bytes.length > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Catalog does not fit the snapshot format");
+            }
+            int offset = (int) heapLength;
+            if (heapBuffer.remaining() < bytes.length) {
+                drain(heapBuffer, heap);
+            }
+            heapBuffer.put(bytes);
+            heapLength += bytes.length;
+            return offset;
+        }
+
+        private void finish() throws IOException {
+            drain(recordBuffer, records);
+            drain(heapBuffer, heap);
+        }
+
+        private long heapOffset() {
+            return HEADER_SIZE + (long) count * RECORD_SIZE;
+        }
+
+        private static void drain(ByteBuffer buffer, FileChannel channel) throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    private static final class SnapshotReader {
+
+        private final ByteBuffer buffer;
+        private final int count;
+        private final int heapOffset;
+        private final Map<Integer, String> brands = new HashMap<>();
+
+        private SnapshotReader(ByteBuffer buffer, Path file) {
+            if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT) {
+                throw new IllegalArgumentException(file + " is not a beer snapshot");
+            }
+            this.buffer = buffer;
+            this.count = buffer.getInt(8);
+            long heapStart = buffer.getLong(16);
+            long heapLength = buffer.getLong(24);
+            if (count < 0 || heapStart != HEADER_SIZE + (long) count * RECORD_SIZE || heapLength < 0
+                    || heapStart + heapLength != buffer.limit()) {
+                throw new IllegalArgumentException(file + " is truncated or corrupt");
+            }
+            this.heapOffset = (int) heapStart;
+            verifyRecords(file, heapLength);
+        }
+
+        /**
+         * Checks every record before the import touches the table, so a corrupt file is refused as a whole instead
+         * of failing halfway through the restore.
+         */
+        private void verifyRecords(Path file, long heapLength) {
+            long previousId = 0;
+            for (int index = 0; index < count; index++) {
+                int record = record(index);
+                long id = buffer.getLong(record);
+                int type = buffer.get(record + 36);
+                if (id <= previousId || type < 0 || type >= TYPES.length
+                        || !inHeap(buffer.getInt(record + 24), buffer.getShort(record + 32), heapLength)
+                        || !inHeap(buffer.getInt(record + 28), buffer.getShort(record + 34), heapLength)) {
+                    throw new IllegalArgumentException(file + " is corrupt at record " + index);
+                }
+                previousId = id;
+            }
+        }
+
+        private static boolean inHeap(int offset, short length, long heapLength) {
+            return offset >= 0 && offset + (long) Short.toUnsignedInt(length) <= heapLength;
+        }
+
+        private long id(int index) {
+            return buffer.getLong(record(index));
+        }
+
+        private void bind(int index, PreparedStatement statement) throws SQLException {
+            int record = record(index);
+            statement.setLong(1, buffer.getLong(record));
+            statement.setString(2, string(buffer.getInt(record + 24), buffer.getShort(record + 32)));
+            statement.setString(3, brand(buffer.getInt(record + 28), buffer.getShort(record + 34)));
+            statement.setInt(4, buffer.getInt(record + 16));
+            statement.setInt(5, buffer.getInt(record + 20));
+            statement.setString(6, TYPES[buffer.get(record + 36)].name());
+            statement.setLong(7, buffer.getLong(record + 8));
+        }
+
+        private BeerDTO beer(int index) {
+            int record = record(index);
+            return BeerDTO.builder()
+                    .id(buffer.getLong(record))
+                    .version(buffer.getLong(record + 8))
+                    .max(buffer.getInt(record + 16))
+                    .quantity(buffer.getInt(record + 20))
+                    .name(string(buffer.getInt(record + 24), buffer.getShort(record + 32)))
+                    .brand(brand(buffer.getInt(record + 28), buffer.getShort(record + 34)))
+                    .type(TYPES[buffer.get(record + 36)])
+                    .build();
+        }
+
+        private List<BeerDTO> beers(int first, int size) {
+            return IntStream.range(first, first + size).mapToObj(this::beer).collect(Collectors.toList());
+        }
+
+        private int record(int index) {
+            return HEADER_SIZE + index * RECORD_SIZE;
+        }
+
+        private String brand(int offset, short length) {
+            return brands.computeIfAbsent(offset, key -> string(offset, length));
+        }
+
+        private String string(int offset, short length) {
+            byte[] bytes = new byte[Short.toUnsignedInt(length)];
+            buffer.get(heapOffset + offset, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
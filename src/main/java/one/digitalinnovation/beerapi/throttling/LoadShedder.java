@@ -0,0 +1,95 @@
+package one.digitalinnovation.beerapi.throttling;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static one.digitalinnovation.beerapi.metrics.BeerMetricsConfig.LOAD_SHEDDING_IN_FLIGHT;
+import static one.digitalinnovation.beerapi.metrics.BeerMetricsConfig.LOAD_SHEDDING_LIMIT;
+import static one.digitalinnovation.beerapi.metrics.BeerMetricsConfig.LOAD_SHEDDING_REQUESTS;
+
+/**
+ * Caps the number of mutations in flight, used when {@code beer.loadshedding.enabled=true}. The cap adapts to
+ * latency: a mutation slower than {@code beer.loadshedding.latency-target} cuts it by a tenth, and a fast one that ran
+ * while the cap was at least half used raises it by one, between {@code min-concurrency} and {@code max-concurrency}.
+ * Mutations beyond the cap are refused straight away instead of queueing for a connection.
+ */
+@Component
+public class LoadShedder {
+
+    private final boolean enabled;
+    private final int minConcurrency;
+    private final int maxConcurrency;
+    private final long latencyTargetNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger limit;
+    private final Counter admitted;
+    private final Counter shed;
+
+    public LoadShedder(@Value("${beer.loadshedding.enabled:false}") boolean enabled,
+                       @Value("${beer.loadshedding.min-concurrency:2}") int minConcurrency,
+                       @Value("${beer.loadshedding.max-concurrency:20}") int maxConcurrency,
+                       @Value("${beer.loadshedding.latency-target:200ms}") Duration latencyTarget,
+                       MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.minConcurrency = minConcurrency;
+        this.maxConcurrency = maxConcurrency;
+        this.latencyTargetNanos = latencyTarget.toNanos();
+        this.limit = new AtomicInteger(maxConcurrency);
+        this.admitted = Counter.builder(LOAD_SHEDDING_REQUESTS)
+                .description("Mutations checked against the concurrency limit")
+                .tag("outcome", "admitted")
+                .register(meterRegistry);
+        this.shed = Counter.builder(LOAD_SHEDDING_REQUESTS)
+                .description("Mutations checked against the concurrency limit")
+                .tag("outcome", "shed")
+                .register(meterRegistry);
+        if (enabled) {
+            Gauge.builder(LOAD_SHEDDING_LIMIT, limit, AtomicInteger::get)
+                    .description("Mutations allowed in flight before new ones are shed")
+                    .register(meterRegistry);
+            Gauge.builder(LOAD_SHEDDING_IN_FLIGHT, inFlight, AtomicInteger::get)
+                    .description("Mutations in flight")
+                    .register(meterRegistry);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return whether the mutation may run; if so, {@link #exit(long)} must follow once it has finished
+     */
+    public boolean tryEnter() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.get()) {
+                shed.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                admitted.increment();
+                return true;
+            }
+        }
+    }
+
+    public void exit(long latencyNanos) {
+        int concurrency = inFlight.getAndDecrement();
+        if (latencyNanos > latencyTargetNanos) {
+            limit.updateAndGet(current -> Math.max(minConcurrency, current - Math.max(1, current / 10)));
+        } else if (concurrency * 2 >= limit.get()) {
+            limit.updateAndGet(current -> Math.min(maxConcurrency, current + 1));
+        }
+    }
+
+    public int getLimit() {
+        return limit.get();
+    }
+}
@@ -0,0 +1,85 @@
+package one.digitalinnovation.beerapi.throttling;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import static one.digitalinnovation.beerapi.metrics.BeerMetricsConfig.RATE_LIMIT_BUCKETS;
+import static one.digitalinnovation.beerapi.metrics.BeerMetricsConfig.RATE_LIMIT_REQUESTS;
+
+/**
+ * Token-bucket limits on mutations per client and per beer, used when {@code beer.ratelimit.enabled=true}. A request
+ * needs a token from both buckets; one refused by the beer's bucket still spends the client's token.
+ */
+@Component
+public class MutationRateLimiter {
+
+    private final boolean enabled;
+    private final TokenBuckets clientBuckets;
+    private final TokenBuckets beerBuckets;
+    private final Limit clientLimit;
+    private final Limit beerLimit;
+
+    public MutationRateLimiter(@Value("${beer.ratelimit.enabled:false}") boolean enabled,
+                               @Value("${beer.ratelimit.client.requests-per-second:50}") int clientRate,
+                               @Value("${beer.ratelimit.client.burst:100}") int clientBurst,
+                               @Value("${beer.ratelimit.beer.requests-per-second:200}") int beerRate,
+                               @Value("${beer.ratelimit.beer.burst:400}") int beerBurst,
+                               @Value("${beer.ratelimit.maximum-keys:100000}") long maximumKeys,
+                               MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.clientBuckets = enabled ? new TokenBuckets(clientRate, clientBurst, maximumKeys) : null;
+        this.beerBuckets = enabled ? new TokenBuckets(beerRate, beerBurst, maximumKeys) : null;
+        this.clientLimit = enabled ? new Limit("client", clientBuckets, meterRegistry) : null;
+        this.beerLimit = enabled ? new Limit("beer", beerBuckets, meterRegistry) : null;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return 0 when the client may mutate, otherwise the nanoseconds until it may try again
+     */
+    public long acquireForClient(String client) {
+        return clientLimit.acquire(client);
+    }
+
+    /**
+     * @return 0 when the beer may be mutated, otherwise the nanoseconds until it may be tried again
+     */
+    public long acquireForBeer(String id) {
+        return beerLimit.acquire(id);
+    }
+
+    private static final class Limit {
+
+        private final TokenBuckets buckets;
+        private final Counter allowed;
+        private final Counter rejected;
+
+        Limit(String name, TokenBuckets buckets, MeterRegistry meterRegistry) {
+            this.buckets = buckets;
+            this.allowed = Counter.builder(RATE_LIMIT_REQUESTS)
+                    .description("Mutations checked against a rate limit")
+                    .tags("limit", name, "outcome", "allowed")
+                    .register(meterRegistry);
+            this.rejected = Counter.builder(RATE_LIMIT_REQUESTS)
+                    .description("Mutations checked against a rate limit")
+                    .tags("limit", name, "outcome", "rejected")
+                    .register(meterRegistry);
+            Gauge.builder(RATE_LIMIT_BUCKETS, buckets, TokenBuckets::size)
+                    .description("Token buckets currently tracked")
+                    .tag("limit", name)
+                    .register(meterRegistry);
+        }
+
+        long acquire(String key) {
+            long waitNanos = buckets.tryAcquire(key);
+            (waitNanos == 0 ? allowed : rejected).increment();
+            return waitNanos;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package one.digitalinnovation.beerapi.throttling;
+
+import one.digitalinnovation.beerapi.exception.MutationRateLimitedException;
+import one.digitalinnovation.beerapi.exception.ServiceOverloadedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the {@link MutationRateLimiter} and the {@link LoadShedder} to every request it is mapped to that is not a
+ * read, before the controller runs. Refused requests answer 429 or 503 with a {@code Retry-After} header and never reach the database.
+ */
+public class MutationThrottleInterceptor implements HandlerInterceptor {
+
+    private static final String STARTED_AT_ATTRIBUTE = MutationThrottleInterceptor.class.getName() + ".startedAt";
+
+    private final MutationRateLimiter rateLimiter;
+    private final LoadShedder loadShedder;
+    private final String clientHeader;
+
+    public MutationThrottleInterceptor(MutationRateLimiter rateLimiter, LoadShedder loadShedder, String clientHeader) {
+        this.rateLimiter = rateLimiter;
+        this.loadShedder = loadShedder;
+        this.clientHeader = clientHeader;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (isRead(request)) {
+            return true;
+        }
+        if (rateLimiter.isEnabled()) {
+            String client = clientOf(request);
+            verifyAcquired(rateLimiter.acquireForClient(client), response, "client", client);
+            String id = beerIdOf(request);
+            if (id != null) {
+                verifyAcquired(rateLimiter.acquireForBeer(id), response, "beer", id);
+            }
+        }
+        if (loadShedder.isEnabled()) {
+            if (!loadShedder.tryEnter()) {
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                throw new ServiceOverloadedException();
+            }
+            request.setAttribute(STARTED_AT_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Long startedAt = (Long) request.getAttribute(STARTED_AT_ATTRIBUTE);
+        if (startedAt != null) {
+            request.removeAttribute(STARTED_AT_ATTRIBUTE);
+            loadShedder.exit(System.nanoTime() - startedAt);
+        }
+    }
+
+    private boolean isRead(HttpServletRequest request) {
+        String method = request.getMethod();
+        return "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method);
+    }
+
+    private String clientOf(HttpServletRequest request) {
+        String client = StringUtils.hasText(clientHeader) ? request.getHeader(clientHeader) : null;
+        return StringUtils.hasText(client) ? client : request.getRemoteAddr();
+    }
+
+    @SuppressWarnings("unchecked")
+    private String beerIdOf(HttpServletRequest request) {
+        Map<String, String> pathVariables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        return pathVariables == null ? null : pathVariables.get("id");
+    }
+
+    private void verifyAcquired(long waitNanos, HttpServletResponse response, String limit, String key) {
+        if (waitNanos > 0) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(TimeUnit.NANOSECONDS.toSeconds(waitNanos - 1) + 1));
+            throw new MutationRateLimitedException(limit, key);
+        }
+    }
+}
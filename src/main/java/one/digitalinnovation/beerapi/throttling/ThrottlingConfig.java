@@ -0,0 +1,39 @@
+package one.digitalinnovation.beerapi.throttling;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Puts the {@link MutationThrottleInterceptor} in front of the stock mutations when rate limiting or load shedding is
+ * on. Creates, deletes, warehouse capacities and bulk imports are left out: they are rare, and a long import would
+ * otherwise read as overload and shrink the concurrency limit of every stock update.
+ * The client is identified by {@code beer.ratelimit.client-header} when the request carries it, otherwise by its
+ * remote address; only name a header that a trusted proxy sets, as clients could otherwise pick their own bucket.
+ */
+@Configuration
+@Profile("!reactive")
+public class ThrottlingConfig implements WebMvcConfigurer {
+
+    private final MutationRateLimiter rateLimiter;
+    private final LoadShedder loadShedder;
+    private final String clientHeader;
+
+    public ThrottlingConfig(MutationRateLimiter rateLimiter,
+                            LoadShedder loadShedder,
+                            @Value("${beer.ratelimit.client-header:}") String clientHeader) {
+        this.rateLimiter = rateLimiter;
+        this.loadShedder = loadShedder;
+        this.clientHeader = clientHeader;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (rateLimiter.isEnabled() || loadShedder.isEnabled()) {
+            registry.addInterceptor(new MutationThrottleInterceptor(rateLimiter, loadShedder, clientHeader))
+                    .addPathPatterns("/api/v1/beer/*/increment", "/api/v1/beer/*/decrement", "/api/v1/beer/stock");
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package one.digitalinnovation.beerapi.throttling;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * One token bucket per key, each refilling at {@code permitsPerSecond} up to {@code burst} tokens.
+ * <p>
+ * A bucket is a single {@link AtomicLong} holding the time at which it would be full again (the generic cell rate
+ * algorithm), so taking a token is one compare-and-set and never blocks. Idle buckets are full and are dropped after
+ * they refill; a bucket evicted early because of {@code maximumKeys} also starts over full.
+ */
+public class TokenBuckets {
+
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final LongSupplier nanoClock;
+    private final Cache<Object, AtomicLong> buckets;
+
+    public TokenBuckets(int permitsPerSecond, int burst, long maximumKeys) {
+        this(permitsPerSecond, burst, maximumKeys, System::nanoTime);
+    }
+
+    TokenBuckets(int permitsPerSecond, int burst, long maximumKeys, LongSupplier nanoClock) {
+        if (permitsPerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("A token bucket needs a positive rate and burst");
+        }
+        this.emissionIntervalNanos = TimeUnit.SECONDS.toNanos(1) / permitsPerSecond;
+        this.burstNanos = emissionIntervalNanos * burst;
+        this.nanoClock = nanoClock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(Duration.ofNanos(Math.max(burstNanos, TimeUnit.SECONDS.toNanos(1))))
+                .build();
+    }
+
+    /**
+     * Takes a token from the bucket of {@code key}.
+     *
+     * @return 0 when a token was taken, otherwise the nanoseconds until the next one is available
+     */
+    public long tryAcquire(Object key) {
+        long now = nanoClock.getAsLong();
+        AtomicLong fullAt = buckets.get(key, ignored -> new AtomicLong(now));
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + emissionIntervalNanos;
+            if (next - now > burstNanos) {
+                return next - now - burstNanos;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public long size() {
+        return buckets.estimatedSize();
+    }
+}
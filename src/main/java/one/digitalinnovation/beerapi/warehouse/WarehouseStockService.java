@@ -0,0 +1,214 @@
+package one.digitalinnovation.beerapi.warehouse;
+
+import io.micrometer.core.annotation.Timed;
+import one.digitalinnovation.beerapi.cache.BeerCache;
+import one.digitalinnovation.beerapi.dto.BeerDTO;
+import one.digitalinnovation.beerapi.dto.WarehouseStockDTO;
+import one.digitalinnovation.beerapi.entity.Beer;
+import one.digitalinnovation.beerapi.entity.WarehouseStock;
+import one.digitalinnovation.beerapi.enums.BeerEventType;
+import one.digitalinnovation.beerapi.event.BeerChangedEvent;
+import one.digitalinnovation.beerapi.exception.BeerExceededStockException;
+import one.digitalinnovation.beerapi.exception.BeerInsufficientStockException;
+import one.digitalinnovation.beerapi.exception.BeerNotFoundException;
+import one.digitalinnovation.beerapi.exception.WarehouseCapacityException;
+import one.digitalinnovation.beerapi.exception.WarehouseStockUnavailableException;
+import one.digitalinnovation.beerapi.ledger.StockLedger;
+import one.digitalinnovation.beerapi.mapper.BeerMapper;
+import one.digitalinnovation.beerapi.repository.BeerRepository;
+import one.digitalinnovation.beerapi.repository.WarehouseStockRepository;
+import one.digitalinnovation.beerapi.service.BeerService;
+import one.digitalinnovation.beerapi.sharding.BeerShards;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static one.digitalinnovation.beerapi.metrics.BeerMetricsConfig.SERVICE_TIMER;
+
+/**
+ * Per-warehouse stock on top of the beer totals. Named warehouses live in {@code warehouse_stock}, and every change
+ * to them is mirrored into {@code beer.quantity}/{@code beer.max} in the same transaction, so reads of the catalog
+ * never touch the per-location rows. The default warehouse has no row of its own: it is whatever the totals hold
+ * beyond the named warehouses, and it keeps going through {@link BeerService}.
+ */
+@Service
+public class WarehouseStockService {
+
+    private final BeerService beerService;
+    private final BeerRepository beerRepository;
+    private final WarehouseStockRepository warehouseStockRepository;
+    private final BeerCache beerCache;
+    private final StockLedger stockLedger;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BeerShards beerShards;
+    private final TransactionTemplate transactionTemplate;
+    private final BeerMapper beerMapper = BeerMapper.INSTANCE;
+    private final String defaultWarehouse;
+
+    public WarehouseStockService(BeerService beerService,
+                                 BeerRepository beerRepository,
+                                 WarehouseStockRepository warehouseStockRepository,
+                                 BeerCache beerCache,
+                                 StockLedger stockLedger,
+                                 ApplicationEventPublisher eventPublisher,
+                                 BeerShards beerShards,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${beer.stock.default-warehouse:main}") String defaultWarehouse) {
+        this.beerService = beerService;
+        this.beerRepository = beerRepository;
+        this.warehouseStockRepository = warehouseStockRepository;
+        this.beerCache = beerCache;
+        this.stockLedger = stockLedger;
+        this.eventPublisher = eventPublisher;
+        this.beerShards = beerShards;
+        this.transactionTemplate = transactionTemplate;
+        this.defaultWarehouse = defaultWarehouse;
+    }
+
+    @Transactional(readOnly = true)
+    public List<WarehouseStockDTO> listWarehouses(Long id) throws BeerNotFoundException {
+        beerShards.pinTransactionFor(id);
+        Beer beer = beerRepository.findById(id).orElseThrow(() -> new BeerNotFoundException(id));
+        int quantity = stockLedger.withCurrentQuantity(beerMapper.toDTO(beer)).getQuantity();
+        List<WarehouseStock> stocks = warehouseStockRepository.findByBeerIdOrderByWarehouseAsc(id);
+        List<WarehouseStockDTO> warehouses = new ArrayList<>(stocks.size() + 1);
+        warehouses.add(new WarehouseStockDTO(defaultWarehouse, quantity - beer.getWarehouseQuantity(), beer.getMax() - beer.getWarehouseMax()));
+        for (WarehouseStock stock : stocks) {
+            warehouses.add(new WarehouseStockDTO(stock.getWarehouse(), stock.getQuantity(), stock.getMax()));
+        }
+        return warehouses;
+    }
+
+    /**
+     * Named warehouses are adjusted in a transaction of their own. The default warehouse is left to {@link BeerService},
+     * which opens its transaction only once a coalesced batch is ready, so no connection is held while waiting for it.
+     */
+    @Timed(value = SERVICE_TIMER, extraTags = {"operation", "adjustWarehouse"}, histogram = true)
+    public BeerDTO adjustStock(Long id, String warehouse, int delta)
+            throws BeerNotFoundException, BeerExceededStockException, BeerInsufficientStockException {
+        if (!defaultWarehouse.equals(warehouse)) {
+            return inTransaction(() -> adjustNamedWarehouse(id, warehouse, delta));
+        }
+        try {
+            return delta < 0 ? beerService.decrementBeer(id, -delta) : beerService.incrementBeer(id, delta);
+        } catch (BeerExceededStockException e) {
+            Beer beer = transactionTemplate.execute(status -> {
+                beerShards.pinTransactionFor(id);
+                return beerRepository.findById(id).orElse(null);
+            });
+            if (beer == null) {
+                throw e;
+            }
+            throw new BeerExceededStockException(beer, defaultWarehouse, beer.getMax() - beer.getWarehouseMax(), delta);
+        }
+    }
+
+    private BeerDTO adjustNamedWarehouse(Long id, String warehouse, int delta)
+            throws BeerNotFoundException, BeerExceededStockException, BeerInsufficientStockException {
+        verifyLedgerDisabled();
+        beerShards.pinTransactionFor(id);
+        // the warehouse row is locked before the beer row, the same order updateCapacity takes them in
+        if (warehouseStockRepository.adjustQuantity(id, warehouse, delta) == 0) {
+            Beer beer = beerRepository.findById(id).orElseThrow(() -> new BeerNotFoundException(id));
+            WarehouseStock stock = warehouseStockRepository.findByBeerIdAndWarehouse(id, warehouse)
+                    .orElseThrow(() -> new BeerNotFoundException(id, warehouse));
+            if (delta < 0) {
+                throw new BeerInsufficientStockException(beer, stock, -delta);
+            }
+            throw new BeerExceededStockException(beer, stock, delta);
+        }
+        beerRepository.adjustWarehouseQuantity(id, delta);
+        Beer adjustedBeer = beerRepository.findById(id).orElseThrow(() -> new BeerNotFoundException(id));
+        beerCache.evict(adjustedBeer.getName());
+        return publishChange(delta < 0 ? BeerEventType.DECREMENTED : BeerEventType.INCREMENTED, beerMapper.toDTO(adjustedBeer));
+    }
+
+    @Timed(value = SERVICE_TIMER, extraTags = {"operation", "updateWarehouseCapacity"}, histogram = true)
+    @Transactional(rollbackFor = WarehouseCapacityException.class)
+    public WarehouseStockDTO updateCapacity(Long id, String warehouse, int max) throws BeerNotFoundException, WarehouseCapacityException {
+        verifyLedgerDisabled();
+        beerShards.pinTransactionFor(id);
+        WarehouseStockDTO updatedWarehouse;
+        if (defaultWarehouse.equals(warehouse)) {
+            Beer beer = beerRepository.findByIdForUpdate(id).orElseThrow(() -> new BeerNotFoundException(id));
+            int quantity = beer.getQuantity() - beer.getWarehouseQuantity();
+            verifyCapacity(warehouse, quantity, max);
+            beer.setMax(beer.getWarehouseMax() + max);
+            updatedWarehouse = new WarehouseStockDTO(warehouse, quantity, max);
+            publishResize(beer);
+        } else {
+            WarehouseStock stock = warehouseStockRepository.findByBeerIdAndWarehouseForUpdate(id, warehouse).orElse(null);
+            Beer beer = beerRepository.findByIdForUpdate(id).orElseThrow(() -> new BeerNotFoundException(id));
+            if (stock == null) {
+                stock = warehouseStockRepository.save(new WarehouseStock(null, beer, warehouse, 0, 0));
+            }
+            verifyCapacity(warehouse, stock.getQuantity(), max);
+            int difference = max - stock.getMax();
+            stock.setMax(max);
+            beer.setMax(beer.getMax() + difference);
+            beer.setWarehouseMax(beer.getWarehouseMax() + difference);
+            updatedWarehouse = new WarehouseStockDTO(warehouse, stock.getQuantity(), max);
+            publishResize(beer);
+        }
+        return updatedWarehouse;
+    }
+
+    private BeerDTO inTransaction(WarehouseStockChange change)
+            throws BeerNotFoundException, BeerExceededStockException, BeerInsufficientStockException {
+        Exception[] rejection = new Exception[1];
+        BeerDTO changedBeer = transactionTemplate.execute(status -> {
+            try {
+                return change.apply();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                rejection[0] = e;
+                return null;
+            }
+        });
+        if (rejection[0] instanceof BeerNotFoundException) {
+            throw (BeerNotFoundException) rejection[0];
+        }
+        if (rejection[0] instanceof BeerInsufficientStockException) {
+            throw (BeerInsufficientStockException) rejection[0];
+        }
+        if (rejection[0] != null) {
+            throw (BeerExceededStockException) rejection[0];
+        }
+        return changedBeer;
+    }
+
+    @FunctionalInterface
+    private interface WarehouseStockChange {
+
+        BeerDTO apply() throws BeerNotFoundException, BeerExceededStockException, BeerInsufficientStockException;
+    }
+
+    private void verifyLedgerDisabled() {
+        if (stockLedger.isEnabled()) {
+            throw new WarehouseStockUnavailableException();
+        }
+    }
+
+    private void verifyCapacity(String warehouse, int quantity, int max) throws WarehouseCapacityException {
+        if (quantity > max) {
+            throw new WarehouseCapacityException(warehouse, quantity, max);
+        }
+    }
+
+    private void publishResize(Beer beer) {
+        beerRepository.flush();
+        beerCache.evict(beer.getName());
+        publishChange(BeerEventType.RESIZED, beerMapper.toDTO(beer));
+    }
+
+    private BeerDTO publishChange(BeerEventType type, BeerDTO changedBeer) {
+        eventPublisher.publishEvent(new BeerChangedEvent(type, changedBeer));
+        return changedBeer;
+    }
+}
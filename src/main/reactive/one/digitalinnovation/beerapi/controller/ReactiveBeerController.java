@@ -0,0 +1,96 @@
+package one.digitalinnovation.beerapi.controller;
+
+import lombok.AllArgsConstructor;
+import one.digitalinnovation.beerapi.cache.BeerCatalogVersion;
+import one.digitalinnovation.beerapi.dto.BeerDTO;
+import one.digitalinnovation.beerapi.dto.QuantityDTO;
+import one.digitalinnovation.beerapi.enums.BeerType;
+import one.digitalinnovation.beerapi.service.ReactiveBeerService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/beer")
+@Profile("reactive")
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class ReactiveBeerController {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final ReactiveBeerService beerService;
+    private final BeerCatalogVersion beerCatalogVersion;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<BeerDTO> createBeer(@RequestBody @Valid BeerDTO beerDTO) {
+        return beerService.createBeer(beerDTO);
+    }
+
+    @GetMapping("/{name}")
+    public Mono<ResponseEntity<BeerDTO>> findBeerByName(@PathVariable String name) {
+        return beerService.findBeerByName(name)
+                .map(beerDTO -> ResponseEntity.ok().eTag(BeerETags.beer(beerDTO)).body(beerDTO));
+    }
+
+    @GetMapping(params = "!limit")
+    public ResponseEntity<Flux<BeerDTO>> listAllBeers(@RequestParam(required = false) String brand,
+                                                      @RequestParam(required = false) BeerType type,
+                                                      @RequestParam(required = false) Integer lowStock) {
+        Flux<BeerDTO> beers = brand == null && type == null && lowStock == null
+                ? beerService.listAllBeers()
+                : beerService.searchBeers(brand, type, lowStock);
+        // the body is lazy, so a matching If-None-Match is answered before the database is queried
+        return ResponseEntity.ok().eTag(BeerETags.catalog(beerCatalogVersion)).body(beers);
+    }
+
+    @GetMapping(params = "limit")
+    public Mono<ResponseEntity<List<BeerDTO>>> listBeersPage(@RequestParam int limit,
+                                                             @RequestParam(required = false) Long after,
+                                                             @RequestParam(required = false) String brand,
+                                                             @RequestParam(required = false) BeerType type,
+                                                             @RequestParam(required = false) Integer lowStock,
+                                                             ServerWebExchange exchange) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return beerService.listBeersAfter(after, pageSize, brand, type, lowStock).collectList().map(page -> {
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.size() == pageSize) {
+                Long nextCursor = page.get(page.size() - 1).getId();
+                String nextPage = UriComponentsBuilder.fromHttpRequest(exchange.getRequest())
+                        .replaceQueryParam("limit", pageSize)
+                        .replaceQueryParam("after", nextCursor)
+                        .toUriString();
+                response.header(HttpHeaders.LINK, "<" + nextPage + ">; rel=\"next\"")
+                        .header(NEXT_CURSOR_HEADER, nextCursor.toString());
+            }
+            return response.body(page);
+        });
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> deleteBeerById(@PathVariable Long id) {
+        return beerService.deleteBeerById(id);
+    }
+
+    @PatchMapping("/{id}/increment")
+    public Mono<BeerDTO> incrementStock(@PathVariable Long id, @RequestBody @Valid QuantityDTO quantityDTO) {
+        return beerService.incrementBeer(id, quantityDTO.getQuantity());
+    }
+
+    @PatchMapping("/{id}/decrement")
+    public Mono<BeerDTO> decrementStock(@PathVariable Long id, @RequestBody @Valid QuantityDTO quantityDTO) {
+        return beerService.decrementBeer(id, quantityDTO.getQuantity());
+    }
+}
@@ -0,0 +1,117 @@
+package one.digitalinnovation.beerapi.repository;
+
+import lombok.AllArgsConstructor;
+import one.digitalinnovation.beerapi.entity.Beer;
+import one.digitalinnovation.beerapi.enums.BeerType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.data.domain.Sort.by;
+import static org.springframework.data.relational.core.query.Criteria.where;
+import static org.springframework.data.relational.core.query.Query.query;
+
+/**
+ * R2DBC access to the {@code beer} table created by JPA.
+ * <p>
+ * Hand-written on top of {@link R2dbcEntityTemplate} instead of a derived repository interface, because Spring Data
+ * JPA would otherwise claim a reactive interface over the {@code @Entity} class and refuse to start.
+ */
+@Repository
+@Profile("reactive")
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class ReactiveBeerRepository {
+
+    private static final String NEXT_ID_SQL = "select next value for beer_sequence";
+
+    private static final String INSERT_SQL =
+            "insert into beer (id, name, brand, max, quantity, type, version, warehouse_quantity, warehouse_max) "
+                    + "values (:id, :name, :brand, :max, :quantity, :type, :version, 0, 0)";
+
+    private static final String INCREMENT_QUANTITY_SQL =
+            "update beer set quantity = quantity + :increment, version = version + 1 "
+                    + "where id = :id and quantity + :increment <= max - warehouse_max + warehouse_quantity";
+
+    private static final String DECREMENT_QUANTITY_SQL =
+            "update beer set quantity = quantity - :decrement, version = version + 1 "
+                    + "where id = :id and quantity - :decrement >= warehouse_quantity";
+
+    private final R2dbcEntityTemplate template;
+
+    public Mono<Beer> findById(Long id) {
+        return template.selectOne(query(where("id").is(id)), Beer.class);
+    }
+
+    public Mono<Beer> findBeerByName(String name) {
+        return template.selectOne(query(where("name").is(name)), Beer.class);
+    }
+
+    public Flux<Beer> findAll() {
+        return template.select(Beer.class).all();
+    }
+
+    public Flux<Beer> findBy(String brand, BeerType type, Integer maxQuantity) {
+        return template.select(query(filter(Criteria.empty(), brand, type, maxQuantity)), Beer.class);
+    }
+
+    public Flux<Beer> findByIdGreaterThanOrderByIdAsc(Long id, String brand, BeerType type, Integer maxQuantity, int limit) {
+        Criteria criteria = filter(where("id").greaterThan(id), brand, type, maxQuantity);
+        return template.select(query(criteria).sort(by("id")).limit(limit), Beer.class);
+    }
+
+    private Criteria filter(Criteria criteria, String brand, BeerType type, Integer maxQuantity) {
+        if (brand != null) {
+            criteria = criteria.and("brand").is(brand);
+        }
+        if (type != null) {
+            criteria = criteria.and("type").is(type.name());
+        }
+        if (maxQuantity != null) {
+            criteria = criteria.and("quantity").lessThanOrEquals(maxQuantity);
+        }
+        return criteria;
+    }
+
+    public Mono<Beer> insert(Beer beer) {
+        return template.getDatabaseClient().sql(NEXT_ID_SQL)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .flatMap(id -> template.getDatabaseClient().sql(INSERT_SQL)
+                        .bind("id", id)
+                        .bind("name", beer.getName())
+                        .bind("brand", beer.getBrand())
+                        .bind("max", beer.getMax())
+                        .bind("quantity", beer.getQuantity())
+                        .bind("type", beer.getType().name())
+                        .bind("version", beer.getVersion())
+                        .then()
+                        .then(Mono.fromCallable(() -> {
+                            beer.setId(id);
+                            return beer;
+                        })));
+    }
+
+    public Mono<Integer> deleteById(Long id) {
+        return template.delete(query(where("id").is(id)), Beer.class);
+    }
+
+    public Mono<Integer> incrementQuantity(Long id, int increment) {
+        return template.getDatabaseClient().sql(INCREMENT_QUANTITY_SQL)
+                .bind("id", id)
+                .bind("increment", increment)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Integer> decrementQuantity(Long id, int decrement) {
+        return template.getDatabaseClient().sql(DECREMENT_QUANTITY_SQL)
+                .bind("id", id)
+                .bind("decrement", decrement)
+                .fetch()
+                .rowsUpdated();
+    }
+}
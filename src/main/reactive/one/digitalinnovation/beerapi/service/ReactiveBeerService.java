@@ -0,0 +1,88 @@
+package one.digitalinnovation.beerapi.service;
+
+import lombok.AllArgsConstructor;
+import one.digitalinnovation.beerapi.dto.BeerDTO;
+import one.digitalinnovation.beerapi.entity.Beer;
+import one.digitalinnovation.beerapi.enums.BeerEventType;
+import one.digitalinnovation.beerapi.enums.BeerType;
+import one.digitalinnovation.beerapi.event.BeerChangedEvent;
+import one.digitalinnovation.beerapi.exception.BeerAlreadyRegisteredException;
+import one.digitalinnovation.beerapi.exception.BeerExceededStockException;
+import one.digitalinnovation.beerapi.exception.BeerInsufficientStockException;
+import one.digitalinnovation.beerapi.exception.BeerNotFoundException;
+import one.digitalinnovation.beerapi.mapper.BeerMapper;
+import one.digitalinnovation.beerapi.repository.ReactiveBeerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@Profile("reactive")
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class ReactiveBeerService {
+
+    private final ReactiveBeerRepository beerRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BeerMapper beerMapper = BeerMapper.INSTANCE;
+
+    public Mono<BeerDTO> createBeer(BeerDTO beerDTO) {
+        return beerRepository.findBeerByName(beerDTO.getName())
+                .flatMap(savedBeer -> Mono.<Beer>error(new BeerAlreadyRegisteredException(beerDTO.getName())))
+                .switchIfEmpty(Mono.defer(() -> beerRepository.insert(beerMapper.toModel(beerDTO))))
+                .map(beerMapper::toDTO)
+                .doOnNext(savedBeerDTO -> publishChange(BeerEventType.CREATED, savedBeerDTO));
+    }
+
+    public Mono<BeerDTO> findBeerByName(String name) {
+        return beerRepository.findBeerByName(name)
+                .map(beerMapper::toDTO)
+                .switchIfEmpty(Mono.error(() -> new BeerNotFoundException(name)));
+    }
+
+    public Flux<BeerDTO> listAllBeers() {
+        return beerRepository.findAll().map(beerMapper::toDTO);
+    }
+
+    public Flux<BeerDTO> searchBeers(String brand, BeerType type, Integer lowStock) {
+        return beerRepository.findBy(brand, type, lowStock).map(beerMapper::toDTO);
+    }
+
+    public Flux<BeerDTO> listBeersAfter(Long after, int limit, String brand, BeerType type, Integer lowStock) {
+        return beerRepository.findByIdGreaterThanOrderByIdAsc(after == null ? 0L : after, brand, type, lowStock, limit)
+                .map(beerMapper::toDTO);
+    }
+
+    public Mono<Void> deleteBeerById(Long id) {
+        return returnBeerIfExist(id)
+                .flatMap(beerToBeDeleted -> beerRepository.deleteById(id)
+                        .doOnSuccess(deleted -> publishChange(BeerEventType.DELETED, beerMapper.toDTO(beerToBeDeleted))))
+                .then();
+    }
+
+    public Mono<BeerDTO> incrementBeer(Long id, int increment) {
+        return beerRepository.incrementQuantity(id, increment)
+                .flatMap(updated -> returnBeerIfExist(id)
+                        .flatMap(beer -> updated == 0 ? Mono.error(new BeerExceededStockException(beer, increment)) : Mono.just(beer)))
+                .map(beerMapper::toDTO)
+                .doOnNext(incrementedBeer -> publishChange(BeerEventType.INCREMENTED, incrementedBeer));
+    }
+
+    public Mono<BeerDTO> decrementBeer(Long id, int decrement) {
+        return beerRepository.decrementQuantity(id, decrement)
+                .flatMap(updated -> returnBeerIfExist(id)
+                        .flatMap(beer -> updated == 0 ? Mono.error(new BeerInsufficientStockException(beer, decrement)) : Mono.just(beer)))
+                .map(beerMapper::toDTO)
+                .doOnNext(decrementedBeer -> publishChange(BeerEventType.DECREMENTED, decrementedBeer));
+    }
+
+    private Mono<Beer> returnBeerIfExist(Long id) {
+        return beerRepository.findById(id).switchIfEmpty(Mono.error(() -> new BeerNotFoundException(id)));
+    }
+
+    private void publishChange(BeerEventType type, BeerDTO changedBeer) {
+        eventPublisher.publishEvent(new BeerChangedEvent(type, changedBeer));
+    }
+}
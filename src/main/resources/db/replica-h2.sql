@@ -0,0 +1,3 @@
+CREATE LINKED TABLE IF NOT EXISTS BEER('org.h2.Driver', 'jdbc:h2:mem:beerapi', 'sa', '', 'BEER') READONLY;
+CREATE LINKED TABLE IF NOT EXISTS WAREHOUSE_STOCK('org.h2.Driver', 'jdbc:h2:mem:beerapi', 'sa', '', 'WAREHOUSE_STOCK') READONLY;
+CREATE LINKED TABLE IF NOT EXISTS BEER_CHANGE('org.h2.Driver', 'jdbc:h2:mem:beerapi', 'sa', '', 'BEER_CHANGE') READONLY;
@@ -25,12 +25,15 @@ public class BeerDTOBuilder {
     @Builder.Default
     private BeerType type = BeerType.WITBIER;
 
+    private Long version;
+
     public BeerDTO toBeerDTO() {
         return new BeerDTO(id,
                 name,
                 brand,
                 max,
                 quantity,
-                type);
+                type,
+                version);
     }
 }
@@ -0,0 +1,76 @@
+package one.digitalinnovation.beerapi.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import one.digitalinnovation.beerapi.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerapi.dto.BeerDTO;
+import one.digitalinnovation.beerapi.exception.BeerNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BeerCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BeerCache beerCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        beerCache = new BeerCache(1, Duration.ofMinutes(1), Duration.ofMinutes(1), meterRegistry);
+    }
+
+    @Test
+    void whenBeerIsLoadedTwiceThenLoaderRunsOnceAndHitIsRecorded() throws BeerNotFoundException {
+        //given
+        BeerDTO expectedBeerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+        AtomicInteger loads = new AtomicInteger();
+
+        //when
+        beerCache.findByName(expectedBeerDTO.getName(), name -> load(loads, expectedBeerDTO));
+        BeerDTO cachedBeerDTO = beerCache.findByName(expectedBeerDTO.getName(), name -> load(loads, expectedBeerDTO));
+
+        //then
+        assertThat(cachedBeerDTO, is(equalTo(expectedBeerDTO)));
+        assertThat(loads.get(), is(equalTo(1)));
+        assertThat(meterRegistry.get("cache.gets").tag("cache", BeerCache.CACHE_NAME).tag("result", "hit").functionCounter().count(), is(equalTo(1.0)));
+        assertThat(meterRegistry.get("cache.gets").tag("cache", BeerCache.CACHE_NAME).tag("result", "miss").functionCounter().count(), is(equalTo(1.0)));
+    }
+
+    @Test
+    void whenNonexistentBeerIsLoadedTwiceThenNotFoundIsCached() {
+        //given
+        AtomicInteger loads = new AtomicInteger();
+
+        //then
+        assertThrows(BeerNotFoundException.class, () -> beerCache.findByName("Nonexistent", name -> load(loads, null)));
+        assertThrows(BeerNotFoundException.class, () -> beerCache.findByName("Nonexistent", name -> load(loads, null)));
+        assertThat(loads.get(), is(equalTo(1)));
+    }
+
+    @Test
+    void whenBeerIsEvictedThenItIsLoadedAgain() throws BeerNotFoundException {
+        //given
+        BeerDTO expectedBeerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+        AtomicInteger loads = new AtomicInteger();
+
+        //when
+        beerCache.findByName(expectedBeerDTO.getName(), name -> load(loads, expectedBeerDTO));
+        beerCache.evict(expectedBeerDTO.getName());
+        beerCache.findByName(expectedBeerDTO.getName(), name -> load(loads, expectedBeerDTO));
+
+        //then
+        assertThat(loads.get(), is(equalTo(2)));
+    }
+
+    private Optional<BeerDTO> load(AtomicInteger loads, BeerDTO beerDTO) {
+        loads.incrementAndGet();
+        return Optional.ofNullable(beerDTO);
+    }
+}
@@ -0,0 +1,137 @@
+package one.digitalinnovation.beerapi.coalescing;
+
+import one.digitalinnovation.beerapi.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerapi.coalescing.StockUpdateCoalescer.BatchWriter;
+import one.digitalinnovation.beerapi.coalescing.StockUpdateCoalescer.PendingAdjustment;
+import one.digitalinnovation.beerapi.dto.BeerDTO;
+import one.digitalinnovation.beerapi.entity.Beer;
+import one.digitalinnovation.beerapi.exception.BeerExceededStockException;
+import one.digitalinnovation.beerapi.exception.BeerNotFoundException;
+import one.digitalinnovation.beerapi.mapper.BeerMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class StockUpdateCoalescerTest {
+
+    private static final Long BEER_ID = 1L;
+    private static final int CALLERS = 8;
+
+    private final List<List<Integer>> writtenBatches = new CopyOnWriteArrayList<>();
+
+    @Test
+    void whenAdjustmentsArriveWithinTheWindowThenTheyAreWrittenAsOneBatch() throws Exception {
+        //given
+        StockUpdateCoalescer coalescer = new StockUpdateCoalescer(true, Duration.ofSeconds(1), CALLERS);
+
+        //when
+        List<Future<BeerDTO>> results = incrementConcurrently(coalescer, boundedWriter(1000));
+
+        //then
+        for (Future<BeerDTO> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS), is(notNullValue()));
+        }
+        assertThat(writtenBatches, hasSize(1));
+        assertThat(writtenBatches.get(0), hasSize(CALLERS));
+    }
+
+    @Test
+    void whenBatchCrossesBoundsThenOnlyTheLateCallersAreRejected() throws Exception {
+        //given
+        StockUpdateCoalescer coalescer = new StockUpdateCoalescer(true, Duration.ofSeconds(1), CALLERS);
+
+        //when
+        List<Future<BeerDTO>> results = incrementConcurrently(coalescer, boundedWriter(CALLERS / 2));
+
+        //then
+        int accepted = 0;
+        int rejected = 0;
+        for (Future<BeerDTO> result : results) {
+            try {
+                result.get(5, TimeUnit.SECONDS);
+                accepted++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause(), is(instanceOf(BeerExceededStockException.class)));
+                rejected++;
+            }
+        }
+        assertThat(accepted, is(equalTo(CALLERS / 2)));
+        assertThat(rejected, is(equalTo(CALLERS / 2)));
+    }
+
+    @Test
+    void whenBeerDoesNotExistThenEveryCallerGetsNotFound() {
+        //given
+        StockUpdateCoalescer coalescer = new StockUpdateCoalescer(true, Duration.ZERO, CALLERS);
+
+        //then
+        assertThrows(BeerNotFoundException.class, () -> coalescer.decrement(BEER_ID, 1, (id, adjustments) -> {
+            throw new BeerNotFoundException(id);
+        }));
+    }
+
+    @Test
+    void whenWriterFailsThenLeaderSeesTheFailureAndTheKeyIsReleased() throws Exception {
+        //given
+        StockUpdateCoalescer coalescer = new StockUpdateCoalescer(true, Duration.ZERO, CALLERS);
+
+        //when
+        assertThrows(IllegalStateException.class, () -> coalescer.increment(BEER_ID, 1, (id, adjustments) -> {
+            throw new IllegalStateException("database unavailable");
+        }));
+
+        //then
+        assertThat(coalescer.increment(BEER_ID, 1, boundedWriter(10)), is(notNullValue()));
+    }
+
+    private List<Future<BeerDTO>> incrementConcurrently(StockUpdateCoalescer coalescer, BatchWriter writer) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<BeerDTO>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return coalescer.increment(BEER_ID, 1, writer);
+                }));
+            }
+            start.countDown();
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS), is(true));
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private BatchWriter boundedWriter(int max) {
+        return (id, adjustments) -> {
+            Beer beer = BeerMapper.INSTANCE.toModel(BeerDTOBuilder.builder().id(id).quantity(0).max(max).build().toBeerDTO());
+            List<Integer> deltas = new ArrayList<>();
+            for (PendingAdjustment adjustment : adjustments) {
+                deltas.add(adjustment.getDelta());
+                int quantity = beer.getQuantity() + adjustment.getDelta();
+                if (quantity > beer.getMax()) {
+                    adjustment.reject(new BeerExceededStockException(beer, adjustment.getDelta()));
+                } else {
+                    beer.setQuantity(quantity);
+                    adjustment.accept(BeerMapper.INSTANCE.toDTO(beer));
+                }
+            }
+            writtenBatches.add(deltas);
+        };
+    }
+}
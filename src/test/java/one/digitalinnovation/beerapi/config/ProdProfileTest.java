@@ -0,0 +1,69 @@
+package one.digitalinnovation.beerapi.config;
+
+import one.digitalinnovation.beerapi.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerapi.dto.BeerDTO;
+import one.digitalinnovation.beerapi.repository.BeerRepository;
+import one.digitalinnovation.beerapi.utils.JsonConverterUtils;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("prod")
+public class ProdProfileTest {
+
+    private static final String BEER_API_URL_PATH = "/api/v1/beer";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ConfigurableListableBeanFactory beanFactory;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @AfterEach
+    void tearDown() {
+        beerRepository.deleteAll();
+    }
+
+    @Test
+    void whenProdProfileIsActiveThenBeansAreLazyExceptTheControllers() {
+        assertThat(beanFactory.getBeanDefinition("beerService").isLazyInit(), is(true));
+        assertThat(beanFactory.getBeanDefinition("beerController").isLazyInit(), is(false));
+        assertThat(beanFactory.containsSingleton("beerController"), is(true));
+    }
+
+    @Test
+    void whenProdProfileIsActiveThenBeerApiServesRequests() throws Exception {
+        //given
+        BeerDTO beerDTO = BeerDTOBuilder.builder().id(null).build().toBeerDTO();
+
+        //then
+        mockMvc.perform(post(BEER_API_URL_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonConverterUtils.DTOtoJsonString(beerDTO)))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get(BEER_API_URL_PATH + "/" + beerDTO.getName()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.brand", Matchers.is(beerDTO.getBrand())));
+        mockMvc.perform(get("/api/v1/beer/changes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].type", Matchers.is("CREATED")));
+    }
+}
@@ -0,0 +1,100 @@
+package one.digitalinnovation.beerapi.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import one.digitalinnovation.beerapi.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerapi.config.CborMessageConverterConfig;
+import one.digitalinnovation.beerapi.dto.BeerDTO;
+import one.digitalinnovation.beerapi.enums.BeerType;
+import one.digitalinnovation.beerapi.repository.BeerRepository;
+import one.digitalinnovation.beerapi.service.BeerService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class BeerCborTest {
+
+    private static final String BEER_API_URL_PATH = "/api/v1/beer";
+    private static final MediaType APPLICATION_CBOR = MediaType.valueOf("application/cbor");
+
+    private final ObjectMapper cborObjectMapper = CborMessageConverterConfig.cborObjectMapper(new Jackson2ObjectMapperBuilder());
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @AfterEach
+    void tearDown() {
+        beerRepository.deleteAll();
+    }
+
+    @Test
+    void whenCatalogIsRequestedAsCborThenTypeIsEncodedAsOrdinal() throws Exception {
+        //given
+        BeerDTO createdBeerDTO = beerService.createBeer(BeerDTOBuilder.builder().id(null).type(BeerType.IPA).build().toBeerDTO());
+
+        //when
+        byte[] body = mockMvc.perform(get(BEER_API_URL_PATH).accept(APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        //then
+        JsonNode beers = cborObjectMapper.readTree(body);
+        assertThat(beers.size(), is(equalTo(1)));
+        assertThat(beers.get(0).get("name").asText(), is(equalTo(createdBeerDTO.getName())));
+        assertThat(beers.get(0).get("type").isInt(), is(true));
+        assertThat(beers.get(0).get("type").asInt(), is(equalTo(BeerType.IPA.ordinal())));
+    }
+
+    @Test
+    void whenNoAcceptHeaderIsSentThenJsonIsReturned() throws Exception {
+        //given
+        beerService.createBeer(BeerDTOBuilder.builder().id(null).type(BeerType.IPA).build().toBeerDTO());
+
+        //then
+        mockMvc.perform(get(BEER_API_URL_PATH))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].type", is(equalTo("IPA"))));
+    }
+
+    @Test
+    void whenBeerIsPostedAsCborThenItIsCreated() throws Exception {
+        //given
+        BeerDTO beerDTO = BeerDTOBuilder.builder().id(null).type(BeerType.STOUT).build().toBeerDTO();
+
+        //when
+        byte[] body = mockMvc.perform(post(BEER_API_URL_PATH)
+                .contentType(APPLICATION_CBOR)
+                .accept(APPLICATION_CBOR)
+                .content(cborObjectMapper.writeValueAsBytes(beerDTO)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        //then
+        BeerDTO createdBeerDTO = cborObjectMapper.readValue(body, BeerDTO.class);
+        assertThat(createdBeerDTO.getName(), is(equalTo(beerDTO.getName())));
+        assertThat(createdBeerDTO.getType(), is(equalTo(BeerType.STOUT)));
+    }
+}
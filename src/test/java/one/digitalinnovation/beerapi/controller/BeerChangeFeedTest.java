@@ -0,0 +1,167 @@
+package one.digitalinnovation.beerapi.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import one.digitalinnovation.beerapi.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerapi.changelog.BeerChangeLog;
+import one.digitalinnovation.beerapi.dto.BeerDTO;
+import one.digitalinnovation.beerapi.repository.BeerChangeRepository;
+import one.digitalinnovation.beerapi.repository.BeerRepository;
+import one.digitalinnovation.beerapi.service.BeerService;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class BeerChangeFeedTest {
+
+    private static final String BEER_CHANGES_URL_PATH = "/api/v1/beer/changes";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private BeerChangeLog beerChangeLog;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @Autowired
+    private BeerChangeRepository beerChangeRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        beerChangeRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        beerRepository.deleteAll();
+        beerChangeRepository.deleteAll();
+    }
+
+    @Test
+    void whenBeerIsCreatedAdjustedAndDeletedThenChangesAreListedInOrder() throws Exception {
+        //given
+        BeerDTO beer = createBeer("Brahma");
+        beerService.incrementBeer(beer.getId(), 5);
+        beerService.deleteBeerById(beer.getId());
+
+        //then
+        mockMvc.perform(get(BEER_CHANGES_URL_PATH))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].type", contains("CREATED", "INCREMENTED", "DELETED")))
+                .andExpect(jsonPath("$[*].beer.id", everyItem(Matchers.is(beer.getId().intValue()))))
+                .andExpect(jsonPath("$[1].beer.quantity", Matchers.is(beer.getQuantity() + 5)));
+    }
+
+    @Test
+    void whenChangesAreRequestedSinceASequenceThenOnlyLaterChangesAreListed() throws Exception {
+        //given
+        BeerDTO beer = createBeer("Brahma");
+        beerService.decrementBeer(beer.getId(), 1);
+        beerService.decrementBeer(beer.getId(), 2);
+        JsonNode changes = listChanges("?limit=1");
+        long firstSequence = changes.get(0).get("sequence").asLong();
+
+        //then
+        mockMvc.perform(get(BEER_CHANGES_URL_PATH).param("since", String.valueOf(firstSequence)).param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andExpect(jsonPath("$[0].type", Matchers.is("DECREMENTED")))
+                .andExpect(jsonPath("$[0].beer.quantity", Matchers.is(beer.getQuantity() - 1)));
+        mockMvc.perform(get(BEER_CHANGES_URL_PATH).param("since", String.valueOf(firstSequence)))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    void whenChangesAreCompactedThenOnlyTheLatestChangePerBeerIsKept() throws Exception {
+        //given
+        BeerDTO kept = createBeer("Brahma");
+        BeerDTO deleted = createBeer("Skol");
+        beerService.incrementBeer(kept.getId(), 1);
+        beerService.incrementBeer(kept.getId(), 2);
+        beerService.deleteBeerById(deleted.getId());
+
+        //when
+        int compacted = beerChangeLog.compact(Instant.now().plusSeconds(1));
+
+        //then
+        assertThat(compacted, is(equalTo(3)));
+        mockMvc.perform(get(BEER_CHANGES_URL_PATH))
+                .andExpect(jsonPath("$[*].type", contains("INCREMENTED", "DELETED")))
+                .andExpect(jsonPath("$[0].beer.quantity", Matchers.is(kept.getQuantity() + 3)));
+    }
+
+    @Test
+    void whenAnEarlierChangeIsStillUncommittedThenLaterChangesAreHeldBack() throws Exception {
+        //given
+        BeerDTO slow = createBeer("Brahma");
+        BeerDTO fast = createBeer("Skol");
+        long since = listChanges("").get(1).get("sequence").asLong();
+        CountDownLatch logged = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        //when
+        CompletableFuture<Void> slowTransaction = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            try {
+                beerService.incrementBeer(slow.getId(), 1);
+                logged.countDown();
+                release.await(10, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+        try {
+            assertThat(logged.await(10, TimeUnit.SECONDS), is(true));
+            beerService.incrementBeer(fast.getId(), 1);
+
+            //then
+            assertThat(listChanges("?since=" + since).size(), is(equalTo(0)));
+        } finally {
+            release.countDown();
+        }
+        slowTransaction.get(10, TimeUnit.SECONDS);
+        JsonNode changes = listChanges("?since=" + since);
+        assertThat(changes.size(), is(equalTo(2)));
+        assertThat(changes.get(0).get("beer").get("name").asText(), is(equalTo("Brahma")));
+        assertThat(changes.get(1).get("beer").get("name").asText(), is(equalTo("Skol")));
+    }
+
+    private BeerDTO createBeer(String name) throws Exception {
+        return beerService.createBeer(BeerDTOBuilder.builder().id(null).name(name).build().toBeerDTO());
+    }
+
+    private JsonNode listChanges(String query) throws Exception {
+        String body = mockMvc.perform(get(BEER_CHANGES_URL_PATH + query))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+}
@@ -0,0 +1,106 @@
+package one.digitalinnovation.beerapi.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import one.digitalinnovation.beerapi.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerapi.entity.Beer;
+import one.digitalinnovation.beerapi.mapper.BeerMapper;
+import one.digitalinnovation.beerapi.repository.BeerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class BeerCompressionTest {
+
+    private static final int CATALOG_SIZE = 200;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        List<Beer> beers = IntStream.range(0, CATALOG_SIZE)
+                .mapToObj(index -> BeerMapper.INSTANCE.toModel(BeerDTOBuilder.builder().id(null).name("Brahma " + index).build().toBeerDTO()))
+                .collect(Collectors.toList());
+        beerRepository.saveAll(beers);
+    }
+
+    @AfterEach
+    void tearDown() {
+        beerRepository.deleteAll();
+    }
+
+    @Test
+    void whenCatalogIsRequestedWithGzipThenItIsCompressed() throws Exception {
+        //when
+        HttpResponse<byte[]> response = get("/api/v1/beer");
+
+        //then
+        assertThat(response.statusCode(), is(equalTo(200)));
+        assertThat(response.headers().firstValue("Content-Encoding").orElse(null), is(equalTo("gzip")));
+        JsonNode beers = objectMapper.readTree(gunzip(response.body()));
+        assertThat(beers.size(), is(equalTo(CATALOG_SIZE)));
+        assertThat(response.body().length, is(lessThan(beers.toString().length() / 4)));
+    }
+
+    @Test
+    void whenStreamedCatalogIsRequestedWithGzipThenItIsCompressedWithoutContentLength() throws Exception {
+        //when
+        HttpResponse<byte[]> response = get("/api/v1/beer?stream");
+
+        //then
+        assertThat(response.headers().firstValue("Content-Encoding").orElse(null), is(equalTo("gzip")));
+        assertThat(response.headers().firstValue("Content-Length").isPresent(), is(false));
+        assertThat(objectMapper.readTree(gunzip(response.body())).size(), is(equalTo(CATALOG_SIZE)));
+    }
+
+    @Test
+    void whenClientDoesNotAcceptGzipThenCatalogIsSentUncompressed() throws Exception {
+        //given
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/beer")).build();
+
+        //when
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+
+        //then
+        assertThat(response.headers().firstValue("Content-Encoding").isPresent(), is(false));
+        assertThat(objectMapper.readTree(response.body()).size(), is(equalTo(CATALOG_SIZE)));
+    }
+
+    private HttpResponse<byte[]> get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Accept-Encoding", "gzip")
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return inputStream.readAllBytes();
+        }
+    }
+}
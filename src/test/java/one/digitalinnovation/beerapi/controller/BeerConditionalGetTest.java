@@ -0,0 +1,82 @@
+package one.digitalinnovation.beerapi.controller;
+
+import one.digitalinnovation.beerapi.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerapi.dto.BeerDTO;
+import one.digitalinnovation.beerapi.entity.Beer;
+import one.digitalinnovation.beerapi.repository.BeerRepository;
+import one.digitalinnovation.beerapi.service.BeerService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class BeerConditionalGetTest {
+
+    private static final String BEER_API_URL_PATH = "/api/v1/beer";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @AfterEach
+    void tearDown() {
+        beerRepository.deleteAll();
+    }
+
+    @Test
+    void whenStockChangesThenSingleBeerAndCatalogETagsChange() throws Exception {
+        //given
+        BeerDTO createdBeerDTO = beerService.createBeer(BeerDTOBuilder.builder().id(null).build().toBeerDTO());
+        String beerETag = mockMvc.perform(get(BEER_API_URL_PATH + "/" + createdBeerDTO.getName()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String catalogETag = mockMvc.perform(get(BEER_API_URL_PATH))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        //then
+        mockMvc.perform(get(BEER_API_URL_PATH + "/" + createdBeerDTO.getName()).header(HttpHeaders.IF_NONE_MATCH, beerETag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get(BEER_API_URL_PATH).header(HttpHeaders.IF_NONE_MATCH, catalogETag))
+                .andExpect(status().isNotModified());
+
+        beerService.incrementBeer(createdBeerDTO.getId(), 10);
+        mockMvc.perform(get(BEER_API_URL_PATH + "/" + createdBeerDTO.getName()).header(HttpHeaders.IF_NONE_MATCH, beerETag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(beerETag)));
+        mockMvc.perform(get(BEER_API_URL_PATH).header(HttpHeaders.IF_NONE_MATCH, catalogETag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(catalogETag)));
+    }
+
+    @Test
+    void whenStaleBeerIsSavedThenOptimisticLockingFails() throws Exception {
+        //given
+        BeerDTO createdBeerDTO = beerService.createBeer(BeerDTOBuilder.builder().id(null).build().toBeerDTO());
+        Beer staleBeer = beerRepository.findById(createdBeerDTO.getId()).get();
+
+        //when
+        beerService.incrementBeer(createdBeerDTO.getId(), 10);
+
+        //then
+        assertThat(beerRepository.findById(createdBeerDTO.getId()).get().getVersion(), is(greaterThan(staleBeer.getVersion())));
+        staleBeer.setBrand("Stale Brewery");
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> beerRepository.save(staleBeer));
+    }
+}
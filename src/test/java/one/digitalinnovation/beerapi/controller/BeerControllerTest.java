@@ -1,27 +1,53 @@
 package one.digitalinnovation.beerapi.controller;
 
 import one.digitalinnovation.beerapi.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerapi.cache.BeerCatalogVersion;
+import one.digitalinnovation.beerapi.changelog.BeerChangeLog;
+import one.digitalinnovation.beerapi.dto.BeerChangeDTO;
 import one.digitalinnovation.beerapi.dto.BeerDTO;
+import one.digitalinnovation.beerapi.dto.BeerImportReportDTO;
+import one.digitalinnovation.beerapi.dto.BeerSearchHitDTO;
 import one.digitalinnovation.beerapi.dto.QuantityDTO;
+import one.digitalinnovation.beerapi.dto.StockAdjustmentDTO;
+import one.digitalinnovation.beerapi.dto.StockAdjustmentResultDTO;
+import one.digitalinnovation.beerapi.dto.StockBatchDTO;
+import one.digitalinnovation.beerapi.dto.StockBatchResultDTO;
+import one.digitalinnovation.beerapi.enums.BeerEventType;
+import one.digitalinnovation.beerapi.enums.BeerType;
+import one.digitalinnovation.beerapi.enums.StockAdjustmentStatus;
+import one.digitalinnovation.beerapi.enums.StockBatchMode;
+import one.digitalinnovation.beerapi.event.BeerEventBroadcaster;
 import one.digitalinnovation.beerapi.exception.BeerInsufficientStockException;
 import one.digitalinnovation.beerapi.exception.BeerNotFoundException;
 import one.digitalinnovation.beerapi.exception.BeerExceededStockException;
+import one.digitalinnovation.beerapi.idempotency.IdempotencyStore;
+import one.digitalinnovation.beerapi.search.BeerSearchIndex;
+import one.digitalinnovation.beerapi.service.BeerImportService;
 import one.digitalinnovation.beerapi.service.BeerService;
+import one.digitalinnovation.beerapi.warehouse.WarehouseStockService;
 import one.digitalinnovation.beerapi.utils.JsonConverterUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.view.json.MappingJackson2JsonView;
 
+import java.time.Duration;
 import java.util.Collections;
+import java.util.function.Consumer;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -31,18 +57,54 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 public class BeerControllerTest {
 
     private static final String BEER_API_URL_PATH = "/api/v1/beer";
+    private static final String BEER_EVENTS_URL_PATH = "/api/v1/beer/events";
+    private static final String BEER_CHANGES_URL_PATH = "/api/v1/beer/changes";
+    private static final String BEER_SEARCH_URL_PATH = "/api/v1/beer/search";
 
     @Mock
     private BeerService beerService;
 
+    @Mock
+    private BeerImportService beerImportService;
+
+    @Mock
+    private BeerEventBroadcaster beerEventBroadcaster;
+
+    @Spy
+    private BeerCatalogVersion beerCatalogVersion = new BeerCatalogVersion();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private IdempotencyStore idempotencyStore = new IdempotencyStore(1000, Duration.ofHours(1), "X-Client-Id", new SimpleMeterRegistry());
+
+    @Mock
+    private BeerChangeLog beerChangeLog;
+
+    @Mock
+    private WarehouseStockService warehouseStockService;
+
+    @Mock
+    private BeerSearchIndex beerSearchIndex;
+
     @InjectMocks
     private BeerController beerController;
 
+    @InjectMocks
+    private BeerEventController beerEventController;
+
+    @InjectMocks
+    private BeerChangeController beerChangeController;
+
+    @InjectMocks
+    private BeerSearchController beerSearchController;
+
     private MockMvc mockMvc;
 
     @BeforeEach
     void setUp() {
-        mockMvc = MockMvcBuilders.standaloneSetup(beerController)
+        mockMvc = MockMvcBuilders.standaloneSetup(beerController, beerEventController, beerChangeController, beerSearchController)
                 .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
                 .setViewResolvers((s, locale) -> new MappingJackson2JsonView())
                 .build();
@@ -121,6 +183,183 @@ public class BeerControllerTest {
                 .andExpect(jsonPath("$[0].brand", Matchers.is(informedBeerDTO.getBrand())));
     }
 
+    @Test
+    void whenGETListWithFiltersIsCalledThenFilteredBeersAreReturned() throws Exception {
+        // given
+        BeerDTO informedBeerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+
+        // when
+        when(beerService.searchBeers(informedBeerDTO.getBrand(), informedBeerDTO.getType(), 30)).thenReturn(Collections.singletonList(informedBeerDTO));
+
+        // then
+        mockMvc.perform(get(BEER_API_URL_PATH)
+                .param("brand", informedBeerDTO.getBrand())
+                .param("type", informedBeerDTO.getType().name())
+                .param("lowStock", "30"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name", Matchers.is(informedBeerDTO.getName())));
+        verify(beerService, never()).listAllBeers();
+    }
+
+    @Test
+    void whenGETEventsIsCalledThenSubscriberIsRegisteredWithFilters() throws Exception {
+        // when
+        when(beerEventBroadcaster.subscribe(BeerType.LAGER, 5)).thenReturn(new SseEmitter());
+
+        // then
+        mockMvc.perform(get(BEER_EVENTS_URL_PATH)
+                .param("type", BeerType.LAGER.name())
+                .param("threshold", "5")
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+        verify(beerEventBroadcaster).subscribe(BeerType.LAGER, 5);
+    }
+
+    @Test
+    void whenPOSTIsCalledWithAReservedNameThenBadRequestIsReturned() throws Exception {
+        // given
+        BeerDTO beerToBeSaved = BeerDTOBuilder.builder().name("events").build().toBeerDTO();
+
+        // then
+        mockMvc.perform(post(BEER_API_URL_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonConverterUtils.DTOtoJsonString(beerToBeSaved)))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(beerService);
+    }
+
+    @Test
+    void whenGETIsCalledWithMatchingETagThenNotModifiedIsReturned() throws Exception {
+        // given
+        BeerDTO beerDTO = BeerDTOBuilder.builder().version(3L).build().toBeerDTO();
+
+        // when
+        when(beerService.findBeerByName(beerDTO.getName())).thenReturn(beerDTO);
+
+        // then
+        mockMvc.perform(get(BEER_API_URL_PATH + "/" + beerDTO.getName()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"1-3-30\""));
+        mockMvc.perform(get(BEER_API_URL_PATH + "/" + beerDTO.getName()).header(HttpHeaders.IF_NONE_MATCH, "W/\"1-3-30\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void whenGETListIsCalledWithCurrentCatalogETagThenServiceIsNotCalled() throws Exception {
+        // given
+        String catalogETag = "W/\"catalog-" + beerCatalogVersion.current() + "\"";
+
+        // then
+        mockMvc.perform(get(BEER_API_URL_PATH).header(HttpHeaders.IF_NONE_MATCH, catalogETag))
+                .andExpect(status().isNotModified());
+        verifyNoInteractions(beerService);
+
+        beerCatalogVersion.onBeerChanged(null);
+        mockMvc.perform(get(BEER_API_URL_PATH).header(HttpHeaders.IF_NONE_MATCH, catalogETag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, Matchers.not(catalogETag)));
+    }
+
+    @Test
+    void whenGETPageOfBeersIsCalledThenNextCursorLinkIsReturned() throws Exception {
+        // given
+        BeerDTO informedBeerDTO = BeerDTOBuilder.builder().id(11L).build().toBeerDTO();
+
+        // when
+        when(beerService.listBeersAfter(10L, 1, null, null, null)).thenReturn(Collections.singletonList(informedBeerDTO));
+
+        // then
+        mockMvc.perform(get(BEER_API_URL_PATH).param("limit", "1").param("after", "10"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.LINK, Matchers.containsString("after=11")))
+                .andExpect(header().string("X-Next-Cursor", "11"))
+                .andExpect(jsonPath("$[0].name", Matchers.is(informedBeerDTO.getName())));
+    }
+
+    @Test
+    void whenGETPageOfBeersIsCalledWithFiltersThenTheFiltersAreKeptInTheNextLink() throws Exception {
+        // given
+        BeerDTO informedBeerDTO = BeerDTOBuilder.builder().id(11L).build().toBeerDTO();
+
+        // when
+        when(beerService.listBeersAfter(null, 1, informedBeerDTO.getBrand(), BeerType.LAGER, 30))
+                .thenReturn(Collections.singletonList(informedBeerDTO));
+
+        // then
+        mockMvc.perform(get(BEER_API_URL_PATH + "?limit=1&brand={brand}&type=LAGER&lowStock=30", informedBeerDTO.getBrand()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.LINK, Matchers.allOf(
+                        Matchers.containsString("after=11"), Matchers.containsString("type=LAGER"), Matchers.containsString("lowStock=30"))))
+                .andExpect(jsonPath("$[0].name", Matchers.is(informedBeerDTO.getName())));
+        verify(beerService, never()).searchBeers(any(), any(), any());
+    }
+
+    @Test
+    void whenGETLastPageOfBeersIsCalledThenNoNextLinkIsReturned() throws Exception {
+        // when
+        when(beerService.listBeersAfter(11L, 10, null, null, null)).thenReturn(Collections.emptyList());
+
+        // then
+        mockMvc.perform(get(BEER_API_URL_PATH).param("limit", "10").param("after", "11"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.LINK))
+                .andExpect(jsonPath("$", Matchers.hasSize(0)));
+    }
+
+    @Test
+    void whenGETChangesIsCalledThenChangesSinceTheSequenceAreReturnedWithNextCursor() throws Exception {
+        // given
+        BeerDTO changedBeerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+        BeerChangeDTO change = BeerChangeDTO.builder().sequence(42L).type(BeerEventType.INCREMENTED).beer(changedBeerDTO).build();
+
+        // when
+        when(beerChangeLog.changesSince(41L, 1)).thenReturn(Collections.singletonList(change));
+
+        // then
+        mockMvc.perform(get(BEER_CHANGES_URL_PATH).param("since", "41").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.LINK, Matchers.containsString("since=42")))
+                .andExpect(header().string("X-Next-Cursor", "42"))
+                .andExpect(jsonPath("$[0].type", Matchers.is("INCREMENTED")))
+                .andExpect(jsonPath("$[0].beer.name", Matchers.is(changedBeerDTO.getName())));
+    }
+
+    @Test
+    void whenPOSTIsCalledWithABeerNamedChangesThenBadRequestIsReturned() throws Exception {
+        // given
+        BeerDTO beerToBeSaved = BeerDTOBuilder.builder().name("changes").build().toBeerDTO();
+
+        // then
+        mockMvc.perform(post(BEER_API_URL_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonConverterUtils.DTOtoJsonString(beerToBeSaved)))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(beerService);
+    }
+
+    @Test
+    void whenGETStreamOfBeersIsCalledThenJsonArrayIsWritten() throws Exception {
+        // given
+        BeerDTO informedBeerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+
+        // when
+        doAnswer(invocation -> {
+            Consumer<BeerDTO> consumer = invocation.getArgument(0);
+            consumer.accept(informedBeerDTO);
+            return null;
+        }).when(beerService).streamAllBeers(any());
+
+        // then
+        MvcResult mvcResult = mockMvc.perform(get(BEER_API_URL_PATH).param("stream", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name", Matchers.is(informedBeerDTO.getName())))
+                .andExpect(jsonPath("$[0].brand", Matchers.is(informedBeerDTO.getBrand())));
+    }
+
     @Test
     void whenDELETEBeerWithExistentIdIsCalledThenNoContentIsReturned() throws Exception {
         // given
@@ -167,6 +406,59 @@ public class BeerControllerTest {
                 .andExpect(jsonPath("$.quantity", Matchers.is(beerToBeIncremented.getQuantity())));
     }
 
+    @Test
+    void whenPATCHDecrementQuantityWithWarehouseThenTheWarehouseStockIsAdjusted() throws Exception {
+        // given
+        BeerDTO beerToBeDecremented = BeerDTOBuilder.builder().build().toBeerDTO();
+        QuantityDTO decrement = QuantityDTO.builder().quantity(10).build();
+
+        // when
+        beerToBeDecremented.setQuantity(beerToBeDecremented.getQuantity() - decrement.getQuantity());
+        when(warehouseStockService.adjustStock(beerToBeDecremented.getId(), "north", -decrement.getQuantity())).thenReturn(beerToBeDecremented);
+
+        // then
+        mockMvc.perform(patch(BEER_API_URL_PATH + "/" + beerToBeDecremented.getId() + "/decrement")
+                .param("warehouse", "north")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonConverterUtils.DTOtoJsonString(decrement)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantity", Matchers.is(beerToBeDecremented.getQuantity())));
+        verifyNoInteractions(beerService);
+    }
+
+    @Test
+    void whenGETSearchIsCalledThenIndexHitsAreReturnedWithACappedLimit() throws Exception {
+        // given
+        BeerDTO beerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+        BeerSearchHitDTO hit = new BeerSearchHitDTO(beerDTO.getId(), beerDTO.getName(), beerDTO.getBrand(), beerDTO.getType(), 6);
+
+        // when
+        when(beerSearchIndex.search("bra", 100)).thenReturn(Collections.singletonList(hit));
+
+        // then
+        mockMvc.perform(get(BEER_SEARCH_URL_PATH)
+                .param("q", "bra")
+                .param("limit", "5000")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name", Matchers.is(beerDTO.getName())))
+                .andExpect(jsonPath("$[0].score", Matchers.is(6)));
+        verifyNoInteractions(beerService);
+    }
+
+    @Test
+    void whenPOSTIsCalledWithABeerNamedSearchThenBadRequestIsReturned() throws Exception {
+        // given
+        BeerDTO beerToBeSaved = BeerDTOBuilder.builder().name("search").build().toBeerDTO();
+
+        // then
+        mockMvc.perform(post(BEER_API_URL_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonConverterUtils.DTOtoJsonString(beerToBeSaved)))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(beerService);
+    }
+
     @Test
     void whenPATCHIncrementQuantityGreaterThenMaxThenBadRequestIsReturned() throws Exception {
         // given
@@ -200,6 +492,98 @@ public class BeerControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void whenPATCHIncrementIsRetriedWithSameIdempotencyKeyThenStockIsIncrementedOnce() throws Exception {
+        // given
+        BeerDTO beerToBeIncremented = BeerDTOBuilder.builder().build().toBeerDTO();
+        QuantityDTO increment = QuantityDTO.builder().quantity(10).build();
+
+        // when
+        beerToBeIncremented.setQuantity(beerToBeIncremented.getQuantity() + increment.getQuantity());
+        when(beerService.incrementBeer(beerToBeIncremented.getId(), increment.getQuantity())).thenReturn(beerToBeIncremented);
+
+        // then
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(patch(BEER_API_URL_PATH + "/" + beerToBeIncremented.getId() + "/increment")
+                    .header("Idempotency-Key", "mobile-retry-1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(JsonConverterUtils.DTOtoJsonString(increment)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.quantity", Matchers.is(beerToBeIncremented.getQuantity())));
+        }
+        verify(beerService, times(1)).incrementBeer(beerToBeIncremented.getId(), increment.getQuantity());
+    }
+
+    @Test
+    void whenPATCHIdempotencyKeyIsReusedForAnotherRequestThenUnprocessableEntityIsReturned() throws Exception {
+        // given
+        BeerDTO beer = BeerDTOBuilder.builder().build().toBeerDTO();
+        QuantityDTO quantity = QuantityDTO.builder().quantity(10).build();
+
+        // when
+        when(beerService.incrementBeer(beer.getId(), quantity.getQuantity())).thenReturn(beer);
+
+        // then
+        mockMvc.perform(patch(BEER_API_URL_PATH + "/" + beer.getId() + "/increment")
+                .header("Idempotency-Key", "mobile-retry-2")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonConverterUtils.DTOtoJsonString(quantity)))
+                .andExpect(status().isOk());
+        mockMvc.perform(patch(BEER_API_URL_PATH + "/" + beer.getId() + "/decrement")
+                .header("Idempotency-Key", "mobile-retry-2")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonConverterUtils.DTOtoJsonString(quantity)))
+                .andExpect(status().isUnprocessableEntity());
+        verify(beerService, never()).decrementBeer(beer.getId(), quantity.getQuantity());
+    }
+
+    @Test
+    void whenPATCHIdempotencyKeyIsUsedByAnotherClientThenBothRequestsAreApplied() throws Exception {
+        // given
+        BeerDTO beer = BeerDTOBuilder.builder().build().toBeerDTO();
+        QuantityDTO quantity = QuantityDTO.builder().quantity(10).build();
+
+        // when
+        when(beerService.incrementBeer(beer.getId(), quantity.getQuantity())).thenReturn(beer);
+        when(beerService.decrementBeer(beer.getId(), quantity.getQuantity())).thenReturn(beer);
+
+        // then
+        mockMvc.perform(patch(BEER_API_URL_PATH + "/" + beer.getId() + "/increment")
+                .header("Idempotency-Key", "mobile-retry-4")
+                .header("X-Client-Id", "client-a")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonConverterUtils.DTOtoJsonString(quantity)))
+                .andExpect(status().isOk());
+        mockMvc.perform(patch(BEER_API_URL_PATH + "/" + beer.getId() + "/decrement")
+                .header("Idempotency-Key", "mobile-retry-4")
+                .header("X-Client-Id", "client-b")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonConverterUtils.DTOtoJsonString(quantity)))
+                .andExpect(status().isOk());
+        verify(beerService).incrementBeer(beer.getId(), quantity.getQuantity());
+        verify(beerService).decrementBeer(beer.getId(), quantity.getQuantity());
+    }
+
+    @Test
+    void whenPATCHDecrementIsRetriedAfterInsufficientStockThenSameErrorIsReturned() throws Exception {
+        // given
+        Long beerId = BeerDTOBuilder.builder().build().toBeerDTO().getId();
+        QuantityDTO decrement = QuantityDTO.builder().quantity(31).build();
+
+        // when
+        when(beerService.decrementBeer(beerId, decrement.getQuantity())).thenThrow(BeerInsufficientStockException.class);
+
+        // then
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(patch(BEER_API_URL_PATH + "/" + beerId + "/decrement")
+                    .header("Idempotency-Key", "mobile-retry-3")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(JsonConverterUtils.DTOtoJsonString(decrement)))
+                    .andExpect(status().isBadRequest());
+        }
+        verify(beerService, times(1)).decrementBeer(beerId, decrement.getQuantity());
+    }
+
     @Test
     void whenPATCHDecrementQuantityExistentBeerThenOkStatusIsReturned() throws Exception {
         // given
@@ -252,4 +636,86 @@ public class BeerControllerTest {
                 .content(JsonConverterUtils.DTOtoJsonString(decrement)))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    void whenPATCHStockBatchIsCommittedThenOkStatusIsReturned() throws Exception {
+        // given
+        StockBatchDTO stockBatchDTO = StockBatchDTO.builder()
+                .items(Collections.singletonList(StockAdjustmentDTO.builder().id(1L).delta(10).build()))
+                .build();
+        StockBatchResultDTO stockBatchResultDTO = StockBatchResultDTO.builder()
+                .mode(StockBatchMode.ALL_OR_NOTHING)
+                .committed(true)
+                .items(Collections.singletonList(StockAdjustmentResultDTO.builder().id(1L).delta(10).status(StockAdjustmentStatus.APPLIED).quantity(40).build()))
+                .build();
+
+        // when
+        when(beerService.adjustStock(stockBatchDTO)).thenReturn(stockBatchResultDTO);
+
+        // then
+        mockMvc.perform(patch(BEER_API_URL_PATH + "/stock")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonConverterUtils.DTOtoJsonString(stockBatchDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.committed", Matchers.is(true)))
+                .andExpect(jsonPath("$.items[0].status", Matchers.is("APPLIED")))
+                .andExpect(jsonPath("$.items[0].quantity", Matchers.is(40)));
+    }
+
+    @Test
+    void whenPATCHStockBatchIsRolledBackThenBadRequestIsReturned() throws Exception {
+        // given
+        StockBatchDTO stockBatchDTO = StockBatchDTO.builder()
+                .items(Collections.singletonList(StockAdjustmentDTO.builder().id(1L).delta(-10).build()))
+                .build();
+        StockBatchResultDTO stockBatchResultDTO = StockBatchResultDTO.builder()
+                .mode(StockBatchMode.ALL_OR_NOTHING)
+                .committed(false)
+                .items(Collections.singletonList(StockAdjustmentResultDTO.builder().id(1L).delta(-10).status(StockAdjustmentStatus.INSUFFICIENT_STOCK).build()))
+                .build();
+
+        // when
+        when(beerService.adjustStock(stockBatchDTO)).thenReturn(stockBatchResultDTO);
+
+        // then
+        mockMvc.perform(patch(BEER_API_URL_PATH + "/stock")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonConverterUtils.DTOtoJsonString(stockBatchDTO)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.committed", Matchers.is(false)))
+                .andExpect(jsonPath("$.items[0].status", Matchers.is("INSUFFICIENT_STOCK")));
+    }
+
+    @Test
+    void whenPATCHStockBatchWithDeltaOutOfRangeThenBadRequestIsReturned() throws Exception {
+        // given
+        StockBatchDTO stockBatchDTO = StockBatchDTO.builder()
+                .items(Collections.singletonList(StockAdjustmentDTO.builder().id(1L).delta(101).build()))
+                .build();
+
+        // then
+        mockMvc.perform(patch(BEER_API_URL_PATH + "/stock")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonConverterUtils.DTOtoJsonString(stockBatchDTO)))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(beerService);
+    }
+
+    @Test
+    void whenPOSTImportIsCalledWithNdjsonThenImportReportIsReturned() throws Exception {
+        // given
+        BeerDTO beerToBeImported = BeerDTOBuilder.builder().build().toBeerDTO();
+        BeerImportReportDTO report = BeerImportReportDTO.builder().received(1).imported(1).build();
+
+        // when
+        when(beerImportService.importBeers(any())).thenReturn(report);
+
+        // then
+        mockMvc.perform(post(BEER_API_URL_PATH + "/import")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(JsonConverterUtils.DTOtoJsonString(beerToBeImported)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received", Matchers.is(1)))
+                .andExpect(jsonPath("$.imported", Matchers.is(1)));
+    }
 }
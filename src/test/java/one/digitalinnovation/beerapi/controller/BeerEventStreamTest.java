@@ -0,0 +1,77 @@
+package one.digitalinnovation.beerapi.controller;
+
+import one.digitalinnovation.beerapi.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerapi.dto.BeerDTO;
+import one.digitalinnovation.beerapi.enums.BeerType;
+import one.digitalinnovation.beerapi.repository.BeerRepository;
+import one.digitalinnovation.beerapi.service.BeerService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class BeerEventStreamTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @AfterEach
+    void tearDown() {
+        beerRepository.deleteAll();
+    }
+
+    @Test
+    void whenStockChangesThenMatchingEventsArePushedToSubscribers() throws Exception {
+        //given
+        BeerDTO witbier = beerService.createBeer(BeerDTOBuilder.builder().id(null).build().toBeerDTO());
+        BeerDTO lager = beerService.createBeer(BeerDTOBuilder.builder().id(null).name("Brahma").type(BeerType.LAGER).build().toBeerDTO());
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/beer/events?type=WITBIER&threshold=10"))
+                .header("Accept", "text/event-stream")
+                .build();
+        HttpResponse<Stream<String>> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofLines());
+        Iterator<String> lines = response.body().iterator();
+
+        //when
+        beerService.decrementBeer(lager.getId(), 25);
+        beerService.decrementBeer(witbier.getId(), 5);
+        beerService.decrementBeer(witbier.getId(), 20);
+
+        //then
+        String event = CompletableFuture.supplyAsync(() -> {
+            StringBuilder received = new StringBuilder();
+            while (!received.toString().contains("event:")) {
+                received.setLength(0);
+                String line;
+                while (!(line = lines.next()).isEmpty()) {
+                    received.append(line).append('\n');
+                }
+            }
+            return received.toString();
+        }).get(10, TimeUnit.SECONDS);
+        assertThat(response.statusCode(), is(equalTo(200)));
+        assertThat(event, containsString("event:DECREMENTED"));
+        assertThat(event, containsString("\"name\":\"" + witbier.getName() + "\""));
+        assertThat(event, containsString("\"quantity\":5"));
+        response.body().close();
+    }
+}
@@ -0,0 +1,58 @@
+package one.digitalinnovation.beerapi.controller;
+
+import one.digitalinnovation.beerapi.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerapi.repository.BeerRepository;
+import one.digitalinnovation.beerapi.utils.JsonConverterUtils;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class BeerImportTest {
+
+    private static final String BEER_IMPORT_URL_PATH = "/api/v1/beer/import";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @AfterEach
+    void tearDown() {
+        beerRepository.deleteAll();
+    }
+
+    @Test
+    void whenLargeNdjsonCatalogIsImportedThenEveryBeerIsPersisted() throws Exception {
+        //given
+        int rows = 5000;
+        String ndjson = IntStream.range(0, rows)
+                .mapToObj(i -> JsonConverterUtils.DTOtoJsonString(BeerDTOBuilder.builder().id(null).name("Beer " + i).build().toBeerDTO()))
+                .collect(Collectors.joining("\n"));
+
+        //then
+        mockMvc.perform(post(BEER_IMPORT_URL_PATH)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received", Matchers.is(rows)))
+                .andExpect(jsonPath("$.imported", Matchers.is(rows)))
+                .andExpect(jsonPath("$.rejected", Matchers.is(0)));
+        assertThat(beerRepository.count(), is(equalTo((long) rows)));
+    }
+}
@@ -0,0 +1,80 @@
+package one.digitalinnovation.beerapi.controller;
+
+import one.digitalinnovation.beerapi.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerapi.entity.Beer;
+import one.digitalinnovation.beerapi.enums.BeerType;
+import one.digitalinnovation.beerapi.mapper.BeerMapper;
+import one.digitalinnovation.beerapi.repository.BeerRepository;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class BeerKeysetPageTest {
+
+    private static final String BEER_API_URL_PATH = "/api/v1/beer";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @AfterEach
+    void tearDown() {
+        beerRepository.deleteAll();
+    }
+
+    @Test
+    void whenPageIsFilteredThenOnlyMatchingBeersArePagedThrough() throws Exception {
+        //given
+        Beer first = saveBeer("Paged Lager 1", "Paged Brewery", BeerType.LAGER, 10);
+        saveBeer("Paged Stout", "Paged Brewery", BeerType.STOUT, 10);
+        saveBeer("Paged Lager 2", "Other Brewery", BeerType.LAGER, 10);
+        saveBeer("Paged Lager 3", "Paged Brewery", BeerType.LAGER, 90);
+        Beer last = saveBeer("Paged Lager 4", "Paged Brewery", BeerType.LAGER, 20);
+
+        //when
+        mockMvc.perform(get(BEER_API_URL_PATH).param("limit", "1")
+                .param("brand", "Paged Brewery")
+                .param("type", BeerType.LAGER.name())
+                .param("lowStock", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name", Matchers.is(first.getName())))
+                .andExpect(header().string("X-Next-Cursor", first.getId().toString()));
+
+        //then
+        mockMvc.perform(get(BEER_API_URL_PATH).param("limit", "1")
+                .param("after", first.getId().toString())
+                .param("brand", "Paged Brewery")
+                .param("type", BeerType.LAGER.name())
+                .param("lowStock", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name", Matchers.is(last.getName())));
+        mockMvc.perform(get(BEER_API_URL_PATH).param("limit", "10").param("after", last.getId().toString()).param("brand", "Paged Brewery"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    private Beer saveBeer(String name, String brand, BeerType type, int quantity) {
+        return beerRepository.save(BeerMapper.INSTANCE.toModel(BeerDTOBuilder.builder()
+                .id(null)
+                .name(name)
+                .brand(brand)
+                .type(type)
+                .quantity(quantity)
+                .build()
+                .toBeerDTO()));
+    }
+}
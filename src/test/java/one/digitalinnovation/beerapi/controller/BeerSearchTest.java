@@ -0,0 +1,67 @@
+package one.digitalinnovation.beerapi.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import one.digitalinnovation.beerapi.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerapi.dto.BeerDTO;
+import one.digitalinnovation.beerapi.utils.JsonConverterUtils;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class BeerSearchTest {
+
+    private static final String BEER_API_URL_PATH = "/api/v1/beer";
+    private static final String BEER_SEARCH_URL_PATH = "/api/v1/beer/search";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void whenBeersAreCreatedAndDeletedThenSearchFollowsThem() throws Exception {
+        //given
+        BeerDTO pilsner = create("Searchable Pilsner", "Searchable Brewery");
+        BeerDTO porter = create("Searchable Porter", "Searchable Brewery");
+
+        //when
+        mockMvc.perform(get(BEER_SEARCH_URL_PATH).param("q", "searchable pil"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", Matchers.is(pilsner.getId().intValue())))
+                .andExpect(jsonPath("$[0].brand", Matchers.is("Searchable Brewery")));
+        mockMvc.perform(delete(BEER_API_URL_PATH + "/" + pilsner.getId()))
+                .andExpect(status().isNoContent());
+
+        //then
+        mockMvc.perform(get(BEER_SEARCH_URL_PATH).param("q", "SEARCHABLE").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name", Matchers.is(porter.getName())));
+        mockMvc.perform(delete(BEER_API_URL_PATH + "/" + porter.getId()))
+                .andExpect(status().isNoContent());
+    }
+
+    private BeerDTO create(String name, String brand) throws Exception {
+        BeerDTO beerDTO = BeerDTOBuilder.builder().id(null).name(name).brand(brand).build().toBeerDTO();
+        String response = mockMvc.perform(post(BEER_API_URL_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonConverterUtils.DTOtoJsonString(beerDTO)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(response, BeerDTO.class);
+    }
+}
@@ -0,0 +1,103 @@
+package one.digitalinnovation.beerapi.controller;
+
+import one.digitalinnovation.beerapi.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerapi.dto.StockAdjustmentDTO;
+import one.digitalinnovation.beerapi.dto.StockBatchDTO;
+import one.digitalinnovation.beerapi.entity.Beer;
+import one.digitalinnovation.beerapi.enums.StockBatchMode;
+import one.digitalinnovation.beerapi.mapper.BeerMapper;
+import one.digitalinnovation.beerapi.repository.BeerRepository;
+import one.digitalinnovation.beerapi.utils.JsonConverterUtils;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Arrays;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class BeerStockBatchTest {
+
+    private static final String BEER_STOCK_URL_PATH = "/api/v1/beer/stock";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @AfterEach
+    void tearDown() {
+        beerRepository.deleteAll();
+    }
+
+    @Test
+    void whenAllOrNothingBatchHasAFailingItemThenNoItemIsApplied() throws Exception {
+        //given
+        Beer first = saveBeer("First", 30);
+        Beer second = saveBeer("Second", 5);
+        StockBatchDTO stockBatchDTO = StockBatchDTO.builder()
+                .mode(StockBatchMode.ALL_OR_NOTHING)
+                .items(Arrays.asList(
+                        StockAdjustmentDTO.builder().id(first.getId()).delta(10).build(),
+                        StockAdjustmentDTO.builder().id(second.getId()).delta(-10).build()))
+                .build();
+
+        //then
+        mockMvc.perform(patch(BEER_STOCK_URL_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonConverterUtils.DTOtoJsonString(stockBatchDTO)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.committed", Matchers.is(false)))
+                .andExpect(jsonPath("$.items[0].status", Matchers.is("ROLLED_BACK")))
+                .andExpect(jsonPath("$.items[1].status", Matchers.is("INSUFFICIENT_STOCK")));
+        assertThat(beerRepository.findById(first.getId()).get().getQuantity(), is(equalTo(30)));
+        assertThat(beerRepository.findById(second.getId()).get().getQuantity(), is(equalTo(5)));
+    }
+
+    @Test
+    void whenPartialBatchHasAFailingItemThenTheOtherItemsAreApplied() throws Exception {
+        //given
+        Beer first = saveBeer("First", 30);
+        Beer second = saveBeer("Second", 95);
+        StockBatchDTO stockBatchDTO = StockBatchDTO.builder()
+                .mode(StockBatchMode.PARTIAL)
+                .items(Arrays.asList(
+                        StockAdjustmentDTO.builder().id(first.getId()).delta(10).build(),
+                        StockAdjustmentDTO.builder().id(second.getId()).delta(10).build(),
+                        StockAdjustmentDTO.builder().id(first.getId()).delta(-5).build()))
+                .build();
+
+        //then
+        mockMvc.perform(patch(BEER_STOCK_URL_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonConverterUtils.DTOtoJsonString(stockBatchDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.committed", Matchers.is(true)))
+                .andExpect(jsonPath("$.items[0].status", Matchers.is("APPLIED")))
+                .andExpect(jsonPath("$.items[1].status", Matchers.is("EXCEEDED_STOCK")))
+                .andExpect(jsonPath("$.items[2].status", Matchers.is("APPLIED")))
+                .andExpect(jsonPath("$.items[2].quantity", Matchers.is(35)));
+        assertThat(beerRepository.findById(first.getId()).get().getQuantity(), is(equalTo(35)));
+        assertThat(beerRepository.findById(second.getId()).get().getQuantity(), is(equalTo(95)));
+    }
+
+    private Beer saveBeer(String name, int quantity) {
+        return beerRepository.save(BeerMapper.INSTANCE.toModel(BeerDTOBuilder.builder()
+                .id(null)
+                .name(name)
+                .quantity(quantity)
+                .build()
+                .toBeerDTO()));
+    }
+}
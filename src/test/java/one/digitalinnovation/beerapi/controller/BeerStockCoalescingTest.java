@@ -0,0 +1,13 @@
+package one.digitalinnovation.beerapi.controller;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Runs the {@link BeerStockConcurrencyTest} scenarios with hot-key coalescing switched on.
+ */
+@SpringBootTest(properties = {
+        "beer.stock.coalescing.enabled=true",
+        "beer.stock.coalescing.window=5ms"
+})
+public class BeerStockCoalescingTest extends BeerStockConcurrencyTest {
+}
@@ -0,0 +1,120 @@
+package one.digitalinnovation.beerapi.controller;
+
+import one.digitalinnovation.beerapi.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerapi.dto.QuantityDTO;
+import one.digitalinnovation.beerapi.entity.Beer;
+import one.digitalinnovation.beerapi.mapper.BeerMapper;
+import one.digitalinnovation.beerapi.repository.BeerRepository;
+import one.digitalinnovation.beerapi.utils.JsonConverterUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class BeerStockConcurrencyTest {
+
+    private static final String BEER_API_URL_PATH = "/api/v1/beer";
+    private static final int THREADS = 32;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @AfterEach
+    void tearDown() {
+        beerRepository.deleteAll();
+    }
+
+    @Test
+    void whenParallelIncrementsAndDecrementsArePatchedThenFinalStockIsExact() throws Exception {
+        //given
+        Beer beer = saveBeer(250, 500);
+        int requestsPerOperation = 1500;
+
+        //when
+        List<String> operations = new ArrayList<>();
+        for (int i = 0; i < requestsPerOperation; i++) {
+            operations.add("/increment");
+            operations.add("/decrement");
+        }
+        List<Integer> statuses = patchInParallel(beer.getId(), operations);
+
+        //then
+        assertThat(statuses, everyItem(is(200)));
+        assertThat(beerRepository.findById(beer.getId()).get().getQuantity(), is(equalTo(250)));
+    }
+
+    @Test
+    void whenParallelIncrementsExceedMaxThenExactlyTheCapacityIsAccepted() throws Exception {
+        //given
+        Beer beer = saveBeer(0, 500);
+        int increments = 2000;
+
+        //when
+        List<Integer> statuses = patchInParallel(beer.getId(), Collections.nCopies(increments, "/increment"));
+
+        //then
+        long accepted = statuses.stream().filter(status -> status == 200).count();
+        long rejected = statuses.stream().filter(status -> status == 400).count();
+        assertThat(accepted, is(equalTo(500L)));
+        assertThat(rejected, is(equalTo(1500L)));
+        assertThat(beerRepository.findById(beer.getId()).get().getQuantity(), is(equalTo(500)));
+    }
+
+    private Beer saveBeer(int quantity, int max) {
+        Beer beer = BeerMapper.INSTANCE.toModel(BeerDTOBuilder.builder()
+                .id(null)
+                .quantity(quantity)
+                .max(max)
+                .build()
+                .toBeerDTO());
+        return beerRepository.save(beer);
+    }
+
+    private List<Integer> patchInParallel(Long id, List<String> operations) throws Exception {
+        String oneUnit = JsonConverterUtils.DTOtoJsonString(QuantityDTO.builder().quantity(1).build());
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> responses = new ArrayList<>();
+        try {
+            for (String operation : operations) {
+                responses.add(executor.submit(() -> {
+                    start.await();
+                    return mockMvc.perform(patch(BEER_API_URL_PATH + "/" + id + operation)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(oneUnit))
+                            .andReturn().getResponse().getStatus();
+                }));
+            }
+            start.countDown();
+
+            List<Integer> statuses = new ArrayList<>();
+            for (Future<Integer> response : responses) {
+                statuses.add(response.get(1, TimeUnit.MINUTES));
+            }
+            return statuses;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package one.digitalinnovation.beerapi.controller;
+
+import one.digitalinnovation.beerapi.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerapi.dto.QuantityDTO;
+import one.digitalinnovation.beerapi.entity.Beer;
+import one.digitalinnovation.beerapi.mapper.BeerMapper;
+import one.digitalinnovation.beerapi.repository.BeerRepository;
+import one.digitalinnovation.beerapi.utils.JsonConverterUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "beer.ratelimit.enabled=true",
+        "beer.ratelimit.client-header=" + BeerThrottlingTest.CLIENT_HEADER,
+        "beer.ratelimit.client.requests-per-second=1",
+        "beer.ratelimit.client.burst=3",
+        "beer.ratelimit.beer.requests-per-second=1",
+        "beer.ratelimit.beer.burst=5",
+        "beer.loadshedding.enabled=true"
+})
+@AutoConfigureMockMvc
+public class BeerThrottlingTest {
+
+    static final String CLIENT_HEADER = "X-Client-Id";
+
+    private static final String BEER_API_URL_PATH = "/api/v1/beer";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @AfterEach
+    void tearDown() {
+        beerRepository.deleteAll();
+    }
+
+    @Test
+    void whenClientExceedsItsBurstThenTooManyRequestsIsReturnedWithRetryAfter() throws Exception {
+        //given
+        Beer beer = saveBeer("Client Limited");
+        for (int i = 0; i < 3; i++) {
+            increment(beer, "greedy client").andExpect(status().isOk());
+        }
+
+        //then
+        increment(beer, "greedy client")
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+        mockMvc.perform(get(BEER_API_URL_PATH + "/" + beer.getName()).header(CLIENT_HEADER, "greedy client"))
+                .andExpect(status().isOk());
+        increment(beer, "polite client").andExpect(status().isOk());
+    }
+
+    @Test
+    void whenBeerExceedsItsBurstThenTooManyRequestsIsReturnedToEveryClient() throws Exception {
+        //given
+        Beer hotBeer = saveBeer("Beer Limited");
+        Beer otherBeer = saveBeer("Beer Not Limited");
+        for (int i = 0; i < 5; i++) {
+            increment(hotBeer, "client " + i).andExpect(status().isOk());
+        }
+
+        //then
+        increment(hotBeer, "client 5").andExpect(status().isTooManyRequests());
+        increment(otherBeer, "client 6").andExpect(status().isOk());
+    }
+
+    @Test
+    void whenClientCreatesBeyondItsBurstThenCreatesAreNotLimited() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(post(BEER_API_URL_PATH)
+                    .header(CLIENT_HEADER, "catalog client")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(JsonConverterUtils.DTOtoJsonString(BeerDTOBuilder.builder().id(null).name("Unlimited " + i).build().toBeerDTO())))
+                    .andExpect(status().isCreated());
+        }
+    }
+
+    private ResultActions increment(Beer beer, String client) throws Exception {
+        return mockMvc.perform(patch(BEER_API_URL_PATH + "/" + beer.getId() + "/increment")
+                .header(CLIENT_HEADER, client)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonConverterUtils.DTOtoJsonString(QuantityDTO.builder().quantity(1).build())));
+    }
+
+    private Beer saveBeer(String name) {
+        return beerRepository.save(BeerMapper.INSTANCE.toModel(BeerDTOBuilder.builder()
+                .id(null)
+                .name(name)
+                .quantity(0)
+                .max(100)
+                .build()
+                .toBeerDTO()));
+    }
+}
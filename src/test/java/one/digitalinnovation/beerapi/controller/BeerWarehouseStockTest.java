@@ -0,0 +1,218 @@
+package one.digitalinnovation.beerapi.controller;
+
+import one.digitalinnovation.beerapi.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerapi.dto.QuantityDTO;
+import one.digitalinnovation.beerapi.dto.WarehouseStockDTO;
+import one.digitalinnovation.beerapi.entity.Beer;
+import one.digitalinnovation.beerapi.mapper.BeerMapper;
+import one.digitalinnovation.beerapi.repository.BeerRepository;
+import one.digitalinnovation.beerapi.repository.WarehouseStockRepository;
+import one.digitalinnovation.beerapi.service.BeerService;
+import one.digitalinnovation.beerapi.utils.JsonConverterUtils;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class BeerWarehouseStockTest {
+
+    private static final String BEER_API_URL_PATH = "/api/v1/beer";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @Autowired
+    private WarehouseStockRepository warehouseStockRepository;
+
+    @SpyBean
+    private BeerService beerService;
+
+    @AfterEach
+    void tearDown() {
+        beerRepository.deleteAll();
+    }
+
+    @Test
+    void whenWarehouseIsAddedThenItsCapacityIsPartOfTheBeerTotals() throws Exception {
+        //given
+        Beer beer = saveBeer("Warehouse Added", 30, 100);
+
+        //when
+        updateCapacity(beer, "north", 200)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.warehouse", Matchers.is("north")))
+                .andExpect(jsonPath("$.quantity", Matchers.is(0)))
+                .andExpect(jsonPath("$.max", Matchers.is(200)));
+
+        //then
+        mockMvc.perform(get(BEER_API_URL_PATH + "/" + beer.getId() + "/warehouses"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].warehouse", Matchers.is("main")))
+                .andExpect(jsonPath("$[0].quantity", Matchers.is(30)))
+                .andExpect(jsonPath("$[0].max", Matchers.is(100)))
+                .andExpect(jsonPath("$[1].warehouse", Matchers.is("north")));
+        mockMvc.perform(get(BEER_API_URL_PATH + "/" + beer.getName()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantity", Matchers.is(30)))
+                .andExpect(jsonPath("$.max", Matchers.is(300)));
+    }
+
+    @Test
+    void whenWarehouseStockIsAdjustedThenTheBeerTotalsFollow() throws Exception {
+        //given
+        Beer beer = saveBeer("Warehouse Adjusted", 30, 100);
+        updateCapacity(beer, "north", 200).andExpect(status().isOk());
+
+        //when
+        adjust(beer, "increment", "north", 80)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantity", Matchers.is(110)));
+        adjust(beer, "decrement", "north", 20)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantity", Matchers.is(90)));
+
+        //then
+        assertThat(warehouseStockRepository.findByBeerIdAndWarehouse(beer.getId(), "north").get().getQuantity(), is(equalTo(60)));
+        Beer adjustedBeer = beerRepository.findById(beer.getId()).get();
+        assertThat(adjustedBeer.getQuantity(), is(equalTo(90)));
+        assertThat(adjustedBeer.getWarehouseQuantity(), is(equalTo(60)));
+    }
+
+    @Test
+    void whenWarehouseCapacityIsExceededThenBadRequestIsReturnedEvenIfTheTotalHasRoom() throws Exception {
+        //given
+        Beer beer = saveBeer("Warehouse Exceeded", 0, 100);
+        updateCapacity(beer, "north", 50).andExpect(status().isOk());
+
+        //then
+        adjust(beer, "increment", "north", 60).andExpect(status().isBadRequest());
+        adjust(beer, "decrement", "north", 1).andExpect(status().isBadRequest());
+        assertThat(beerRepository.findById(beer.getId()).get().getQuantity(), is(equalTo(0)));
+    }
+
+    @Test
+    void whenDefaultWarehouseIsAdjustedThenStockOfOtherWarehousesIsNotUsed() throws Exception {
+        //given
+        Beer beer = saveBeer("Warehouse Default", 10, 100);
+        updateCapacity(beer, "north", 100).andExpect(status().isOk());
+        adjust(beer, "increment", "north", 50).andExpect(status().isOk());
+
+        //then
+        mockMvc.perform(patch(BEER_API_URL_PATH + "/" + beer.getId() + "/decrement")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonConverterUtils.DTOtoJsonString(QuantityDTO.builder().quantity(20).build())))
+                .andExpect(status().isBadRequest());
+        adjust(beer, "decrement", "main", 10)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantity", Matchers.is(50)));
+        mockMvc.perform(patch(BEER_API_URL_PATH + "/" + beer.getId() + "/increment")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonConverterUtils.DTOtoJsonString(QuantityDTO.builder().quantity(100).build())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantity", Matchers.is(150)));
+    }
+
+    @Test
+    void whenDefaultWarehouseIsFullThenTheErrorNamesItsOwnCapacity() throws Exception {
+        //given
+        Beer beer = saveBeer("Warehouse Default Full", 10, 100);
+        updateCapacity(beer, "north", 200).andExpect(status().isOk());
+
+        //then
+        adjust(beer, "increment", "main", 95)
+                .andExpect(status().isBadRequest())
+                .andExpect(result -> assertThat(result.getResolvedException().getMessage(), is(equalTo(
+                        "Beer Warehouse Default Full can't be incremented by 95 in warehouse main due to its stock capacity (100)"))));
+    }
+
+    @Test
+    void whenDefaultWarehouseIsAdjustedThenNoTransactionIsHeldAroundTheBeerService() throws Exception {
+        //given
+        Beer beer = saveBeer("Warehouse Default Outside", 10, 100);
+        List<Boolean> transactionActive = new ArrayList<>();
+        doAnswer(invocation -> {
+            transactionActive.add(TransactionSynchronizationManager.isActualTransactionActive());
+            return invocation.callRealMethod();
+        }).when(beerService).incrementBeer(beer.getId(), 5);
+
+        //when
+        adjust(beer, "increment", "main", 5)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantity", Matchers.is(15)));
+
+        //then
+        assertThat(transactionActive, contains(false));
+    }
+
+    @Test
+    void whenWarehouseIsUnknownThenNotFoundIsReturned() throws Exception {
+        //given
+        Beer beer = saveBeer("Warehouse Unknown", 10, 100);
+
+        //then
+        adjust(beer, "increment", "south", 5).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void whenWarehouseCapacityIsBelowItsStockThenBadRequestIsReturned() throws Exception {
+        //given
+        Beer beer = saveBeer("Warehouse Shrunk", 40, 100);
+        updateCapacity(beer, "north", 100).andExpect(status().isOk());
+        adjust(beer, "increment", "north", 70).andExpect(status().isOk());
+
+        //then
+        updateCapacity(beer, "north", 60).andExpect(status().isBadRequest());
+        updateCapacity(beer, "main", 30).andExpect(status().isBadRequest());
+        updateCapacity(beer, "north", 80).andExpect(status().isOk());
+        Beer resizedBeer = beerRepository.findById(beer.getId()).get();
+        assertThat(resizedBeer.getMax(), is(equalTo(180)));
+        assertThat(resizedBeer.getWarehouseMax(), is(equalTo(80)));
+    }
+
+    private ResultActions updateCapacity(Beer beer, String warehouse, int max) throws Exception {
+        return mockMvc.perform(put(BEER_API_URL_PATH + "/" + beer.getId() + "/warehouses/" + warehouse)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonConverterUtils.DTOtoJsonString(WarehouseStockDTO.builder().max(max).build())));
+    }
+
+    private ResultActions adjust(Beer beer, String operation, String warehouse, int quantity) throws Exception {
+        return mockMvc.perform(patch(BEER_API_URL_PATH + "/" + beer.getId() + "/" + operation)
+                .param("warehouse", warehouse)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonConverterUtils.DTOtoJsonString(QuantityDTO.builder().quantity(quantity).build())));
+    }
+
+    private Beer saveBeer(String name, int quantity, int max) {
+        return beerRepository.save(BeerMapper.INSTANCE.toModel(BeerDTOBuilder.builder()
+                .id(null)
+                .name(name)
+                .quantity(quantity)
+                .max(max)
+                .build()
+                .toBeerDTO()));
+    }
+}
@@ -0,0 +1,126 @@
+package one.digitalinnovation.beerapi.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource firstReplica;
+
+    @Mock
+    private DataSource secondReplica;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replicaConnection;
+
+    private final AtomicLong now = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+        ReadYourWrites.end();
+    }
+
+    @Test
+    void whenTransactionIsReadOnlyThenReplicasAreUsedInTurn() throws SQLException {
+        //given
+        ReplicaRoutingDataSource dataSource = routingDataSource(firstReplica, secondReplica);
+        when(firstReplica.getConnection()).thenReturn(replicaConnection);
+        when(secondReplica.getConnection()).thenReturn(replicaConnection);
+
+        //when
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        //then
+        verify(firstReplica).getConnection();
+        verify(secondReplica).getConnection();
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    void whenTransactionIsReadWriteOrMissingThenPrimaryIsUsed() throws SQLException {
+        //given
+        ReplicaRoutingDataSource dataSource = routingDataSource(firstReplica);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        //when
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        Connection readWriteConnection = dataSource.getConnection();
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        Connection nonTransactionalConnection = dataSource.getConnection();
+
+        //then
+        assertThat(readWriteConnection, is(sameInstance(primaryConnection)));
+        assertThat(nonTransactionalConnection, is(sameInstance(primaryConnection)));
+        verifyNoInteractions(firstReplica);
+    }
+
+    @Test
+    void whenReplicaFailsThenPrimaryIsUsedUntilTheRetryInterval() throws SQLException {
+        //given
+        ReplicaRoutingDataSource dataSource = routingDataSource(firstReplica);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(firstReplica.getConnection()).thenThrow(new SQLException("replica down")).thenReturn(replicaConnection);
+
+        //then
+        assertThat(dataSource.getConnection(), is(sameInstance(primaryConnection)));
+        now.addAndGet(Duration.ofSeconds(29).toNanos());
+        assertThat(dataSource.getConnection(), is(sameInstance(primaryConnection)));
+        verify(firstReplica, times(1)).getConnection();
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(dataSource.getConnection(), is(sameInstance(replicaConnection)));
+    }
+
+    @Test
+    void whenRequestHasWrittenThenItsReadsStayOnThePrimary() throws SQLException {
+        //given
+        ReplicaRoutingDataSource dataSource = routingDataSource(firstReplica);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        ReadYourWrites.begin();
+
+        //when
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        dataSource.getConnection();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        //then
+        assertThat(dataSource.getConnection(), is(sameInstance(primaryConnection)));
+        verifyNoInteractions(firstReplica);
+    }
+
+    private ReplicaRoutingDataSource routingDataSource(DataSource... replicas) {
+        return new ReplicaRoutingDataSource(primary, Arrays.asList(replicas), Duration.ofSeconds(30), now::get);
+    }
+}
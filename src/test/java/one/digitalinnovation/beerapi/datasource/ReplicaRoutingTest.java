@@ -0,0 +1,105 @@
+package one.digitalinnovation.beerapi.datasource;
+
+import one.digitalinnovation.beerapi.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerapi.dto.BeerDTO;
+import one.digitalinnovation.beerapi.mapper.BeerMapper;
+import one.digitalinnovation.beerapi.repository.BeerRepository;
+import one.digitalinnovation.beerapi.service.BeerService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicaRoutingTest.PRIMARY_URL,
+        "beer.datasource.replicas.enabled=true",
+        "beer.datasource.replicas.urls=" + ReplicaRoutingTest.REPLICA_URL
+})
+public class ReplicaRoutingTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:replica-routing-primary;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+    static final String REPLICA_URL = "jdbc:h2:mem:replica-routing-replica;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @Autowired
+    private ReadYourWritesFilter readYourWritesFilter;
+
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @AfterEach
+    void tearDown() {
+        beerRepository.deleteAll();
+    }
+
+    @Test
+    void whenReadOnlyServiceMethodIsCalledThenItReadsTheReplica() {
+        //given
+        saveBeer("Replicated");
+        replicate();
+        saveBeer("Lagging");
+
+        //when
+        List<String> names = beerNames(beerService.listAllBeers());
+
+        //then
+        assertThat(names, contains("Replicated"));
+        assertThat(beerRepository.findBeerByName("Lagging").isPresent(), is(true));
+    }
+
+    @Test
+    void whenRequestHasWrittenThenItsReadsGoToThePrimary() throws Exception {
+        //given
+        replicate();
+        List<String> namesInRequest = new ArrayList<>();
+
+        //when
+        readYourWritesFilter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), (request, response) -> {
+            try {
+                beerService.createBeer(newBeer("Written"));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            namesInRequest.addAll(beerNames(beerService.listAllBeers()));
+        });
+
+        //then
+        assertThat(namesInRequest, contains("Written"));
+        assertThat(beerNames(beerService.listAllBeers()), is(empty()));
+    }
+
+    // H2 has no replication: copy the primary's beer table into the replica, which then lags behind until the next copy
+    private void replicate() {
+        replica.execute("drop table if exists beer");
+        replica.execute("drop table if exists primary_beer");
+        replica.execute("create linked table primary_beer('org.h2.Driver', '" + PRIMARY_URL + "', 'sa', '', 'BEER')");
+        replica.execute("create table beer as select * from primary_beer");
+    }
+
+    private void saveBeer(String name) {
+        beerRepository.save(BeerMapper.INSTANCE.toModel(newBeer(name)));
+    }
+
+    private BeerDTO newBeer(String name) {
+        return BeerDTOBuilder.builder().id(null).name(name).build().toBeerDTO();
+    }
+
+    private List<String> beerNames(List<BeerDTO> beers) {
+        return beers.stream().map(BeerDTO::getName).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,75 @@
+package one.digitalinnovation.beerapi.event;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import one.digitalinnovation.beerapi.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerapi.dto.BeerDTO;
+import one.digitalinnovation.beerapi.enums.BeerEventType;
+import one.digitalinnovation.beerapi.enums.BeerType;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class BeerEventBroadcasterTest {
+
+    @Test
+    void whenSubscriptionHasTypeFilterThenOtherTypesAreIgnored() {
+        //given
+        BeerEventBroadcaster.Subscription subscription = new BeerEventBroadcaster.Subscription(new SseEmitter(), BeerType.LAGER, null, 10);
+
+        //then
+        assertThat(subscription.accepts(event(BeerEventType.INCREMENTED, BeerType.LAGER, 30)), is(true));
+        assertThat(subscription.accepts(event(BeerEventType.INCREMENTED, BeerType.WITBIER, 30)), is(false));
+    }
+
+    @Test
+    void whenSubscriptionHasThresholdThenOnlyBeersNearZeroOrMaxAreAccepted() {
+        //given
+        BeerEventBroadcaster.Subscription subscription = new BeerEventBroadcaster.Subscription(new SseEmitter(), null, 5, 10);
+
+        //then
+        assertThat(subscription.accepts(event(BeerEventType.DECREMENTED, BeerType.LAGER, 5)), is(true));
+        assertThat(subscription.accepts(event(BeerEventType.INCREMENTED, BeerType.LAGER, 96)), is(true));
+        assertThat(subscription.accepts(event(BeerEventType.INCREMENTED, BeerType.LAGER, 50)), is(false));
+        assertThat(subscription.accepts(event(BeerEventType.DELETED, BeerType.LAGER, 50)), is(true));
+    }
+
+    @Test
+    void whenSubscriberBufferIsFullThenOldestEventIsDropped() {
+        //given
+        BeerEventBroadcaster.Subscription subscription = new BeerEventBroadcaster.Subscription(new SseEmitter(), null, null, 2);
+
+        //when
+        boolean first = subscription.offer(new BeerEventBroadcaster.SequencedEvent(1, event(BeerEventType.INCREMENTED, BeerType.LAGER, 1)));
+        boolean second = subscription.offer(new BeerEventBroadcaster.SequencedEvent(2, event(BeerEventType.INCREMENTED, BeerType.LAGER, 2)));
+        boolean third = subscription.offer(new BeerEventBroadcaster.SequencedEvent(3, event(BeerEventType.INCREMENTED, BeerType.LAGER, 3)));
+
+        //then
+        assertThat(first && second, is(true));
+        assertThat(third, is(false));
+        assertThat(subscription.buffered(), is(equalTo(2)));
+    }
+
+    @Test
+    void whenBroadcasterShutsDownThenSubscribersAreReleased() {
+        //given
+        BeerEventBroadcaster beerEventBroadcaster = new BeerEventBroadcaster(10, Duration.ofMinutes(1), 1, new SimpleMeterRegistry());
+
+        //when
+        beerEventBroadcaster.subscribe(null, null);
+        beerEventBroadcaster.onBeerChanged(event(BeerEventType.INCREMENTED, BeerType.LAGER, 30));
+
+        //then
+        assertThat(beerEventBroadcaster.getSubscriberCount(), is(equalTo(1)));
+        beerEventBroadcaster.shutdown();
+        assertThat(beerEventBroadcaster.getSubscriberCount(), is(equalTo(0)));
+    }
+
+    private static BeerChangedEvent event(BeerEventType eventType, BeerType beerType, int quantity) {
+        BeerDTO beerDTO = BeerDTOBuilder.builder().type(beerType).quantity(quantity).build().toBeerDTO();
+        return new BeerChangedEvent(eventType, beerDTO);
+    }
+}
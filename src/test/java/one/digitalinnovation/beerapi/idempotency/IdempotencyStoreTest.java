@@ -0,0 +1,159 @@
+package one.digitalinnovation.beerapi.idempotency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import one.digitalinnovation.beerapi.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerapi.dto.BeerDTO;
+import one.digitalinnovation.beerapi.exception.BeerNotFoundException;
+import one.digitalinnovation.beerapi.exception.IdempotencyKeyReusedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class IdempotencyStoreTest {
+
+    private static final String KEY = "3f1c2a9e-retry";
+    private static final String FINGERPRINT = "increment:1:10";
+
+    private IdempotencyStore idempotencyStore;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyStore = new IdempotencyStore(1000, Duration.ofHours(1), "", new SimpleMeterRegistry());
+    }
+
+    @Test
+    void whenKeyIsRetriedThenRecordedBeerIsReturnedWithoutRunningMutationAgain() throws Exception {
+        //given
+        BeerDTO beerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+        AtomicInteger executions = new AtomicInteger();
+        StockMutation mutation = () -> {
+            executions.incrementAndGet();
+            return beerDTO;
+        };
+
+        //when
+        BeerDTO first = idempotencyStore.execute(KEY, FINGERPRINT, mutation);
+        BeerDTO retried = idempotencyStore.execute(KEY, FINGERPRINT, mutation);
+
+        //then
+        assertThat(executions.get(), is(equalTo(1)));
+        assertThat(retried, is(sameInstance(first)));
+    }
+
+    @Test
+    void whenMutationFailsWithDomainErrorThenRetryGetsTheSameError() throws Exception {
+        //given
+        AtomicInteger executions = new AtomicInteger();
+        StockMutation mutation = () -> {
+            executions.incrementAndGet();
+            throw new BeerNotFoundException(1L);
+        };
+        BeerNotFoundException first = assertThrows(BeerNotFoundException.class,
+                () -> idempotencyStore.execute(KEY, FINGERPRINT, mutation));
+
+        //when
+        BeerNotFoundException retried = assertThrows(BeerNotFoundException.class,
+                () -> idempotencyStore.execute(KEY, FINGERPRINT, mutation));
+
+        //then
+        assertThat(executions.get(), is(equalTo(1)));
+        assertThat(retried, is(sameInstance(first)));
+    }
+
+    @Test
+    void whenMutationFailsUnexpectedlyThenRetryRunsItAgain() throws Exception {
+        //given
+        BeerDTO beerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+        AtomicInteger executions = new AtomicInteger();
+        StockMutation mutation = () -> {
+            if (executions.incrementAndGet() == 1) {
+                throw new QueryTimeoutException("timeout");
+            }
+            return beerDTO;
+        };
+        assertThrows(QueryTimeoutException.class, () -> idempotencyStore.execute(KEY, FINGERPRINT, mutation));
+
+        //when
+        BeerDTO retried = idempotencyStore.execute(KEY, FINGERPRINT, mutation);
+
+        //then
+        assertThat(executions.get(), is(equalTo(2)));
+        assertThat(retried, is(equalTo(beerDTO)));
+    }
+
+    @Test
+    void whenKeyIsReusedForAnotherRequestThenItIsRejected() throws Exception {
+        //given
+        BeerDTO beerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+        idempotencyStore.execute(KEY, FINGERPRINT, () -> beerDTO);
+
+        //then
+        assertThrows(IdempotencyKeyReusedException.class,
+                () -> idempotencyStore.execute(KEY, "decrement:1:10", () -> beerDTO));
+    }
+
+    @Test
+    void whenTwoClientsUseTheSameKeyThenEachGetsItsOwnOutcome() throws Exception {
+        //given
+        BeerDTO incrementedBeer = BeerDTOBuilder.builder().quantity(40).build().toBeerDTO();
+        BeerDTO decrementedBeer = BeerDTOBuilder.builder().quantity(20).build().toBeerDTO();
+
+        //when
+        BeerDTO first = idempotencyStore.execute("client-a", KEY, FINGERPRINT, () -> incrementedBeer);
+        BeerDTO second = idempotencyStore.execute("client-b", KEY, "decrement:1:10", () -> decrementedBeer);
+
+        //then
+        assertThat(first, is(sameInstance(incrementedBeer)));
+        assertThat(second, is(sameInstance(decrementedBeer)));
+        assertThat(idempotencyStore.execute("client-a", KEY, FINGERPRINT, () -> decrementedBeer), is(sameInstance(incrementedBeer)));
+    }
+
+    @Test
+    void whenDuplicatesArriveConcurrentlyThenMutationRunsOnce() throws Exception {
+        //given
+        BeerDTO beerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        StockMutation mutation = () -> {
+            executions.incrementAndGet();
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return beerDTO;
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            //when
+            Future<BeerDTO> first = executor.submit(() -> idempotencyStore.execute(KEY, FINGERPRINT, mutation));
+            started.await(5, TimeUnit.SECONDS);
+            Future<BeerDTO> second = executor.submit(() -> idempotencyStore.execute(KEY, FINGERPRINT, mutation));
+            Future<BeerDTO> third = executor.submit(() -> idempotencyStore.execute(KEY, FINGERPRINT, mutation));
+            release.countDown();
+
+            //then
+            assertThat(first.get(5, TimeUnit.SECONDS), is(equalTo(beerDTO)));
+            assertThat(second.get(5, TimeUnit.SECONDS), is(equalTo(beerDTO)));
+            assertThat(third.get(5, TimeUnit.SECONDS), is(equalTo(beerDTO)));
+            assertThat(executions.get(), is(equalTo(1)));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package one.digitalinnovation.beerapi.ledger;
+
+import one.digitalinnovation.beerapi.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerapi.changelog.BeerChangeLog;
+import one.digitalinnovation.beerapi.dto.BeerDTO;
+import one.digitalinnovation.beerapi.dto.StockAdjustmentDTO;
+import one.digitalinnovation.beerapi.mapper.BeerMapper;
+import one.digitalinnovation.beerapi.repository.BeerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class StockLedgerTest {
+
+    @Mock
+    private BeerRepository beerRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ObjectProvider<BeerChangeLog> beerChangeLog;
+
+    private StockLedger stockLedger;
+
+    @BeforeEach
+    void setUp() {
+        stockLedger = new StockLedger(beerRepository, new TransactionTemplate(transactionManager), beerChangeLog, true, Duration.ofSeconds(1));
+    }
+
+    @Test
+    void whenAdjustmentStaysWithinBoundsThenQuantityIsUpdated() {
+        //given
+        BeerDTO beerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+        stockLedger.register(beerDTO);
+
+        //then
+        assertThat(stockLedger.adjust(beerDTO.getId(), 70).get().getQuantity(), is(equalTo(100)));
+        assertThat(stockLedger.adjust(beerDTO.getId(), -100).get().getQuantity(), is(equalTo(0)));
+    }
+
+    @Test
+    void whenAdjustmentCrossesBoundsThenItIsRejected() {
+        //given
+        BeerDTO beerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+        stockLedger.register(beerDTO);
+
+        //then
+        assertThat(stockLedger.adjust(beerDTO.getId(), 71).isPresent(), is(false));
+        assertThat(stockLedger.adjust(beerDTO.getId(), -31).isPresent(), is(false));
+        assertThat(stockLedger.adjust(2L, 1).isPresent(), is(false));
+        assertThat(stockLedger.find(beerDTO.getId()).get().getQuantity(), is(equalTo(30)));
+    }
+
+    @Test
+    void whenAdjustedConcurrentlyThenFinalQuantityIsExact() throws Exception {
+        //given
+        BeerDTO beerDTO = BeerDTOBuilder.builder().quantity(0).max(5000).build().toBeerDTO();
+        stockLedger.register(beerDTO);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        //when
+        for (int i = 0; i < 10000; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return stockLedger.adjust(beerDTO.getId(), 1).isPresent();
+            }));
+        }
+        start.countDown();
+        long accepted = 0;
+        for (Future<Boolean> result : results) {
+            accepted += result.get() ? 1 : 0;
+        }
+        executor.shutdown();
+
+        //then
+        assertThat(accepted, is(equalTo(5000L)));
+        assertThat(stockLedger.find(beerDTO.getId()).get().getQuantity(), is(equalTo(5000)));
+    }
+
+    @Test
+    void whenFlushedThenDeltasAreCoalescedPerBeer() {
+        //given
+        BeerDTO beerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+        stockLedger.register(beerDTO);
+        stockLedger.adjust(beerDTO.getId(), 10);
+        stockLedger.adjust(beerDTO.getId(), -3);
+        stockLedger.adjust(beerDTO.getId(), 5);
+
+        //then
+        assertThat(stockLedger.flush(), is(equalTo(1)));
+        verify(beerRepository, times(1)).applyQuantityDeltas(Collections.singletonList(StockAdjustmentDTO.builder().id(beerDTO.getId()).delta(12).build()));
+        assertThat(stockLedger.flush(), is(equalTo(0)));
+    }
+
+    @Test
+    void whenFlushFailsThenDeltasAreKeptForTheNextFlush() {
+        //given
+        BeerDTO beerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+        stockLedger.register(beerDTO);
+        stockLedger.adjust(beerDTO.getId(), 10);
+
+        //when
+        when(beerRepository.applyQuantityDeltas(anyList())).thenThrow(new QueryTimeoutException("timeout")).thenReturn(new int[]{1});
+
+        //then
+        assertThrows(QueryTimeoutException.class, () -> stockLedger.flush());
+        assertThat(stockLedger.flush(), is(equalTo(1)));
+        verify(beerRepository, times(2)).applyQuantityDeltas(Collections.singletonList(StockAdjustmentDTO.builder().id(beerDTO.getId()).delta(10).build()));
+    }
+
+    @Test
+    void whenReloadedThenQuantitiesComeFromTheRepository() {
+        //given
+        BeerDTO beerDTO = BeerDTOBuilder.builder().quantity(42).build().toBeerDTO();
+
+        //when
+        when(beerRepository.findAll()).thenReturn(Collections.singletonList(BeerMapper.INSTANCE.toModel(beerDTO)));
+
+        //then
+        stockLedger.reload();
+        assertThat(stockLedger.find(beerDTO.getId()).get(), is(equalTo(beerDTO)));
+    }
+
+    @Test
+    void whenRegisteredInsideATransactionThenTheBeerIsOnlyTrackedOnceItCommits() {
+        //given
+        BeerDTO committedBeer = BeerDTOBuilder.builder().build().toBeerDTO();
+        BeerDTO rolledBackBeer = BeerDTOBuilder.builder().id(2L).name("Skol").build().toBeerDTO();
+
+        //when
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            stockLedger.register(committedBeer);
+            assertThat(stockLedger.find(committedBeer.getId()).isPresent(), is(false));
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            stockLedger.register(rolledBackBeer);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        //then
+        assertThat(stockLedger.find(committedBeer.getId()).isPresent(), is(true));
+        assertThat(stockLedger.find(rolledBackBeer.getId()).isPresent(), is(false));
+    }
+}
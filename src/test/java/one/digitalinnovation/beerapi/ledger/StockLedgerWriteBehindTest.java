@@ -0,0 +1,121 @@
+package one.digitalinnovation.beerapi.ledger;
+
+import one.digitalinnovation.beerapi.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerapi.changelog.BeerChangeLog;
+import one.digitalinnovation.beerapi.dto.BeerChangeDTO;
+import one.digitalinnovation.beerapi.dto.BeerDTO;
+import one.digitalinnovation.beerapi.enums.BeerEventType;
+import one.digitalinnovation.beerapi.event.BeerChangedEvent;
+import one.digitalinnovation.beerapi.repository.BeerRepository;
+import one.digitalinnovation.beerapi.service.BeerService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+
+@SpringBootTest(properties = {
+        "beer.stock.ledger.enabled=true",
+        "beer.stock.ledger.flush-interval=1h"
+})
+public class StockLedgerWriteBehindTest {
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @SpyBean
+    private BeerChangeLog beerChangeLog;
+
+    @AfterEach
+    void tearDown() {
+        beerRepository.deleteAll();
+    }
+
+    @Test
+    void whenStockIsChangedThenItIsServedFromLedgerAndPersistedOnFlush() throws Exception {
+        //given
+        BeerDTO createdBeerDTO = beerService.createBeer(BeerDTOBuilder.builder().id(null).build().toBeerDTO());
+
+        //when
+        beerService.incrementBeer(createdBeerDTO.getId(), 20);
+        beerService.decrementBeer(createdBeerDTO.getId(), 5);
+
+        //then
+        assertThat(beerRepository.findById(createdBeerDTO.getId()).get().getQuantity(), is(equalTo(30)));
+        assertThat(beerService.findBeerByName(createdBeerDTO.getName()).getQuantity(), is(equalTo(45)));
+
+        stockLedger.flush();
+        assertThat(beerRepository.findById(createdBeerDTO.getId()).get().getQuantity(), is(equalTo(45)));
+    }
+
+    @Test
+    void whenLedgerIsReloadedThenPersistedQuantitiesAreRestored() throws Exception {
+        //given
+        BeerDTO createdBeerDTO = beerService.createBeer(BeerDTOBuilder.builder().id(null).build().toBeerDTO());
+        beerService.incrementBeer(createdBeerDTO.getId(), 20);
+        stockLedger.flush();
+
+        //when
+        stockLedger.reload();
+
+        //then
+        assertThat(stockLedger.find(createdBeerDTO.getId()).get().getQuantity(), is(equalTo(50)));
+    }
+
+    @Test
+    void whenTheChangeLogFailsThenTheLedgerAdjustmentIsRolledBack() throws Exception {
+        //given
+        BeerDTO createdBeerDTO = beerService.createBeer(BeerDTOBuilder.builder().id(null).build().toBeerDTO());
+        doThrow(new DataAccessResourceFailureException("beer_change unavailable"))
+                .when(beerChangeLog).onBeerChanged(argThat(BeerChangedEvent::isWriteBehind));
+
+        //when
+        assertThrows(DataAccessResourceFailureException.class, () -> beerService.incrementBeer(createdBeerDTO.getId(), 20));
+
+        //then
+        assertThat(stockLedger.find(createdBeerDTO.getId()).get().getQuantity(), is(equalTo(30)));
+        assertThat(stockLedger.flush(), is(equalTo(0)));
+    }
+
+    @Test
+    void whenLedgerIsFlushedThenTheChangeFeedGetsTheNetChangePerBeer() throws Exception {
+        //given
+        BeerDTO createdBeerDTO = beerService.createBeer(BeerDTOBuilder.builder().id(null).build().toBeerDTO());
+        beerService.incrementBeer(createdBeerDTO.getId(), 20);
+        beerService.decrementBeer(createdBeerDTO.getId(), 5);
+        assertThat(changesOf(createdBeerDTO.getId()), contains(BeerEventType.CREATED));
+
+        //when
+        stockLedger.flush();
+
+        //then
+        assertThat(changesOf(createdBeerDTO.getId()), contains(BeerEventType.CREATED, BeerEventType.INCREMENTED));
+        BeerChangeDTO flushedChange = beerChangeLog.changesSince(0, 1000).stream()
+                .filter(change -> change.getBeer().getId().equals(createdBeerDTO.getId()) && change.getType() == BeerEventType.INCREMENTED)
+                .findFirst().get();
+        assertThat(flushedChange.getBeer().getQuantity(), is(equalTo(45)));
+    }
+
+    private List<BeerEventType> changesOf(Long id) {
+        return beerChangeLog.changesSince(0, 1000).stream()
+                .filter(change -> change.getBeer().getId().equals(id))
+                .map(BeerChangeDTO::getType)
+                .collect(Collectors.toList());
+    }
+}
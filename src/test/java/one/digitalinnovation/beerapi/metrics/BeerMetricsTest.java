@@ -0,0 +1,59 @@
+package one.digitalinnovation.beerapi.metrics;
+
+import one.digitalinnovation.beerapi.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerapi.dto.BeerDTO;
+import one.digitalinnovation.beerapi.enums.BeerType;
+import one.digitalinnovation.beerapi.exception.BeerNotFoundException;
+import one.digitalinnovation.beerapi.repository.BeerRepository;
+import one.digitalinnovation.beerapi.service.BeerService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+public class BeerMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @AfterEach
+    void tearDown() {
+        beerRepository.deleteAll();
+    }
+
+    @Test
+    void whenServiceOperationsRunThenTimersCountersAndGaugesAreScraped() throws Exception {
+        //given
+        BeerDTO beerDTO = BeerDTOBuilder.builder().id(null).type(BeerType.STOUT).quantity(42).build().toBeerDTO();
+
+        //when
+        beerService.createBeer(beerDTO);
+        assertThrows(BeerNotFoundException.class, () -> beerService.findBeerByName("Nonexistent"));
+
+        //then
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("beer_service_seconds_bucket{")))
+                .andExpect(content().string(containsString("operation=\"create\"")))
+                .andExpect(content().string(containsString("beer_service_exceptions_total{exception=\"BeerNotFoundException\",method=\"findBeerByName\",}")))
+                .andExpect(content().string(containsString("beer_stock_units{type=\"STOUT\",} 42.0")));
+    }
+}
@@ -0,0 +1,71 @@
+package one.digitalinnovation.beerapi.repository;
+
+import one.digitalinnovation.beerapi.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerapi.entity.Beer;
+import one.digitalinnovation.beerapi.enums.BeerType;
+import one.digitalinnovation.beerapi.mapper.BeerMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@DataJpaTest
+public class BeerRepositoryTest {
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        beerRepository.saveAll(Arrays.asList(
+                beer("Faxe Witbier", "Faxe", BeerType.WITBIER, 30),
+                beer("Faxe Lager", "Faxe", BeerType.LAGER, 5),
+                beer("Brahma Lager", "Ambev", BeerType.LAGER, 80)));
+    }
+
+    @Test
+    void whenFilteringByBrandAndTypeThenMatchingBeersAreReturned() {
+        assertThat(names(beerRepository.findByBrand("Faxe")), containsInAnyOrder("Faxe Witbier", "Faxe Lager"));
+        assertThat(names(beerRepository.findByBrandAndType("Faxe", BeerType.LAGER)), contains("Faxe Lager"));
+        assertThat(names(beerRepository.findByType(BeerType.LAGER)), containsInAnyOrder("Faxe Lager", "Brahma Lager"));
+    }
+
+    @Test
+    void whenFilteringByLowStockThenOnlyBeersAtOrBelowThresholdAreReturned() {
+        assertThat(names(beerRepository.findByQuantityLessThanEqual(30)), containsInAnyOrder("Faxe Witbier", "Faxe Lager"));
+        assertThat(names(beerRepository.findByTypeAndQuantityLessThanEqual(BeerType.LAGER, 30)), contains("Faxe Lager"));
+    }
+
+    @Test
+    void whenQueryPlansAreExplainedThenIndexesAreUsed() {
+        assertThat(explain("select * from beer where name = 'Faxe Lager'"), not(containsString("tableScan")));
+        assertThat(explain("select * from beer where brand = 'Faxe'"), containsString("IDX_BEER_BRAND_TYPE"));
+        assertThat(explain("select * from beer where brand = 'Faxe' and type = 'LAGER'"), containsString("IDX_BEER_BRAND_TYPE"));
+        assertThat(explain("select * from beer where type = 'LAGER'"), containsString("IDX_BEER_TYPE_QUANTITY"));
+        assertThat(explain("select * from beer where type = 'LAGER' and quantity <= 30"), containsString("IDX_BEER_TYPE_QUANTITY"));
+        assertThat(explain("select * from beer where quantity <= 30"), containsString("IDX_BEER_QUANTITY"));
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("explain " + sql, String.class);
+    }
+
+    private static Beer beer(String name, String brand, BeerType type, int quantity) {
+        return BeerMapper.INSTANCE.toModel(BeerDTOBuilder.builder().id(null).name(name).brand(brand).type(type).quantity(quantity).build().toBeerDTO());
+    }
+
+    private static List<String> names(List<Beer> beers) {
+        return beers.stream().map(Beer::getName).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,104 @@
+package one.digitalinnovation.beerapi.search;
+
+import one.digitalinnovation.beerapi.dto.BeerDTO;
+import one.digitalinnovation.beerapi.dto.BeerSearchHitDTO;
+import one.digitalinnovation.beerapi.enums.BeerType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class BeerSearchIndexTest {
+
+    private BeerSearchIndex beerSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        beerSearchIndex = new BeerSearchIndex(50, 10000);
+        add(1L, "Brahma Chopp", "Ambev");
+        add(2L, "Brahma Duplo Malte", "Ambev");
+        add(3L, "Colorado Appia", "Cervejaria Colorado");
+        add(4L, "Baden Baden Golden Ale", "Baden Baden");
+        add(5L, "Weißbier Überlingen", "Brauerei Überlingen");
+    }
+
+    @Test
+    void whenQueryIsAPrefixThenMatchingBeersAreReturnedShortestNameFirst() {
+        //when
+        List<String> names = names(beerSearchIndex.search("BRA", 10));
+
+        //then
+        assertThat(names, contains("Brahma Chopp", "Brahma Duplo Malte", "Weißbier Überlingen"));
+    }
+
+    @Test
+    void whenQueryHasSeveralTermsThenEveryTermMustMatch() {
+        //when
+        List<String> names = names(beerSearchIndex.search("brahma du", 10));
+
+        //then
+        assertThat(names, contains("Brahma Duplo Malte"));
+        assertThat(beerSearchIndex.search("brahma appia", 10), is(empty()));
+    }
+
+    @Test
+    void whenQueryIsMisspeltOrUnaccentedThenCloseTermsMatchBelowExactOnes() {
+        //when
+        List<BeerSearchHitDTO> hits = beerSearchIndex.search("colroado", 10);
+
+        //then
+        assertThat(names(hits), contains("Colorado Appia"));
+        assertThat(names(beerSearchIndex.search("uberlingen", 10)), contains("Weißbier Überlingen"));
+        assertThat(names(beerSearchIndex.search("bden", 10)), contains("Baden Baden Golden Ale"));
+        assertThat(hits.get(0).getScore(), is(lessThan(beerSearchIndex.search("colorado", 10).get(0).getScore())));
+    }
+
+    @Test
+    void whenNameMatchesThenItRanksAboveABrandMatch() {
+        //given
+        add(6L, "Ambev Reserva Especial Extra Longa", "Cervejaria Colorado");
+
+        //when
+        List<String> names = names(beerSearchIndex.search("ambev", 10));
+
+        //then
+        assertThat(names, contains("Ambev Reserva Especial Extra Longa", "Brahma Chopp", "Brahma Duplo Malte"));
+        assertThat(names(beerSearchIndex.search("ambev", 2)), contains("Ambev Reserva Especial Extra Longa", "Brahma Chopp"));
+    }
+
+    @Test
+    void whenBeerIsRemovedOrReplacedThenTheIndexFollows() {
+        //when
+        beerSearchIndex.remove(1L);
+        add(2L, "Brahma Extra", "Ambev");
+
+        //then
+        assertThat(names(beerSearchIndex.search("brahma", 10)), contains("Brahma Extra"));
+        assertThat(beerSearchIndex.search("chopp", 10), is(empty()));
+        assertThat(beerSearchIndex.search("duplo", 10), is(empty()));
+        assertThat(beerSearchIndex.search("chop", 10), is(empty()));
+        assertThat(beerSearchIndex.size(), is(equalTo(4)));
+    }
+
+    @Test
+    void whenTermsAreComparedThenOnlyOneEditApart() {
+        assertThat(BeerSearchIndex.withinOneEdit("malte", "malt"), is(true));
+        assertThat(BeerSearchIndex.withinOneEdit("malte", "malta"), is(true));
+        assertThat(BeerSearchIndex.withinOneEdit("malte", "mlate"), is(true));
+        assertThat(BeerSearchIndex.withinOneEdit("malte", "amlet"), is(false));
+        assertThat(BeerSearchIndex.withinOneEdit("malte", "mal"), is(false));
+        assertThat(BeerSearchIndex.tokenize(" Weißbier-Überlingen! "), contains("weißbier", "uberlingen"));
+    }
+
+    private void add(Long id, String name, String brand) {
+        beerSearchIndex.add(new BeerDTO(id, name, brand, 100, 10, BeerType.LAGER, 0L));
+    }
+
+    private List<String> names(List<BeerSearchHitDTO> hits) {
+        return hits.stream().map(BeerSearchHitDTO::getName).collect(Collectors.toList());
+    }
+}
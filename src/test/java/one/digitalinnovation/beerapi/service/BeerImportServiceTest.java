@@ -0,0 +1,194 @@
+package one.digitalinnovation.beerapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import one.digitalinnovation.beerapi.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerapi.cache.BeerCache;
+import one.digitalinnovation.beerapi.dto.BeerDTO;
+import one.digitalinnovation.beerapi.dto.BeerImportReportDTO;
+import one.digitalinnovation.beerapi.entity.Beer;
+import one.digitalinnovation.beerapi.ledger.StockLedger;
+import one.digitalinnovation.beerapi.repository.BeerRepository;
+import one.digitalinnovation.beerapi.sharding.BeerShards;
+import one.digitalinnovation.beerapi.utils.JsonConverterUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BeerImportServiceTest {
+
+    @Mock
+    private BeerRepository beerRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private BeerImportService beerImportService;
+
+    @BeforeEach
+    void setUp() {
+        beerImportService = new BeerImportService(beerRepository,
+                new BeerCache(100, Duration.ofMinutes(1), Duration.ofMinutes(1), new SimpleMeterRegistry()),
+                new StockLedger(beerRepository, null, null, false, Duration.ofSeconds(1)),
+                eventPublisher,
+                new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new TransactionTemplate(transactionManager),
+                new BeerShards(null, null, null, false, Collections.emptyList()),
+                2,
+                10);
+    }
+
+    @Test
+    void whenNdjsonBeersAreImportedThenTheyAreSavedInChunks() throws IOException {
+        //given
+        List<BeerDTO> beersToBeImported = Arrays.asList(beerNamed("First"), beerNamed("Second"), beerNamed("Third"));
+        String ndjson = beersToBeImported.stream().map(JsonConverterUtils::DTOtoJsonString).collect(Collectors.joining("\n"));
+        List<List<String>> savedChunks = new ArrayList<>();
+
+        //when
+        when(beerRepository.findAllNames()).thenReturn(Collections.emptyList());
+        when(beerRepository.saveAll(anyCollection())).then(invocation -> {
+            Iterable<Beer> chunk = invocation.getArgument(0);
+            List<String> names = new ArrayList<>();
+            chunk.forEach(beer -> names.add(beer.getName()));
+            savedChunks.add(names);
+            return Collections.emptyList();
+        });
+
+        //then
+        BeerImportReportDTO report = beerImportService.importBeers(toStream(ndjson));
+        assertThat(report.getReceived(), is(equalTo(3L)));
+        assertThat(report.getImported(), is(equalTo(3L)));
+        assertThat(report.getRejected(), is(equalTo(0L)));
+        assertThat(savedChunks, contains(Arrays.asList("First", "Second"), Collections.singletonList("Third")));
+    }
+
+    @Test
+    void whenJsonArrayWithInvalidAndDuplicatedBeersIsImportedThenTheyAreRejected() throws IOException {
+        //given
+        BeerDTO invalidBeer = beerNamed("Invalid");
+        invalidBeer.setBrand(null);
+        List<BeerDTO> beersToBeImported = Arrays.asList(beerNamed("Registered"), invalidBeer, beerNamed("New"), beerNamed("New"));
+        List<Long> savedIds = new ArrayList<>();
+
+        //when
+        when(beerRepository.findAllNames()).thenReturn(Collections.singletonList("Registered"));
+        when(beerRepository.saveAll(anyCollection())).then(invocation -> {
+            Iterable<Beer> chunk = invocation.getArgument(0);
+            chunk.forEach(beer -> savedIds.add(beer.getId()));
+            return Collections.emptyList();
+        });
+
+        //then
+        BeerImportReportDTO report = beerImportService.importBeers(toStream(JsonConverterUtils.DTOtoJsonString(beersToBeImported)));
+        assertThat(report.getReceived(), is(equalTo(4L)));
+        assertThat(report.getImported(), is(equalTo(1L)));
+        assertThat(report.getRejected(), is(equalTo(3L)));
+        assertThat(report.getRejects().stream().map(reject -> reject.getRow()).collect(Collectors.toList()), contains(1L, 2L, 4L));
+        assertThat(report.getRejects().get(1).getReason(), containsString("brand"));
+        assertThat(savedIds, contains(nullValue()));
+    }
+
+    @Test
+    void whenBeerHasAReservedNameThenItIsRejected() throws IOException {
+        //given
+        List<BeerDTO> beersToBeImported = Arrays.asList(beerNamed("First"), beerNamed("events"));
+
+        //when
+        when(beerRepository.findAllNames()).thenReturn(Collections.emptyList());
+        when(beerRepository.saveAll(anyCollection())).thenReturn(Collections.emptyList());
+
+        //then
+        BeerImportReportDTO report = beerImportService.importBeers(toStream(JsonConverterUtils.DTOtoJsonString(beersToBeImported)));
+        assertThat(report.getImported(), is(equalTo(1L)));
+        assertThat(report.getRejects().get(0).getReason(), is(equalTo("name is reserved by the beer API")));
+    }
+
+    @Test
+    void whenRowCannotBeMappedThenItIsRejectedAndImportContinues() throws IOException {
+        //given
+        String ndjson = JsonConverterUtils.DTOtoJsonString(beerNamed("First")) + "\n"
+                + JsonConverterUtils.DTOtoJsonString(beerNamed("Unknown type")).replace("WITBIER", "PILSNER") + "\n"
+                + JsonConverterUtils.DTOtoJsonString(beerNamed("Third"));
+
+        //when
+        when(beerRepository.findAllNames()).thenReturn(Collections.emptyList());
+        when(beerRepository.saveAll(anyCollection())).thenReturn(Collections.emptyList());
+
+        //then
+        BeerImportReportDTO report = beerImportService.importBeers(toStream(ndjson));
+        assertThat(report.getImported(), is(equalTo(2L)));
+        assertThat(report.getRejects().get(0).getRow(), is(equalTo(2L)));
+    }
+
+    @Test
+    void whenDatabaseRefusesOneRowThenOnlyThatRowIsRejected() throws IOException {
+        //given
+        beerImportService = new BeerImportService(beerRepository,
+                new BeerCache(100, Duration.ofMinutes(1), Duration.ofMinutes(1), new SimpleMeterRegistry()),
+                new StockLedger(beerRepository, null, null, false, Duration.ofSeconds(1)),
+                eventPublisher,
+                new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new TransactionTemplate(transactionManager),
+                new BeerShards(null, null, null, false, Collections.emptyList()),
+                1000,
+                10);
+        List<BeerDTO> beersToBeImported = Arrays.asList(beerNamed("First"), beerNamed("Second"), beerNamed("Refused"), beerNamed("Fourth"), beerNamed("Fifth"));
+        List<String> savedNames = new ArrayList<>();
+
+        //when
+        when(beerRepository.findAllNames()).thenReturn(Collections.emptyList());
+        when(beerRepository.saveAll(anyCollection())).then(invocation -> {
+            Iterable<Beer> chunk = invocation.getArgument(0);
+            List<String> names = new ArrayList<>();
+            chunk.forEach(beer -> names.add(beer.getName()));
+            if (names.contains("Refused")) {
+                throw new DataIntegrityViolationException("value too long for column name");
+            }
+            savedNames.addAll(names);
+            return Collections.emptyList();
+        });
+
+        //then
+        BeerImportReportDTO report = beerImportService.importBeers(toStream(JsonConverterUtils.DTOtoJsonString(beersToBeImported)));
+        assertThat(report.getImported(), is(equalTo(4L)));
+        assertThat(report.getRejected(), is(equalTo(1L)));
+        assertThat(report.getRejects().get(0).getRow(), is(equalTo(3L)));
+        assertThat(savedNames, contains("First", "Second", "Fourth", "Fifth"));
+    }
+
+    private BeerDTO beerNamed(String name) {
+        return BeerDTOBuilder.builder().name(name).build().toBeerDTO();
+    }
+
+    private ByteArrayInputStream toStream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
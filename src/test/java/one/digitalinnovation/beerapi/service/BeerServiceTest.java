@@ -1,23 +1,49 @@
 package one.digitalinnovation.beerapi.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import one.digitalinnovation.beerapi.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerapi.cache.BeerCache;
+import one.digitalinnovation.beerapi.coalescing.StockUpdateCoalescer;
 import one.digitalinnovation.beerapi.dto.BeerDTO;
+import one.digitalinnovation.beerapi.dto.StockAdjustmentDTO;
+import one.digitalinnovation.beerapi.dto.StockBatchDTO;
+import one.digitalinnovation.beerapi.dto.StockBatchResultDTO;
 import one.digitalinnovation.beerapi.entity.Beer;
+import one.digitalinnovation.beerapi.enums.BeerEventType;
+import one.digitalinnovation.beerapi.enums.StockAdjustmentStatus;
+import one.digitalinnovation.beerapi.enums.StockBatchMode;
+import one.digitalinnovation.beerapi.event.BeerChangedEvent;
 import one.digitalinnovation.beerapi.exception.BeerAlreadyRegisteredException;
 import one.digitalinnovation.beerapi.exception.BeerInsufficientStockException;
 import one.digitalinnovation.beerapi.exception.BeerNotFoundException;
 import one.digitalinnovation.beerapi.exception.BeerExceededStockException;
+import one.digitalinnovation.beerapi.ledger.StockLedger;
 import one.digitalinnovation.beerapi.mapper.BeerMapper;
 import one.digitalinnovation.beerapi.repository.BeerRepository;
+import one.digitalinnovation.beerapi.sharding.BeerShards;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.hamcrest.MatcherAssert.*;
 import static org.hamcrest.Matchers.*;
@@ -29,11 +55,39 @@ public class BeerServiceTest {
 
     @Mock
     private BeerRepository beerRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private BeerCache beerCache = new BeerCache(100, Duration.ofMinutes(1), Duration.ofMinutes(1), new SimpleMeterRegistry());
+
+    @Spy
+    private StockLedger stockLedger = new StockLedger(null, null, null, false, Duration.ofSeconds(1));
+
+    @Spy
+    private StockUpdateCoalescer stockUpdateCoalescer = new StockUpdateCoalescer(false, Duration.ofMillis(2), 256);
+
+    @Spy
+    private BeerShards beerShards = new BeerShards(null, null, null, false, Collections.emptyList());
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     private BeerMapper beerMapper = BeerMapper.INSTANCE;
 
     @InjectMocks
     private BeerService beerService;
 
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(new SimpleTransactionStatus()));
+    }
+
     @Test
     void whenBeerInformedThenItIsCreated() throws BeerAlreadyRegisteredException {
         //given
@@ -89,6 +143,52 @@ public class BeerServiceTest {
 
     }
 
+    @Test
+    void whenSameBeerNameIsFoundTwiceThenRepositoryIsQueriedOnce() throws BeerNotFoundException {
+        //given
+        BeerDTO informedBeerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+        Beer informedBeer = beerMapper.toModel(informedBeerDTO);
+
+        //when
+        when(beerRepository.findBeerByName(informedBeerDTO.getName())).thenReturn(Optional.of(informedBeer));
+
+        //then
+        beerService.findBeerByName(informedBeerDTO.getName());
+        BeerDTO returnedBeerDTO = beerService.findBeerByName(informedBeerDTO.getName());
+        assertThat(returnedBeerDTO, is(equalTo(informedBeerDTO)));
+        verify(beerRepository, times(1)).findBeerByName(informedBeerDTO.getName());
+    }
+
+    @Test
+    void whenNonexistentBeerNameIsFoundTwiceThenRepositoryIsQueriedOnce(){
+        //given
+        String informedBeerName = BeerDTOBuilder.builder().build().toBeerDTO().getName();
+
+        //when
+        when(beerRepository.findBeerByName(informedBeerName)).thenReturn(Optional.empty());
+
+        //then
+        assertThrows(BeerNotFoundException.class, () -> beerService.findBeerByName(informedBeerName));
+        assertThrows(BeerNotFoundException.class, () -> beerService.findBeerByName(informedBeerName));
+        verify(beerRepository, times(1)).findBeerByName(informedBeerName);
+    }
+
+    @Test
+    void whenBeerIsCreatedAfterNotFoundLookupThenItIsFoundByName() throws BeerNotFoundException, BeerAlreadyRegisteredException {
+        //given
+        BeerDTO informedBeerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+        Beer beerToBeCreated = beerMapper.toModel(informedBeerDTO);
+
+        //when
+        when(beerRepository.findBeerByName(informedBeerDTO.getName())).thenReturn(Optional.empty(), Optional.empty(), Optional.of(beerToBeCreated));
+        when(beerRepository.save(beerToBeCreated)).thenReturn(beerToBeCreated);
+
+        //then
+        assertThrows(BeerNotFoundException.class, () -> beerService.findBeerByName(informedBeerDTO.getName()));
+        beerService.createBeer(informedBeerDTO);
+        assertThat(beerService.findBeerByName(informedBeerDTO.getName()), is(equalTo(informedBeerDTO)));
+    }
+
     @Test
     void whenListBeersIsRequiredThenAListOfBeersIsReturned(){
         //given
@@ -113,6 +213,88 @@ public class BeerServiceTest {
         assertThat(returnedListBeerDTO, is(empty()));
     }
 
+    @Test
+    void whenSearchByBrandAndTypeIsCalledThenCompositeFinderIsUsed(){
+        //given
+        BeerDTO expectedBeerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+        Beer expectedBeer = beerMapper.toModel(expectedBeerDTO);
+
+        //when
+        when(beerRepository.findByBrandAndType(expectedBeerDTO.getBrand(), expectedBeerDTO.getType())).thenReturn(Collections.singletonList(expectedBeer));
+
+        //then
+        List<BeerDTO> returnedListBeerDTO = beerService.searchBeers(expectedBeerDTO.getBrand(), expectedBeerDTO.getType(), null);
+        assertThat(returnedListBeerDTO, is(equalTo(Collections.singletonList(expectedBeerDTO))));
+    }
+
+    @Test
+    void whenSearchByTypeAndLowStockIsCalledThenTypeQuantityFinderIsUsed(){
+        //given
+        BeerDTO expectedBeerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+        Beer expectedBeer = beerMapper.toModel(expectedBeerDTO);
+
+        //when
+        when(beerRepository.findByTypeAndQuantityLessThanEqual(expectedBeerDTO.getType(), 30)).thenReturn(Collections.singletonList(expectedBeer));
+
+        //then
+        List<BeerDTO> returnedListBeerDTO = beerService.searchBeers(null, expectedBeerDTO.getType(), 30);
+        assertThat(returnedListBeerDTO, is(equalTo(Collections.singletonList(expectedBeerDTO))));
+    }
+
+    @Test
+    void whenSearchByBrandAndLowStockIsCalledThenBeersAboveThresholdAreFilteredOut(){
+        //given
+        BeerDTO lowStockBeerDTO = BeerDTOBuilder.builder().quantity(5).build().toBeerDTO();
+        BeerDTO stockedBeerDTO = BeerDTOBuilder.builder().id(2L).name("Faxe Lager").quantity(80).build().toBeerDTO();
+
+        //when
+        when(beerRepository.findByBrand(lowStockBeerDTO.getBrand())).thenReturn(Arrays.asList(beerMapper.toModel(lowStockBeerDTO), beerMapper.toModel(stockedBeerDTO)));
+
+        //then
+        List<BeerDTO> returnedListBeerDTO = beerService.searchBeers(lowStockBeerDTO.getBrand(), null, 10);
+        assertThat(returnedListBeerDTO, is(equalTo(Collections.singletonList(lowStockBeerDTO))));
+    }
+
+    @Test
+    void whenListBeersAfterCursorIsRequiredThenNextPageIsReturned(){
+        //given
+        BeerDTO expectedBeerDTO = BeerDTOBuilder.builder().id(11L).build().toBeerDTO();
+        Beer expectedBeer = beerMapper.toModel(expectedBeerDTO);
+
+        //when
+        when(beerRepository.findByIdGreaterThanOrderByIdAsc(10L, PageRequest.of(0, 1))).thenReturn(Collections.singletonList(expectedBeer));
+
+        //then
+        List<BeerDTO> returnedListBeerDTO = beerService.listBeersAfter(10L, 1);
+        assertThat(returnedListBeerDTO, is(equalTo(Collections.singletonList(expectedBeerDTO))));
+    }
+
+    @Test
+    void whenListBeersWithoutCursorIsRequiredThenFirstPageIsReturned(){
+        //when
+        when(beerRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 20))).thenReturn(Collections.emptyList());
+
+        //then
+        List<BeerDTO> returnedListBeerDTO = beerService.listBeersAfter(null, 20);
+        assertThat(returnedListBeerDTO, is(empty()));
+    }
+
+    @Test
+    void whenStreamBeersIsRequiredThenEachBeerIsPassedToConsumerAndDetached(){
+        //given
+        BeerDTO expectedBeerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+        Beer expectedBeer = beerMapper.toModel(expectedBeerDTO);
+        List<BeerDTO> consumedBeers = new ArrayList<>();
+
+        //when
+        when(beerRepository.streamAllOrderedById()).thenReturn(Stream.of(expectedBeer));
+
+        //then
+        beerService.streamAllBeers(consumedBeers::add);
+        assertThat(consumedBeers, is(equalTo(Collections.singletonList(expectedBeerDTO))));
+        verify(entityManager, times(1)).detach(expectedBeer);
+    }
+
     @Test
     void whenDeleteBeerWithExistentIdIsCalledThenBeerIsDeleted() throws BeerNotFoundException {
         //given
@@ -127,6 +309,7 @@ public class BeerServiceTest {
         beerService.deleteBeerById(expectedDeletedBeerDTO.getId());
         verify(beerRepository, times(1)).findById(expectedDeletedBeerDTO.getId());
         verify(beerRepository, times(1)).deleteById(expectedDeletedBeerDTO.getId());
+        verify(beerCache, times(1)).evict(expectedDeletedBeerDTO.getName());
     }
 
     @Test
@@ -147,17 +330,25 @@ public class BeerServiceTest {
         BeerDTO informedBeerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
         Beer beerToBeIncremented = beerMapper.toModel(informedBeerDTO);
 
-        //when
-        when(beerRepository.findById(informedBeerDTO.getId())).thenReturn(Optional.of(beerToBeIncremented));
-        when(beerRepository.save(beerToBeIncremented)).thenReturn(beerToBeIncremented);
-
-        //then
         int increment = 10;
         int quantityAfterIncrement = beerToBeIncremented.getQuantity() + increment;
 
+        //when
+        when(beerRepository.incrementQuantity(informedBeerDTO.getId(), increment)).then(invocation -> {
+            beerToBeIncremented.setQuantity(quantityAfterIncrement);
+            return Optional.of(beerToBeIncremented);
+        });
+
+        //then
         BeerDTO incrementedBeerDTO = beerService.incrementBeer(informedBeerDTO.getId(), increment);
         assertThat(incrementedBeerDTO.getQuantity(), is(equalTo(quantityAfterIncrement)));
         assertThat(incrementedBeerDTO.getQuantity(), is(lessThanOrEqualTo(incrementedBeerDTO.getMax())));
+        verify(beerRepository, never()).findById(any());
+        verify(beerCache, times(1)).evict(informedBeerDTO.getName());
+        ArgumentCaptor<BeerChangedEvent> publishedEvent = ArgumentCaptor.forClass(BeerChangedEvent.class);
+        verify(eventPublisher).publishEvent(publishedEvent.capture());
+        assertThat(publishedEvent.getValue().getType(), is(equalTo(BeerEventType.INCREMENTED)));
+        assertThat(publishedEvent.getValue().getBeer(), is(equalTo(incrementedBeerDTO)));
     }
 
     @Test
@@ -172,6 +363,7 @@ public class BeerServiceTest {
 
         //then
         assertThrows(BeerExceededStockException.class, () -> beerService.incrementBeer(informedBeerDTO.getId(), increment));
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -193,17 +385,20 @@ public class BeerServiceTest {
         BeerDTO informedBeerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
         Beer beerToBeDecremented = beerMapper.toModel(informedBeerDTO);
 
-        //when
-        when(beerRepository.findById(informedBeerDTO.getId())).thenReturn(Optional.of(beerToBeDecremented));
-        when(beerRepository.save(beerToBeDecremented)).thenReturn(beerToBeDecremented);
-
-        //then
         int decrement = 10;
         int quantityAfterDecrement = beerToBeDecremented.getQuantity() - decrement;
 
+        //when
+        when(beerRepository.decrementQuantity(informedBeerDTO.getId(), decrement)).then(invocation -> {
+            beerToBeDecremented.setQuantity(quantityAfterDecrement);
+            return Optional.of(beerToBeDecremented);
+        });
+
+        //then
         BeerDTO decrementedBeerDTO = beerService.decrementBeer(informedBeerDTO.getId(), decrement);
         assertThat(decrementedBeerDTO.getQuantity(), is(equalTo(quantityAfterDecrement)));
         assertThat(decrementedBeerDTO.getQuantity(), is(greaterThanOrEqualTo(0)));
+        verify(beerCache, times(1)).evict(informedBeerDTO.getName());
     }
 
     @Test
@@ -232,4 +427,139 @@ public class BeerServiceTest {
         //then
         assertThrows(BeerNotFoundException.class, () -> beerService.decrementBeer(informedBeerDTOId, decrement));
     }
+
+    @Test
+    void whenPartialStockBatchIsAdjustedThenEachItemReportsItsOwnResult() {
+        //given
+        Beer adjustedBeer = beerMapper.toModel(BeerDTOBuilder.builder().id(1L).quantity(40).build().toBeerDTO());
+        Beer fullBeer = beerMapper.toModel(BeerDTOBuilder.builder().id(2L).name("Full").quantity(100).build().toBeerDTO());
+        List<StockAdjustmentDTO> adjustments = Arrays.asList(
+                StockAdjustmentDTO.builder().id(1L).delta(10).build(),
+                StockAdjustmentDTO.builder().id(2L).delta(10).build(),
+                StockAdjustmentDTO.builder().id(3L).delta(-10).build());
+        StockBatchDTO stockBatchDTO = StockBatchDTO.builder().mode(StockBatchMode.PARTIAL).items(adjustments).build();
+
+        //when
+        when(beerRepository.adjustQuantities(adjustments)).thenReturn(new int[]{1, 0, 0});
+        when(beerRepository.findAllById(new HashSet<>(Arrays.asList(1L, 2L, 3L)))).thenReturn(Arrays.asList(adjustedBeer, fullBeer));
+
+        //then
+        StockBatchResultDTO stockBatchResultDTO = beerService.adjustStock(stockBatchDTO);
+        assertThat(stockBatchResultDTO.isCommitted(), is(true));
+        assertThat(stockBatchResultDTO.getItems().get(0).getStatus(), is(equalTo(StockAdjustmentStatus.APPLIED)));
+        assertThat(stockBatchResultDTO.getItems().get(0).getQuantity(), is(equalTo(40)));
+        assertThat(stockBatchResultDTO.getItems().get(1).getStatus(), is(equalTo(StockAdjustmentStatus.EXCEEDED_STOCK)));
+        assertThat(stockBatchResultDTO.getItems().get(2).getStatus(), is(equalTo(StockAdjustmentStatus.NOT_FOUND)));
+        verify(beerCache, times(1)).evict(adjustedBeer.getName());
+        verify(beerCache, times(1)).evict(fullBeer.getName());
+    }
+
+    @Test
+    void whenAllOrNothingStockBatchFullyAppliesThenItIsCommitted() {
+        //given
+        Beer adjustedBeer = beerMapper.toModel(BeerDTOBuilder.builder().quantity(20).build().toBeerDTO());
+        List<StockAdjustmentDTO> adjustments = Collections.singletonList(StockAdjustmentDTO.builder().id(1L).delta(-10).build());
+        StockBatchDTO stockBatchDTO = StockBatchDTO.builder().items(adjustments).build();
+
+        //when
+        when(beerRepository.adjustQuantities(adjustments)).thenReturn(new int[]{1});
+        when(beerRepository.findAllById(Collections.singleton(1L))).thenReturn(Collections.singletonList(adjustedBeer));
+
+        //then
+        StockBatchResultDTO stockBatchResultDTO = beerService.adjustStock(stockBatchDTO);
+        assertThat(stockBatchResultDTO.getMode(), is(equalTo(StockBatchMode.ALL_OR_NOTHING)));
+        assertThat(stockBatchResultDTO.isCommitted(), is(true));
+        assertThat(stockBatchResultDTO.getItems().get(0).getStatus(), is(equalTo(StockAdjustmentStatus.APPLIED)));
+        assertThat(stockBatchResultDTO.getItems().get(0).getQuantity(), is(equalTo(20)));
+    }
+
+    @Test
+    void whenLedgerIsEnabledThenIncrementIsAppliedInMemory() throws BeerNotFoundException, BeerExceededStockException {
+        //given
+        BeerDTO informedBeerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+        BeerService ledgerBeerService = new BeerService(beerRepository, entityManager, beerCache, enabledLedgerWith(informedBeerDTO), eventPublisher, stockUpdateCoalescer, beerShards, transactionTemplate);
+
+        //then
+        BeerDTO incrementedBeerDTO = ledgerBeerService.incrementBeer(informedBeerDTO.getId(), 10);
+        assertThat(incrementedBeerDTO.getQuantity(), is(equalTo(informedBeerDTO.getQuantity() + 10)));
+        verifyNoInteractions(beerRepository);
+    }
+
+    @Test
+    void whenLedgerIsEnabledAndIncrementExceedsMaxThenExceptionIsThrown() {
+        //given
+        BeerDTO informedBeerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+        BeerService ledgerBeerService = new BeerService(beerRepository, entityManager, beerCache, enabledLedgerWith(informedBeerDTO), eventPublisher, stockUpdateCoalescer, beerShards, transactionTemplate);
+
+        //then
+        assertThrows(BeerExceededStockException.class, () -> ledgerBeerService.incrementBeer(informedBeerDTO.getId(), 71));
+        assertThrows(BeerInsufficientStockException.class, () -> ledgerBeerService.decrementBeer(informedBeerDTO.getId(), 31));
+        assertThrows(BeerNotFoundException.class, () -> ledgerBeerService.decrementBeer(2L, 1));
+    }
+
+    @Test
+    void whenLedgerIsEnabledAndAllOrNothingBatchFailsThenAppliedItemsAreReverted() throws BeerNotFoundException, BeerExceededStockException {
+        //given
+        BeerDTO informedBeerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+        StockLedger enabledLedger = enabledLedgerWith(informedBeerDTO);
+        BeerService ledgerBeerService = new BeerService(beerRepository, entityManager, beerCache, enabledLedger, eventPublisher, stockUpdateCoalescer, beerShards, transactionTemplate);
+        StockBatchDTO stockBatchDTO = StockBatchDTO.builder()
+                .items(Arrays.asList(
+                        StockAdjustmentDTO.builder().id(informedBeerDTO.getId()).delta(10).build(),
+                        StockAdjustmentDTO.builder().id(informedBeerDTO.getId()).delta(-100).build()))
+                .build();
+
+        //then
+        StockBatchResultDTO stockBatchResultDTO = ledgerBeerService.adjustStock(stockBatchDTO);
+        assertThat(stockBatchResultDTO.isCommitted(), is(false));
+        assertThat(stockBatchResultDTO.getItems().get(0).getStatus(), is(equalTo(StockAdjustmentStatus.ROLLED_BACK)));
+        assertThat(stockBatchResultDTO.getItems().get(1).getStatus(), is(equalTo(StockAdjustmentStatus.INSUFFICIENT_STOCK)));
+        assertThat(enabledLedger.find(informedBeerDTO.getId()).get().getQuantity(), is(equalTo(informedBeerDTO.getQuantity())));
+    }
+
+    @Test
+    void whenCoalescingIsEnabledThenIncrementIsAppliedToTheLockedRow() throws BeerNotFoundException, BeerExceededStockException {
+        //given
+        BeerDTO informedBeerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+        Beer lockedBeer = beerMapper.toModel(informedBeerDTO);
+        BeerService coalescingBeerService = new BeerService(beerRepository, entityManager, beerCache, stockLedger, eventPublisher, enabledCoalescer(), beerShards, transactionTemplate);
+
+        //when
+        when(beerRepository.findByIdForUpdate(informedBeerDTO.getId())).thenReturn(Optional.of(lockedBeer));
+
+        //then
+        BeerDTO incrementedBeerDTO = coalescingBeerService.incrementBeer(informedBeerDTO.getId(), 10);
+        assertThat(incrementedBeerDTO.getQuantity(), is(equalTo(informedBeerDTO.getQuantity() + 10)));
+        assertThat(lockedBeer.getQuantity(), is(equalTo(informedBeerDTO.getQuantity() + 10)));
+        verify(entityManager).flush();
+        verify(transactionTemplate).execute(any());
+        verify(beerRepository, never()).incrementQuantity(any(), anyInt());
+    }
+
+    @Test
+    void whenCoalescingIsEnabledAndAdjustmentCrossesBoundsThenExceptionIsThrown() {
+        //given
+        BeerDTO informedBeerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+        BeerService coalescingBeerService = new BeerService(beerRepository, entityManager, beerCache, stockLedger, eventPublisher, enabledCoalescer(), beerShards, transactionTemplate);
+
+        //when
+        when(beerRepository.findByIdForUpdate(informedBeerDTO.getId())).thenAnswer(invocation -> Optional.of(beerMapper.toModel(informedBeerDTO)));
+        when(beerRepository.findByIdForUpdate(2L)).thenReturn(Optional.empty());
+
+        //then
+        assertThrows(BeerExceededStockException.class, () -> coalescingBeerService.incrementBeer(informedBeerDTO.getId(), 71));
+        assertThrows(BeerInsufficientStockException.class, () -> coalescingBeerService.decrementBeer(informedBeerDTO.getId(), 31));
+        assertThrows(BeerNotFoundException.class, () -> coalescingBeerService.decrementBeer(2L, 1));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    private StockUpdateCoalescer enabledCoalescer() {
+        return new StockUpdateCoalescer(true, Duration.ZERO, 256);
+    }
+
+    private StockLedger enabledLedgerWith(BeerDTO beerDTO) {
+        StockLedger enabledLedger = new StockLedger(beerRepository, null, null, true, Duration.ofSeconds(1));
+        enabledLedger.register(beerDTO);
+        return enabledLedger;
+    }
 }
@@ -0,0 +1,151 @@
+package one.digitalinnovation.beerapi.sharding;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import one.digitalinnovation.beerapi.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerapi.cache.BeerCache;
+import one.digitalinnovation.beerapi.dto.BeerDTO;
+import one.digitalinnovation.beerapi.enums.BeerType;
+import one.digitalinnovation.beerapi.service.BeerService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static one.digitalinnovation.beerapi.metrics.BeerMetricsConfig.STOCK_UNITS;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "beer.sharding.enabled=true",
+        "beer.sharding.urls=" + BeerShardingTest.SHARD_URLS
+})
+@AutoConfigureMockMvc
+public class BeerShardingTest {
+
+    static final String SHARD_URLS = "jdbc:h2:mem:beer-sharding-0;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE,"
+            + "jdbc:h2:mem:beer-sharding-1;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE,"
+            + "jdbc:h2:mem:beer-sharding-2;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+
+    private static final String BEER_API_URL_PATH = "/api/v1/beer";
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private BeerShards beerShards;
+
+    @Autowired
+    private BeerCache beerCache;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final List<JdbcTemplate> shards = Stream.of(SHARD_URLS.split(","))
+            .map(url -> new JdbcTemplate(new DriverManagerDataSource(url, "sa", "")))
+            .collect(Collectors.toList());
+
+    @AfterEach
+    void tearDown() {
+        shards.forEach(shard -> shard.update("delete from beer"));
+        beerCache.invalidateAll();
+    }
+
+    @Test
+    void whenBeersAreCreatedThenEachIsStoredOnlyOnTheShardOfItsId() throws Exception {
+        //given
+        List<BeerDTO> createdBeers = createBeers(30);
+
+        //then
+        for (BeerDTO createdBeer : createdBeers) {
+            int shard = beerShards.shardOf(createdBeer.getId());
+            for (int i = 0; i < shards.size(); i++) {
+                Integer rows = shards.get(i).queryForObject("select count(*) from beer where id = ?", Integer.class, createdBeer.getId());
+                assertThat(rows, is(equalTo(i == shard ? 1 : 0)));
+            }
+        }
+        assertThat(shards.stream().filter(shard -> shard.queryForObject("select count(*) from beer", Integer.class) > 0).count(),
+                is(equalTo(3L)));
+    }
+
+    @Test
+    void whenCatalogIsReadThenEveryShardIsMergedInIdOrder() throws Exception {
+        //given
+        List<BeerDTO> createdBeers = createBeers(20);
+        beerCache.invalidateAll();
+
+        //when
+        List<BeerDTO> allBeers = beerService.listAllBeers();
+        List<BeerDTO> firstPage = beerService.listBeersAfter(null, 5);
+        BeerDTO foundBeer = beerService.findBeerByName(createdBeers.get(7).getName());
+
+        //then
+        List<Long> createdIds = createdBeers.stream().map(BeerDTO::getId).sorted().collect(Collectors.toList());
+        assertThat(allBeers.stream().map(BeerDTO::getId).collect(Collectors.toList()), is(equalTo(createdIds)));
+        assertThat(firstPage.stream().map(BeerDTO::getId).collect(Collectors.toList()), is(equalTo(createdIds.subList(0, 5))));
+        assertThat(foundBeer.getId(), is(equalTo(createdBeers.get(7).getId())));
+    }
+
+    @Test
+    void whenBeerIsAdjustedAndDeletedThenItsShardIsUpdated() throws Exception {
+        //given
+        BeerDTO createdBeer = createBeers(1).get(0);
+        JdbcTemplate shard = shards.get(beerShards.shardOf(createdBeer.getId()));
+
+        //when
+        beerService.incrementBeer(createdBeer.getId(), 5);
+        beerService.decrementBeer(createdBeer.getId(), 2);
+
+        //then
+        assertThat(shard.queryForObject("select quantity from beer where id = ?", Integer.class, createdBeer.getId()),
+                is(equalTo(createdBeer.getQuantity() + 3)));
+        beerService.deleteBeerById(createdBeer.getId());
+        assertThat(shard.queryForObject("select count(*) from beer", Integer.class), is(equalTo(0)));
+    }
+
+    @Test
+    void whenStockGaugeIsReadThenEveryShardIsSummed() throws Exception {
+        //given
+        List<BeerDTO> createdBeers = createBeers(10);
+
+        //when
+        double stockUnits = meterRegistry.get(STOCK_UNITS).tag("type", BeerType.WITBIER.name()).gauge().value();
+
+        //then
+        assertThat(createdBeers.stream().map(beer -> beerShards.shardOf(beer.getId())).distinct().count(), is(greaterThan(1L)));
+        assertThat(stockUnits, is(equalTo(createdBeers.stream().mapToDouble(BeerDTO::getQuantity).sum())));
+    }
+
+    @Test
+    void whenSingleDatabaseFeatureIsUsedThenNotImplementedIsReturned() throws Exception {
+        mockMvc.perform(get("/api/v1/beer/changes"))
+                .andExpect(status().isNotImplemented());
+        mockMvc.perform(post(BEER_API_URL_PATH + "/import")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(""))
+                .andExpect(status().isNotImplemented());
+    }
+
+    private List<BeerDTO> createBeers(int count) throws Exception {
+        List<BeerDTO> createdBeers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            createdBeers.add(beerService.createBeer(BeerDTOBuilder.builder().id(null).name("Sharded " + i).build().toBeerDTO()));
+        }
+        return createdBeers;
+    }
+}
@@ -0,0 +1,28 @@
+package one.digitalinnovation.beerapi.snapshot;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class BeerSnapshotExposureTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void whenSnapshotsProfileIsNotActiveThenTheEndpointIsNotExposed() throws Exception {
+        //then
+        mockMvc.perform(post("/actuator/beersnapshot/import")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"file\": \"catalog.snapshot\"}"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,224 @@
+package one.digitalinnovation.beerapi.snapshot;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import one.digitalinnovation.beerapi.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerapi.cache.BeerCache;
+import one.digitalinnovation.beerapi.changelog.BeerChangeLog;
+import one.digitalinnovation.beerapi.dto.BeerChangeDTO;
+import one.digitalinnovation.beerapi.dto.BeerDTO;
+import one.digitalinnovation.beerapi.entity.Beer;
+import one.digitalinnovation.beerapi.enums.BeerEventType;
+import one.digitalinnovation.beerapi.enums.BeerType;
+import one.digitalinnovation.beerapi.mapper.BeerMapper;
+import one.digitalinnovation.beerapi.repository.BeerRepository;
+import one.digitalinnovation.beerapi.service.BeerService;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// exposed the way the snapshots profile does, minus its separate management port, which MockMvc can't reach
+@SpringBootTest(properties = {
+        "beer.snapshot.directory=target/test-snapshots",
+        "management.endpoints.web.exposure.include=beersnapshot"
+})
+@AutoConfigureMockMvc
+public class BeerSnapshotTest {
+
+    private static final String SNAPSHOT_URL_PATH = "/actuator/beersnapshot/";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private BeerChangeLog beerChangeLog;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private List<Beer> savedBeers;
+
+    @BeforeEach
+    void setUp() {
+        savedBeers = beerRepository.saveAll(Arrays.asList(
+                beer("Brahma", "Ambev", BeerType.LAGER),
+                beer("Skol", "Ambev", BeerType.LAGER),
+                beer("Cauim Açaí", "Cervejaria São Jorge", BeerType.WITBIER)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        beerRepository.deleteAll();
+    }
+
+    @Test
+    void whenSnapshotIsExportedAndImportedThenCatalogIsRestoredWithTheSameIds() throws Exception {
+        //given
+        perform("export", "{\"file\": \"catalog.snapshot\"}")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.beers", Matchers.is(3)));
+        beerRepository.deleteAll();
+
+        //when
+        perform("import", "{\"file\": \"catalog.snapshot\"}")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.beers", Matchers.is(3)))
+                .andExpect(jsonPath("$.cacheWarmed", Matchers.is(false)));
+
+        //then
+        List<BeerDTO> restoredBeers = beerService.listAllBeers();
+        List<BeerDTO> expectedBeers = savedBeers.stream().map(BeerMapper.INSTANCE::toDTO).collect(Collectors.toList());
+        assertThat(restoredBeers, containsInAnyOrder(expectedBeers.toArray()));
+        Long maxRestoredId = expectedBeers.stream().map(BeerDTO::getId).max(Long::compare).get();
+        BeerDTO createdBeer = beerService.createBeer(BeerDTOBuilder.builder().id(null).name("Bohemia").build().toBeerDTO());
+        assertThat(createdBeer.getId(), is(greaterThan(maxRestoredId)));
+    }
+
+    @Test
+    void whenSnapshotIsImportedThenTheChangeFeedHasACreationForEveryRestoredBeer() throws Exception {
+        //given
+        perform("export", "{\"file\": \"feed.snapshot\"}").andExpect(status().isOk());
+        beerRepository.deleteAll();
+
+        //when
+        perform("import", "{\"file\": \"feed.snapshot\"}").andExpect(status().isOk());
+
+        //then
+        List<Long> restoredIds = savedBeers.stream().map(Beer::getId).collect(Collectors.toList());
+        List<BeerDTO> createdInFeed = beerChangeLog.changesSince(0, 1000).stream()
+                .filter(change -> change.getType() == BeerEventType.CREATED && restoredIds.contains(change.getBeer().getId()))
+                .map(BeerChangeDTO::getBeer)
+                .collect(Collectors.toList());
+        assertThat(createdInFeed.stream().map(BeerDTO::getName).collect(Collectors.toList()),
+                containsInAnyOrder("Brahma", "Skol", "Cauim Açaí"));
+    }
+
+    @Test
+    void whenSnapshotHoldsIdsThisInstanceHasNotHandedOutYetThenNewBeersSkipThem() throws Exception {
+        //given
+        long maxSavedId = savedBeers.stream().map(Beer::getId).max(Long::compare).get();
+        jdbcTemplate.update("insert into beer (id, name, brand, max, quantity, type, version, warehouse_quantity, warehouse_max) "
+                + "values (?, 'Lagunitas', 'Heineken', 100, 10, 'IPA', 0, 0, 0)", maxSavedId + 1);
+        perform("export", "{\"file\": \"foreign.snapshot\"}").andExpect(status().isOk());
+        beerRepository.deleteAll();
+
+        //when
+        perform("import", "{\"file\": \"foreign.snapshot\"}").andExpect(status().isOk());
+
+        //then
+        BeerDTO createdBeer = beerService.createBeer(BeerDTOBuilder.builder().id(null).name("Bohemia").build().toBeerDTO());
+        assertThat(createdBeer.getId(), is(greaterThan(maxSavedId + 1)));
+    }
+
+    @Test
+    void whenSnapshotIsImportedWithWarmCacheThenBeersAreCached() throws Exception {
+        //given
+        perform("export", "{\"file\": \"warm.snapshot\"}").andExpect(status().isOk());
+        beerRepository.deleteAll();
+
+        //when
+        perform("import", "{\"file\": \"warm.snapshot\", \"warmCache\": true}")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cacheWarmed", Matchers.is(true)));
+
+        //then
+        double cachedBeers = meterRegistry.get("cache.size").tag("cache", BeerCache.CACHE_NAME).gauge().value();
+        assertThat(cachedBeers, is(equalTo(3.0)));
+        assertThat(beerService.findBeerByName("Cauim Açaí").getBrand(), is(equalTo("Cervejaria São Jorge")));
+    }
+
+    @Test
+    void whenSnapshotIsImportedIntoANonEmptyCatalogThenItIsRejected() throws Exception {
+        //given
+        perform("export", "{\"file\": \"conflict.snapshot\"}").andExpect(status().isOk());
+
+        //then
+        perform("import", "{\"file\": \"conflict.snapshot\"}")
+                .andExpect(status().isConflict());
+        assertThat(beerRepository.count(), is(equalTo(3L)));
+    }
+
+    @Test
+    void whenSnapshotFileIsOutsideTheSnapshotDirectoryOrMissingThenItIsRejected() throws Exception {
+        perform("export", "{\"file\": \"../escape.snapshot\"}")
+                .andExpect(status().isBadRequest());
+        perform("import", "{\"file\": \"missing.snapshot\"}")
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void whenSnapshotRecordIsCorruptThenTheFileIsRejectedBeforeAnyBeerIsRestored() throws Exception {
+        //given
+        perform("export", "{\"file\": \"corrupt.snapshot\"}").andExpect(status().isOk());
+        beerRepository.deleteAll();
+        Path snapshot = Paths.get("target/test-snapshots/corrupt.snapshot");
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.WRITE)) {
+            // the type ordinal of the last record
+            channel.write(ByteBuffer.wrap(new byte[]{99}), BeerSnapshotService.HEADER_SIZE + 2 * BeerSnapshotService.RECORD_SIZE + 36);
+        }
+
+        //then
+        perform("import", "{\"file\": \"corrupt.snapshot\"}")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", Matchers.containsString("corrupt at record 2")));
+        assertThat(beerRepository.count(), is(equalTo(0L)));
+    }
+
+    @Test
+    void whenSnapshotIsTruncatedThenItIsRejected() throws Exception {
+        //given
+        perform("export", "{\"file\": \"truncated.snapshot\"}").andExpect(status().isOk());
+        beerRepository.deleteAll();
+        try (FileChannel channel = FileChannel.open(Paths.get("target/test-snapshots/truncated.snapshot"), StandardOpenOption.WRITE)) {
+            channel.truncate(BeerSnapshotService.HEADER_SIZE + BeerSnapshotService.RECORD_SIZE);
+        }
+
+        //then
+        perform("import", "{\"file\": \"truncated.snapshot\"}")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", Matchers.containsString("truncated or corrupt")));
+        assertThat(beerRepository.count(), is(equalTo(0L)));
+    }
+
+    private ResultActions perform(String action, String body) throws Exception {
+        return mockMvc.perform(post(SNAPSHOT_URL_PATH + action)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body));
+    }
+
+    private Beer beer(String name, String brand, BeerType type) {
+        Beer beer = BeerMapper.INSTANCE.toModel(BeerDTOBuilder.builder().id(null).name(name).brand(brand).type(type).build().toBeerDTO());
+        beer.setQuantity(name.length());
+        return beer;
+    }
+}
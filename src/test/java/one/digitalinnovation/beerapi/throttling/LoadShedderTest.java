@@ -0,0 +1,56 @@
+package one.digitalinnovation.beerapi.throttling;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class LoadShedderTest {
+
+    @Test
+    void whenLatencyExceedsTheTargetThenTheConcurrencyLimitShrinksAndRecovers() {
+        //given
+        LoadShedder loadShedder = new LoadShedder(true, 2, 4, Duration.ofMillis(100), new SimpleMeterRegistry());
+        for (int i = 0; i < 4; i++) {
+            assertThat(loadShedder.tryEnter(), is(true));
+        }
+        assertThat(loadShedder.tryEnter(), is(false));
+
+        //when
+        for (int i = 0; i < 4; i++) {
+            loadShedder.exit(TimeUnit.MILLISECONDS.toNanos(500));
+        }
+
+        //then
+        assertThat(loadShedder.getLimit(), is(equalTo(2)));
+        assertThat(loadShedder.tryEnter(), is(true));
+        assertThat(loadShedder.tryEnter(), is(true));
+        assertThat(loadShedder.tryEnter(), is(false));
+        loadShedder.exit(TimeUnit.MILLISECONDS.toNanos(10));
+        assertThat(loadShedder.getLimit(), is(equalTo(3)));
+    }
+
+    @Test
+    void whenFastMutationsRunNearTheLimitThenItGrowsUpToTheMaximum() {
+        //given
+        LoadShedder loadShedder = new LoadShedder(true, 2, 4, Duration.ofMillis(100), new SimpleMeterRegistry());
+        loadShedder.tryEnter();
+        loadShedder.exit(TimeUnit.MILLISECONDS.toNanos(500));
+        assertThat(loadShedder.getLimit(), is(equalTo(3)));
+
+        //when
+        for (int i = 0; i < 3; i++) {
+            assertThat(loadShedder.tryEnter(), is(true));
+        }
+        for (int i = 0; i < 3; i++) {
+            loadShedder.exit(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+
+        //then
+        assertThat(loadShedder.getLimit(), is(equalTo(4)));
+    }
+}
@@ -0,0 +1,50 @@
+package one.digitalinnovation.beerapi.throttling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class TokenBucketsTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void whenBurstIsSpentThenTheWaitUntilTheNextTokenIsReturned() {
+        //given
+        TokenBuckets buckets = new TokenBuckets(10, 3, 100, now::get);
+
+        //when
+        for (int i = 0; i < 3; i++) {
+            assertThat(buckets.tryAcquire("client"), is(equalTo(0L)));
+        }
+
+        //then
+        assertThat(buckets.tryAcquire("client"), is(equalTo(TimeUnit.MILLISECONDS.toNanos(100))));
+        assertThat(buckets.tryAcquire("other client"), is(equalTo(0L)));
+    }
+
+    @Test
+    void whenTimePassesThenTokensAreRefilledUpToTheBurst() {
+        //given
+        TokenBuckets buckets = new TokenBuckets(10, 3, 100, now::get);
+        for (int i = 0; i < 3; i++) {
+            buckets.tryAcquire("client");
+        }
+
+        //when
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(150));
+
+        //then
+        assertThat(buckets.tryAcquire("client"), is(equalTo(0L)));
+        assertThat(buckets.tryAcquire("client"), is(greaterThan(0L)));
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        for (int i = 0; i < 3; i++) {
+            assertThat(buckets.tryAcquire("client"), is(equalTo(0L)));
+        }
+        assertThat(buckets.tryAcquire("client"), is(greaterThan(0L)));
+    }
+}
@@ -0,0 +1,56 @@
+package one.digitalinnovation.beerapi.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("virtual-threads")
+@Import(VirtualThreadConfigTest.ThreadController.class)
+public class VirtualThreadConfigTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private AsyncTaskExecutor applicationTaskExecutor;
+
+    @Test
+    void whenRequestIsHandledThenItRunsOnAVirtualThread() {
+        //when
+        Boolean virtual = restTemplate.getForObject("/test/thread/virtual", Boolean.class);
+
+        //then
+        assertThat(virtual, is(true));
+    }
+
+    @Test
+    void whenAsyncTaskIsSubmittedThenItRunsOnAVirtualThread() throws Exception {
+        //when
+        boolean virtual = applicationTaskExecutor.submit(() -> Thread.currentThread().isVirtual()).get();
+
+        //then
+        assertThat(virtual, is(true));
+    }
+
+    @RestController
+    static class ThreadController {
+
+        @GetMapping("/test/thread/virtual")
+        boolean virtual() {
+            return Thread.currentThread().isVirtual();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package one.digitalinnovation.beerapi.controller;
+
+import one.digitalinnovation.beerapi.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerapi.dto.BeerDTO;
+import one.digitalinnovation.beerapi.dto.QuantityDTO;
+import one.digitalinnovation.beerapi.enums.BeerType;
+import one.digitalinnovation.beerapi.repository.BeerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("reactive")
+public class ReactiveBeerControllerTest {
+
+    private static final String BEER_API_URL_PATH = "/api/v1/beer";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @AfterEach
+    void tearDown() {
+        beerRepository.deleteAll();
+    }
+
+    @Test
+    void whenBeerIsCreatedThenItCanBeFoundWithConditionalGet() {
+        //given
+        BeerDTO createdBeerDTO = createBeer(BeerDTOBuilder.builder().id(null).build().toBeerDTO());
+
+        //then
+        String eTag = webTestClient.get().uri(BEER_API_URL_PATH + "/{name}", createdBeerDTO.getName())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo(createdBeerDTO.getName())
+                .returnResult().getResponseHeaders().getETag();
+        webTestClient.get().uri(BEER_API_URL_PATH + "/{name}", createdBeerDTO.getName())
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isNotModified();
+        assertThat(beerRepository.findById(createdBeerDTO.getId()).isPresent(), is(true));
+    }
+
+    @Test
+    void whenContractErrorsHappenThenSameStatusesAsServletStackAreReturned() {
+        //given
+        BeerDTO createdBeerDTO = createBeer(BeerDTOBuilder.builder().id(null).build().toBeerDTO());
+
+        //then
+        webTestClient.post().uri(BEER_API_URL_PATH).bodyValue(createdBeerDTO)
+                .exchange().expectStatus().isBadRequest();
+        webTestClient.post().uri(BEER_API_URL_PATH).bodyValue(BeerDTOBuilder.builder().id(null).name(null).build().toBeerDTO())
+                .exchange().expectStatus().isBadRequest();
+        webTestClient.get().uri(BEER_API_URL_PATH + "/{name}", "Unknown")
+                .exchange().expectStatus().isNotFound();
+        webTestClient.patch().uri(BEER_API_URL_PATH + "/{id}/increment", createdBeerDTO.getId()).bodyValue(QuantityDTO.builder().quantity(71).build())
+                .exchange().expectStatus().isBadRequest();
+        webTestClient.patch().uri(BEER_API_URL_PATH + "/{id}/decrement", createdBeerDTO.getId()).bodyValue(QuantityDTO.builder().quantity(31).build())
+                .exchange().expectStatus().isBadRequest();
+        webTestClient.patch().uri(BEER_API_URL_PATH + "/{id}/decrement", createdBeerDTO.getId() + 1000).bodyValue(QuantityDTO.builder().quantity(1).build())
+                .exchange().expectStatus().isNotFound();
+        webTestClient.delete().uri(BEER_API_URL_PATH + "/{id}", createdBeerDTO.getId() + 1000)
+                .exchange().expectStatus().isNotFound();
+    }
+
+    @Test
+    void whenStockIsChangedThenQuantityIsUpdatedAndBeerCanBeDeleted() {
+        //given
+        BeerDTO createdBeerDTO = createBeer(BeerDTOBuilder.builder().id(null).build().toBeerDTO());
+
+        //then
+        webTestClient.patch().uri(BEER_API_URL_PATH + "/{id}/increment", createdBeerDTO.getId()).bodyValue(QuantityDTO.builder().quantity(20).build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.quantity").isEqualTo(50);
+        webTestClient.patch().uri(BEER_API_URL_PATH + "/{id}/decrement", createdBeerDTO.getId()).bodyValue(QuantityDTO.builder().quantity(45).build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.quantity").isEqualTo(5);
+        webTestClient.delete().uri(BEER_API_URL_PATH + "/{id}", createdBeerDTO.getId())
+                .exchange()
+                .expectStatus().isNoContent();
+        assertThat(beerRepository.findById(createdBeerDTO.getId()).isPresent(), is(false));
+    }
+
+    @Test
+    void whenListIsFilteredOrPagedThenMatchingBeersAreReturned() {
+        //given
+        BeerDTO witbier = createBeer(BeerDTOBuilder.builder().id(null).build().toBeerDTO());
+        createBeer(BeerDTOBuilder.builder().id(null).name("Brahma").brand("Ambev").type(BeerType.LAGER).quantity(80).build().toBeerDTO());
+
+        //then
+        webTestClient.get().uri(uriBuilder -> uriBuilder.path(BEER_API_URL_PATH).queryParam("type", "LAGER").build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.length()").isEqualTo(1).jsonPath("$[0].name").isEqualTo("Brahma");
+        webTestClient.get().uri(uriBuilder -> uriBuilder.path(BEER_API_URL_PATH).queryParam("lowStock", "30").build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.length()").isEqualTo(1).jsonPath("$[0].name").isEqualTo(witbier.getName());
+        webTestClient.get().uri(uriBuilder -> uriBuilder.path(BEER_API_URL_PATH).queryParam("limit", "1").build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("X-Next-Cursor", witbier.getId().toString())
+                .expectBody().jsonPath("$.length()").isEqualTo(1);
+        webTestClient.get().uri(uriBuilder -> uriBuilder.path(BEER_API_URL_PATH).queryParam("limit", "1").queryParam("type", "LAGER").build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().value(HttpHeaders.LINK, containsString("type=LAGER"))
+                .expectBody().jsonPath("$.length()").isEqualTo(1).jsonPath("$[0].name").isEqualTo("Brahma");
+    }
+
+    private BeerDTO createBeer(BeerDTO beerDTO) {
+        return webTestClient.post().uri(BEER_API_URL_PATH).bodyValue(beerDTO)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(BeerDTO.class)
+                .returnResult().getResponseBody();
+    }
+}
@@ -0,0 +1,134 @@
+package one.digitalinnovation.beerapi.service;
+
+import one.digitalinnovation.beerapi.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerapi.dto.BeerDTO;
+import one.digitalinnovation.beerapi.entity.Beer;
+import one.digitalinnovation.beerapi.event.BeerChangedEvent;
+import one.digitalinnovation.beerapi.exception.BeerAlreadyRegisteredException;
+import one.digitalinnovation.beerapi.exception.BeerExceededStockException;
+import one.digitalinnovation.beerapi.exception.BeerInsufficientStockException;
+import one.digitalinnovation.beerapi.exception.BeerNotFoundException;
+import one.digitalinnovation.beerapi.mapper.BeerMapper;
+import one.digitalinnovation.beerapi.repository.ReactiveBeerRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveBeerServiceTest {
+
+    @Mock
+    private ReactiveBeerRepository beerRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ReactiveBeerService beerService;
+
+    private final BeerMapper beerMapper = BeerMapper.INSTANCE;
+
+    @Test
+    void whenBeerInformedThenItShouldBeCreated() {
+        //given
+        BeerDTO expectedBeerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+        Beer expectedSavedBeer = beerMapper.toModel(expectedBeerDTO);
+
+        //when
+        when(beerRepository.findBeerByName(expectedBeerDTO.getName())).thenReturn(Mono.empty());
+        when(beerRepository.insert(expectedSavedBeer)).thenReturn(Mono.just(expectedSavedBeer));
+
+        //then
+        StepVerifier.create(beerService.createBeer(expectedBeerDTO))
+                .expectNext(expectedBeerDTO)
+                .verifyComplete();
+        verify(eventPublisher).publishEvent(any(BeerChangedEvent.class));
+    }
+
+    @Test
+    void whenAlreadyRegisteredBeerInformedThenAnExceptionShouldBeThrown() {
+        //given
+        BeerDTO expectedBeerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+
+        //when
+        when(beerRepository.findBeerByName(expectedBeerDTO.getName())).thenReturn(Mono.just(beerMapper.toModel(expectedBeerDTO)));
+
+        //then
+        StepVerifier.create(beerService.createBeer(expectedBeerDTO))
+                .verifyError(BeerAlreadyRegisteredException.class);
+        verify(beerRepository, never()).insert(any());
+    }
+
+    @Test
+    void whenNotRegisteredBeerNameIsGivenThenThrowAnException() {
+        //when
+        when(beerRepository.findBeerByName("Unknown")).thenReturn(Mono.empty());
+
+        //then
+        StepVerifier.create(beerService.findBeerByName("Unknown"))
+                .verifyError(BeerNotFoundException.class);
+    }
+
+    @Test
+    void whenIncrementExceedsMaxThenExceptionIsThrown() {
+        //given
+        BeerDTO expectedBeerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+
+        //when
+        when(beerRepository.incrementQuantity(expectedBeerDTO.getId(), 71)).thenReturn(Mono.just(0));
+        when(beerRepository.findById(expectedBeerDTO.getId())).thenReturn(Mono.just(beerMapper.toModel(expectedBeerDTO)));
+
+        //then
+        StepVerifier.create(beerService.incrementBeer(expectedBeerDTO.getId(), 71))
+                .verifyError(BeerExceededStockException.class);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void whenDecrementIsAppliedThenUpdatedBeerIsReturned() {
+        //given
+        BeerDTO expectedBeerDTO = BeerDTOBuilder.builder().quantity(20).build().toBeerDTO();
+
+        //when
+        when(beerRepository.decrementQuantity(expectedBeerDTO.getId(), 10)).thenReturn(Mono.just(1));
+        when(beerRepository.findById(expectedBeerDTO.getId())).thenReturn(Mono.just(beerMapper.toModel(expectedBeerDTO)));
+
+        //then
+        StepVerifier.create(beerService.decrementBeer(expectedBeerDTO.getId(), 10))
+                .expectNext(expectedBeerDTO)
+                .verifyComplete();
+    }
+
+    @Test
+    void whenDecrementOfNonexistentBeerThenExceptionIsThrown() {
+        //when
+        when(beerRepository.decrementQuantity(1L, 10)).thenReturn(Mono.just(0));
+        when(beerRepository.findById(1L)).thenReturn(Mono.empty());
+
+        //then
+        StepVerifier.create(beerService.decrementBeer(1L, 10))
+                .verifyError(BeerNotFoundException.class);
+    }
+
+    @Test
+    void whenDecrementBelowZeroThenExceptionIsThrown() {
+        //given
+        BeerDTO expectedBeerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+
+        //when
+        when(beerRepository.decrementQuantity(expectedBeerDTO.getId(), 31)).thenReturn(Mono.just(0));
+        when(beerRepository.findById(expectedBeerDTO.getId())).thenReturn(Mono.just(beerMapper.toModel(expectedBeerDTO)));
+
+        //then
+        StepVerifier.create(beerService.decrementBeer(expectedBeerDTO.getId(), 31))
+                .verifyError(BeerInsufficientStockException.class);
+    }
+}